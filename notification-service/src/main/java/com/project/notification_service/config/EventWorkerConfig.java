@@ -0,0 +1,30 @@
+package com.project.notification_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pool the Kafka batch listener hands its per-lot groups to ('notification.events.worker-threads').
+ * Shared by all listener threads ('spring.kafka.listener.concurrency'), so it bounds the total parallelism.
+ */
+
+@Configuration
+public class EventWorkerConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService eventWorkers(@Value("${notification.events.worker-threads:8}") int workerThreads) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "event-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(workerThreads, threadFactory);
+    }
+}
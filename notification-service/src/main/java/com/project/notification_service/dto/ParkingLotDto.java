@@ -2,6 +2,7 @@ package com.project.notification_service.dto;
 
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -11,6 +12,6 @@ public class ParkingLotDto {
     private String location;
     private Integer totalSlots;
     private Integer availableSlots;
-    private Double basePricePerHour;
+    private BigDecimal basePricePerHour;
     private LocalDateTime createdAt;
 }
@@ -2,6 +2,7 @@ package com.project.notification_service.dto;
 
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -13,6 +14,6 @@ public class ParkingSessionDto {
     private Integer slotNumber;
     private LocalDateTime entryTime;
     private LocalDateTime exitTime;
-    private Double totalAmount;
+    private BigDecimal totalAmount;
     private String status;
 }
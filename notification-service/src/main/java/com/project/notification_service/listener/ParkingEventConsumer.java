@@ -1,67 +1,136 @@
 package com.project.notification_service.listener;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.notification_service.dto.LotUpdateDto;
 import com.project.notification_service.dto.SessionUpdateDto;
 import com.project.notification_service.dto.SlotUpdateDto;
 import com.project.notification_service.service.SseService;
-import lombok.RequiredArgsConstructor;
+import com.project.notification_service.utils.EventCodec;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes 'parking-updates' events to the SSE subscribers, and keeps each lot's available count in Redis.
+ * Records are routed on their 'event-type' header and decoded once, straight into the target DTO (ParkingEventDecoder).
+ * Per-event logging is debug only, and only one event in 'notification.events.log-sample-rate' is logged.
+ * Records arrive in batches (one poll). They are grouped by key (the lot id); the groups run in parallel on the
+ * eventWorkers pool, each group in offset order on one worker, so a slow lot only holds up its own events.
+ * The listener returns, and the container commits the batch's offsets, only after every group is done.
+ * If any record fails (e.g. Redis is down), the batch is redelivered, including the lots that had succeeded:
+ * their events are pushed again, which the dashboards absorb (they show the latest state).
+ */
+
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ParkingEventConsumer {
 
-    private final ObjectMapper objectMapper;
+    private final ParkingEventDecoder decoder;
     private final SseService sseService;
     private final StringRedisTemplate redisTemplate;
+    private final ExecutorService eventWorkers;
+    private final int logSampleRate;
+
+    private final AtomicLong received = new AtomicLong();
+
+    public ParkingEventConsumer(ParkingEventDecoder decoder,
+                                SseService sseService,
+                                StringRedisTemplate redisTemplate,
+                                @Qualifier("eventWorkers") ExecutorService eventWorkers,
+                                @Value("${notification.events.log-sample-rate:1000}") int logSampleRate) {
+        this.decoder = decoder;
+        this.sseService = sseService;
+        this.redisTemplate = redisTemplate;
+        this.eventWorkers = eventWorkers;
+        this.logSampleRate = Math.max(1, logSampleRate);
+    }
+
+    @KafkaListener(topics = "parking-updates", groupId = "notification-group-1", batch = "true")
+    public void consume(List<ConsumerRecord<String, byte[]>> records) {
+        // 1. Group by lot, keeping offset order within each lot
+        Map<String, List<ConsumerRecord<String, byte[]>>> byLot = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            byLot.computeIfAbsent(record.key(), key -> new ArrayList<>()).add(record);
+        }
 
-    @KafkaListener(topics = "parking-updates", groupId = "notification-group-1")
-    public void consume(String message) {
-        // --- ADD THIS LOG TO SEE EVERYTHING ---
-        log.info("RAW MESSAGE FROM KAFKA: {}", message);
+        // 2. A single lot needs no hand-off
+        if (byLot.size() == 1) {
+            byLot.values().forEach(this::consumeInOrder);
+            return;
+        }
 
+        // 3. One task per lot; wait for all of them, even after a failure, so a redelivery never overlaps this batch
+        CompletableFuture<?>[] tasks = byLot.values().stream()
+                .map(lotRecords -> CompletableFuture.runAsync(() -> consumeInOrder(lotRecords), eventWorkers))
+                .toArray(CompletableFuture[]::new);
         try {
-            // 1. Check for LOT CREATED/UPDATED/DELETED first
-            if (message.contains("LOT_CREATED") || message.contains("LOT_UPDATED") || message.contains("LOT_DELETED")) {
-                LotUpdateDto lotUpdate = objectMapper.readValue(message, LotUpdateDto.class);
-                log.info("Processing LOT Registry update: {}", lotUpdate.getType());
-                sseService.broadcast(lotUpdate);
-            }
-            // 2. Check for Session Update (checking for sessionId)
-            else if (message.contains("sessionId")) {
-                SessionUpdateDto sessionUpdate = objectMapper.readValue(message, SessionUpdateDto.class);
-                log.info("Processing SESSION update: {}", sessionUpdate.getType());
-                sseService.broadcast(sessionUpdate);
-            }
-            // 3. Finally, check for Slot Updates (availableSlots)
-            // Note: Now that Lot events are handled above, this won't collide.
-            else if (message.contains("availableSlots")) {
-                SlotUpdateDto slotUpdate = objectMapper.readValue(message, SlotUpdateDto.class);
-
-                // Safety check to prevent the null-key error
-                if (slotUpdate.getLotId() == null) {
-                    log.warn("Discarding SlotUpdate with NULL Lot ID");
-                    return;
-                }
-
-                log.info("Processing SLOT update for lot {}", slotUpdate.getLotId());
-
-                String redisKey = "lot:" + slotUpdate.getLotId() + ":count";
-                redisTemplate.opsForValue().set(redisKey, String.valueOf(slotUpdate.getAvailableSlots()));
-
-                sseService.broadcast(slotUpdate);
-            }
-            else {
-                log.warn("Received message that matches no known pattern!");
-            }
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void consumeInOrder(List<ConsumerRecord<String, byte[]>> lotRecords) {
+        for (ConsumerRecord<String, byte[]> record : lotRecords) consume(record);
+    }
 
+    private void consume(ConsumerRecord<String, byte[]> record) {
+        String eventType = header(record, EventCodec.HEADER_EVENT_TYPE);
+        boolean sampled = received.getAndIncrement() % logSampleRate == 0;
+
+        Object update;
+        try {
+            update = decoder.decode(eventType, header(record, EventCodec.HEADER_CONTENT_TYPE), record.value());
         } catch (Exception e) {
-            log.error("Failed to parse JSON: {}. Message was: {}", e.getMessage(), message);
+            // The value itself is only logged at debug; at error level it would be the whole payload on every bad record.
+            log.error("Failed to decode event {} (key {}, offset {}): {}", eventType, record.key(), record.offset(), e.getMessage());
+            log.debug("Undecodable value: {}", new String(record.value(), StandardCharsets.UTF_8));
+            return;
+        }
+
+        if (sampled && log.isDebugEnabled()) {
+            log.debug("Event {} for lot {} at offset {} (1 in {} logged): {}", eventType, record.key(), record.offset(), logSampleRate, update);
+        }
+
+        // 1. Lot registry changes go to everyone
+        if (update instanceof LotUpdateDto lotUpdate) sseService.broadcast(lotUpdate);
+        // 2. Session updates go to the lot's subscribers
+        else if (update instanceof SessionUpdateDto sessionUpdate) sseService.broadcast(sessionUpdate);
+        // 3. Slot counts are cached, then pushed
+        else if (update instanceof SlotUpdateDto slotUpdate) onSlotUpdate(slotUpdate);
+        else if (sampled) log.warn("Ignoring event of unknown type {} (key {}, offset {})", eventType, record.key(), record.offset());
+    }
+
+    private void onSlotUpdate(SlotUpdateDto slotUpdate) {
+        // Safety check to prevent the null-key error
+        if (slotUpdate.getLotId() == null) {
+            log.warn("Discarding SlotUpdate with NULL Lot ID");
+            return;
         }
+
+        String redisKey = "lot:" + slotUpdate.getLotId() + ":count";
+        redisTemplate.opsForValue().set(redisKey, String.valueOf(slotUpdate.getAvailableSlots()));
+
+        sseService.broadcast(slotUpdate);
+    }
+
+    private static String header(ConsumerRecord<String, byte[]> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
     }
-}
\ No newline at end of file
+}
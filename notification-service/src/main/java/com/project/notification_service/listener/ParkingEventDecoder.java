@@ -0,0 +1,62 @@
+package com.project.notification_service.listener;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notification_service.dto.LotUpdateDto;
+import com.project.notification_service.dto.SessionUpdateDto;
+import com.project.notification_service.dto.SlotUpdateDto;
+import com.project.notification_service.utils.EventCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Turns a 'parking-updates' record value into its SlotUpdateDto, SessionUpdateDto or LotUpdateDto, parsing it once.
+ * The target type comes from the 'event-type' header. JSON records without it (older producers) get their
+ * top-level "type" field read by a streaming parser that stops there; the backend writes it first, so that is
+ * the first few bytes. Binary values (content type application/vnd.parking-event) go to EventCodec.
+ */
+
+@Component
+@RequiredArgsConstructor
+public class ParkingEventDecoder {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Returns the decoded update, or null if the event type is not one this service handles.
+     * Malformed values throw (IOException for JSON, IllegalArgumentException for binary).
+     */
+    public Object decode(String eventType, String contentType, byte[] value) throws IOException {
+        if (EventCodec.CONTENT_TYPE.equals(contentType)) return EventCodec.decode(eventType, value);
+
+        if (eventType == null) eventType = readType(value);
+        Class<?> target = targetType(eventType);
+        return target == null ? null : objectMapper.readValue(value, target);
+    }
+
+    // ENTRY/EXIT: slot counts, SESSION_*: sessions, LOT_*: the lot registry.
+    static Class<?> targetType(String eventType) {
+        if (eventType == null) return null;
+        if (eventType.startsWith("LOT_")) return LotUpdateDto.class;
+        if (eventType.startsWith("SESSION_")) return SessionUpdateDto.class;
+        if (eventType.equals("ENTRY") || eventType.equals("EXIT")) return SlotUpdateDto.class;
+        return null;
+    }
+
+    // The top-level "type" field, skipping over anything before it without building it.
+    private String readType(byte[] value) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(value)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("type".equals(field)) return token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+}
@@ -1,20 +1,31 @@
 package com.project.notification_service.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.notification_service.dto.LotUpdateDto;
 import com.project.notification_service.dto.SessionUpdateDto;
 import com.project.notification_service.dto.SlotUpdateDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 @Service
+@RequiredArgsConstructor
 public class SseService {
 
+    // The same mapper the SSE message converter uses, so the JSON is what SseEmitter.event().data(update) wrote.
+    private final ObjectMapper objectMapper;
+
     // K: Lot ID | V: List of User Connections watching this lot
     // Thread-safe map to handle concurrent users
     private final Map<Long, List<SseEmitter>> lotEmitters = new ConcurrentHashMap<>();
@@ -43,52 +54,52 @@ public class SseService {
      * Pushes data to all users watching this specific Lot.
      */
     public void broadcast(SlotUpdateDto update) {
-        Long lotId = update.getLotId();
-        List<SseEmitter> emitters = lotEmitters.get(lotId);
-        if (emitters != null) {
-            for (SseEmitter emitter : emitters) {
-                try {
-                    emitter.send(SseEmitter.event()
-                            .name("parking-update")
-                            .data(update));
-                } catch (IOException e) {
-                    removeEmitter(lotId, emitter);
-                }
-            }
-        }
+        broadcast(update.getLotId(), "parking-update", update);
     }
     public void broadcast(SessionUpdateDto update) {
-        Long lotId = update.getLotId();
-        List<SseEmitter> emitters = lotEmitters.get(lotId);
-        if (emitters != null) {
-            for (SseEmitter emitter : emitters) {
-                try {
-                    emitter.send(SseEmitter.event()
-                            .name("session-update")
-                            .data(update));
-                } catch (IOException e) {
-                    removeEmitter(lotId, emitter);
-                }
-            }
-        }
+        broadcast(update.getLotId(), "session-update", update);
     }
     public void broadcast(LotUpdateDto update) {
         // We send lot registry updates to "0" because everyone needs them
-        List<SseEmitter> globalEmitters = lotEmitters.get(0L);
+        broadcast(0L, "lot-registry-update", update);
+    }
+
+    /**
+     * Encodes the event to its SSE frame once and writes that same buffer to every emitter of the lot.
+     * SseEmitter.event().data(update) would have Jackson serialize the DTO again for each subscriber.
+     */
+    private void broadcast(Long lotId, String eventName, Object update) {
+        List<SseEmitter> emitters = lotEmitters.get(lotId);
+        if (emitters == null || emitters.isEmpty()) return;
 
-        if (globalEmitters != null) {
-            for (SseEmitter emitter : globalEmitters) {
-                try {
-                    emitter.send(SseEmitter.event()
-                            .name("lot-registry-update") // New event name
-                            .data(update));
-                } catch (IOException e) {
-                    removeEmitter(0L, emitter);
-                }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = Set.of(
+                new ResponseBodyEmitter.DataWithMediaType(encodeFrame(eventName, update), MediaType.TEXT_EVENT_STREAM));
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(frame);
+            } catch (IOException e) {
+                removeEmitter(lotId, emitter);
             }
         }
     }
 
+    // "event:<name>\ndata:<json>\n\n", the bytes SseEmitter writes for .name(name).data(update). JSON has no raw newlines.
+    private byte[] encodeFrame(String eventName, Object update) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(update);
+            byte[] prefix = ("event:" + eventName + "\ndata:").getBytes(StandardCharsets.UTF_8);
+
+            byte[] frame = new byte[prefix.length + json.length + 2];
+            System.arraycopy(prefix, 0, frame, 0, prefix.length);
+            System.arraycopy(json, 0, frame, prefix.length, json.length);
+            frame[frame.length - 2] = '\n';
+            frame[frame.length - 1] = '\n';
+            return frame;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + update.getClass().getSimpleName(), e);
+        }
+    }
+
     private void removeEmitter(Long lotId, SseEmitter emitter) {
         List<SseEmitter> emitters = lotEmitters.get(lotId);
         if (emitters != null) {
@@ -0,0 +1,146 @@
+package com.project.notification_service.utils;
+
+import com.project.notification_service.dto.LotUpdateDto;
+import com.project.notification_service.dto.ParkingLotDto;
+import com.project.notification_service.dto.ParkingSessionDto;
+import com.project.notification_service.dto.SessionUpdateDto;
+import com.project.notification_service.dto.SlotUpdateDto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Decoder of the compact binary events the parking backend publishes (content type 'application/vnd.parking-event').
+ * Mirrors the backend's EventCodec: a version byte, a kind byte (1 slot, 2 session, 3 lot), then the fields in order.
+ * Numbers are zig-zag varints stored as value + 1 (0 = null); strings are a varint byte length + 1 and UTF-8 bytes;
+ * times are epoch microseconds of the local date-time; rupee amounts are paise.
+ * The event type comes from the record's 'event-type' header.
+ */
+
+public final class EventCodec {
+
+    public static final String HEADER_EVENT_TYPE = "event-type";
+    public static final String HEADER_CONTENT_TYPE = "content-type";
+    public static final String CONTENT_TYPE = "application/vnd.parking-event";
+
+    public static final byte VERSION = 1;
+
+    private static final byte KIND_SLOT = 1;
+    private static final byte KIND_SESSION = 2;
+    private static final byte KIND_LOT = 3;
+
+    private EventCodec() {}
+
+    /**
+     * Returns a SlotUpdateDto, SessionUpdateDto or LotUpdateDto.
+     * Throws IllegalArgumentException for an unknown version or kind, or a truncated payload.
+     */
+    public static Object decode(String eventType, byte[] payload) {
+        Reader in = new Reader(payload);
+        int version = in.readByte();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported event encoding version " + version);
+
+        int kind = in.readByte();
+        switch (kind) {
+            case KIND_SLOT: {
+                return SlotUpdateDto.builder()
+                        .type(eventType)
+                        .lotId(in.number())
+                        .availableSlots(in.integer())
+                        .totalSlots(in.integer())
+                        .build();
+            }
+            case KIND_SESSION: {
+                Long lotId = in.number();
+                ParkingSessionDto session = new ParkingSessionDto();
+                session.setSessionId(in.number());
+                session.setVehicleNumber(in.string());
+                session.setVehicleType(in.string());
+                session.setParkingLotName(in.string());
+                session.setSlotNumber(in.integer());
+                session.setEntryTime(in.time());
+                session.setExitTime(in.time());
+                session.setTotalAmount(in.rupees());
+                session.setStatus(in.string());
+                return SessionUpdateDto.builder().type(eventType).lotId(lotId).session(session).build();
+            }
+            case KIND_LOT: {
+                ParkingLotDto lot = new ParkingLotDto();
+                lot.setId(in.number());
+                lot.setName(in.string());
+                lot.setLocation(in.string());
+                lot.setTotalSlots(in.integer());
+                lot.setAvailableSlots(in.integer());
+                lot.setBasePricePerHour(in.rupees());
+                lot.setCreatedAt(in.time());
+
+                LotUpdateDto update = new LotUpdateDto();
+                update.setType(eventType);
+                update.setLot(lot);
+                return update;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown event kind " + kind);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private int readByte() {
+            if (position >= buffer.length) throw new IllegalArgumentException("Truncated event payload");
+            return buffer[position++];
+        }
+
+        private Long number() {
+            long raw = varint();
+            if (raw == 0) return null;
+            long v = raw - 1;
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        private Integer integer() {
+            Long value = number();
+            return value == null ? null : Math.toIntExact(value);
+        }
+
+        private BigDecimal rupees() {
+            Long paise = number();
+            return paise == null ? null : BigDecimal.valueOf(paise, 2);
+        }
+
+        private String string() {
+            long raw = varint();
+            if (raw == 0) return null;
+            int length = Math.toIntExact(raw - 1);
+            if (length > buffer.length - position) throw new IllegalArgumentException("Truncated event payload");
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private LocalDateTime time() {
+            Long micros = number();
+            if (micros == null) return null;
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint in event payload");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.notification_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notification_service.dto.LotUpdateDto;
+import com.project.notification_service.dto.ParkingLotDto;
+import com.project.notification_service.dto.ParkingSessionDto;
+import com.project.notification_service.dto.SessionUpdateDto;
+import com.project.notification_service.dto.SlotUpdateDto;
+import com.project.notification_service.listener.ParkingEventDecoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a JSON 'parking-updates' value, one thread: messages per second per core.
+ * legacyContains is the consumer before header dispatch (String copy, up to four contains() scans, then the parse);
+ * it leaves out the INFO log of every raw payload that came on top. headerDispatch routes on the 'event-type' header,
+ * sniffedType on the streamed "type" field (records without headers). Binary decoding is in the backend's
+ * EventEncodingBenchmark. Run from the IDE (main) after 'mvn test-compile'.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDecodingBenchmark {
+
+    @Param({"slot", "session", "lot"})
+    public String kind;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final ParkingEventDecoder decoder = new ParkingEventDecoder(objectMapper);
+
+    private String eventType;
+    private byte[] value;
+
+    @Setup
+    public void setUp() throws Exception {
+        Object update;
+        switch (kind) {
+            case "slot" -> {
+                eventType = "EXIT";
+                update = SlotUpdateDto.builder().type(eventType).lotId(42L).availableSlots(137).totalSlots(500).build();
+            }
+            case "session" -> {
+                eventType = "SESSION_END";
+                ParkingSessionDto session = new ParkingSessionDto();
+                session.setSessionId(1_234_567L);
+                session.setVehicleNumber("MH12AB1234");
+                session.setVehicleType("CAR");
+                session.setParkingLotName("Pune Station East");
+                session.setSlotNumber(311);
+                session.setEntryTime(LocalDateTime.of(2025, 3, 1, 8, 15, 30));
+                session.setExitTime(LocalDateTime.of(2025, 3, 1, 11, 2, 5));
+                session.setTotalAmount(new BigDecimal("145.50"));
+                session.setStatus("COMPLETED");
+                update = SessionUpdateDto.builder().type(eventType).lotId(42L).session(session).build();
+            }
+            default -> {
+                eventType = "LOT_UPDATED";
+                ParkingLotDto lot = new ParkingLotDto();
+                lot.setId(42L);
+                lot.setName("Pune Station East");
+                lot.setLocation("Station Road, Pune");
+                lot.setTotalSlots(500);
+                lot.setAvailableSlots(137);
+                lot.setBasePricePerHour(new BigDecimal("40.00"));
+                lot.setCreatedAt(LocalDateTime.of(2024, 11, 5, 9, 0));
+                LotUpdateDto lotUpdate = new LotUpdateDto();
+                lotUpdate.setType(eventType);
+                lotUpdate.setLot(lot);
+                update = lotUpdate;
+            }
+        }
+        value = objectMapper.writeValueAsBytes(update);
+    }
+
+    @Benchmark
+    public Object legacyContains() throws Exception {
+        String message = new String(value, StandardCharsets.UTF_8);
+        if (message.contains("LOT_CREATED") || message.contains("LOT_UPDATED") || message.contains("LOT_DELETED")) {
+            return objectMapper.readValue(message, LotUpdateDto.class);
+        } else if (message.contains("sessionId")) {
+            return objectMapper.readValue(message, SessionUpdateDto.class);
+        } else if (message.contains("availableSlots")) {
+            return objectMapper.readValue(message, SlotUpdateDto.class);
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Object headerDispatch() throws Exception {
+        return decoder.decode(eventType, "application/json", value);
+    }
+
+    @Benchmark
+    public Object sniffedType() throws Exception {
+        return decoder.decode(null, null, value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventDecodingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
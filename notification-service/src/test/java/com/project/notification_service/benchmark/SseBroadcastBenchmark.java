@@ -0,0 +1,134 @@
+package com.project.notification_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.notification_service.dto.SlotUpdateDto;
+import com.project.notification_service.service.SseService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One slot update broadcast to 'subscribers' dashboards of a lot: per-subscriber SseEmitter.event().data(update)
+ * (as SseService did before) against SseService's encode-once broadcast.
+ * The emitters are connected to a stand-in for Spring MVC's handler that runs the same message converters
+ * (Jackson for objects) into a discarding stream, so serialization and write costs are those of a real connection.
+ * Runs with the GC profiler: compare gc.alloc.rate.norm (bytes per broadcast). Run from the IDE (main) after 'mvn test-compile'.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SseBroadcastBenchmark {
+
+    private static final long LOT_ID = 42L;
+
+    @Param({"10000"})
+    public int subscribers;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<HttpMessageConverter<?>> converters = List.of(
+            new StringHttpMessageConverter(StandardCharsets.UTF_8),
+            new ByteArrayHttpMessageConverter(),
+            new MappingJackson2HttpMessageConverter(objectMapper));
+    private final HttpOutputMessage sink = new HttpOutputMessage() {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    };
+
+    private SseService sseService;
+    private final List<SseEmitter> emitters = new ArrayList<>();
+    private final SlotUpdateDto update = SlotUpdateDto.builder().type("EXIT").lotId(LOT_ID).availableSlots(137).totalSlots(500).build();
+
+    @Setup
+    public void setUp() throws Exception {
+        sseService = new SseService(objectMapper);
+        Object handler = connectedHandler();
+        Method initialize = ResponseBodyEmitter.class.getDeclaredMethod("initialize", handler.getClass().getInterfaces()[0]);
+        initialize.setAccessible(true);
+
+        for (int i = 0; i < subscribers; i++) {
+            SseEmitter emitter = sseService.subscribe(LOT_ID);
+            initialize.invoke(emitter, handler);
+            emitters.add(emitter);
+        }
+    }
+
+    @Benchmark
+    public void serializePerSubscriber() throws Exception {
+        for (SseEmitter emitter : emitters) {
+            emitter.send(SseEmitter.event().name("parking-update").data(update));
+        }
+    }
+
+    @Benchmark
+    public void serializeOnce() {
+        sseService.broadcast(update);
+    }
+
+    // ResponseBodyEmitter.Handler is package-private: implement it with a proxy that writes like Spring MVC's handler.
+    private Object connectedHandler() throws ClassNotFoundException {
+        Class<?> handlerType = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+        return Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[]{handlerType}, (proxy, method, args) -> {
+            if (!method.getName().equals("send")) return null;
+            if (args.length == 2) {
+                write(args[0], (MediaType) args[1]);
+            } else {
+                for (Object item : (Set<?>) args[0]) {
+                    ResponseBodyEmitter.DataWithMediaType data = (ResponseBodyEmitter.DataWithMediaType) item;
+                    write(data.getData(), data.getMediaType());
+                }
+            }
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(Object data, MediaType mediaType) throws Exception {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter.canWrite(data.getClass(), mediaType)) {
+                ((HttpMessageConverter<Object>) converter).write(data, mediaType, sink);
+                return;
+            }
+        }
+        throw new IllegalStateException("No converter for " + data.getClass());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SseBroadcastBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -2,6 +2,7 @@ package com.project.parking_system;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Entry point for the Parking System Application.
@@ -11,6 +12,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  */
 
 @SpringBootApplication
+@EnableScheduling   // Background maintenance jobs (see the scheduler package).
 public class ParkingSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,162 @@
+package com.project.parking_system.cache;
+
+import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import com.project.parking_system.repository.projection.ActiveSessionView;
+import com.project.parking_system.utils.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of Active Sessions: vehicle id -> (session id, slot id, lot id, entry time, plate, vehicle type).
+ * Answers "is this vehicle already parked?", "which session does it exit from?" and "what would it pay now?"
+ * without scanning parking_sessions.
+ * Loaded before the application starts serving requests, then kept in step with the database:
+ * a new session is added when it is inserted (and removed again on rollback), an ended session is removed on commit.
+ * Holding the entry before commit lets concurrent entries of the same vehicle see each other.
+ * Batch entries claim their vehicles first (a placeholder entry), before any slot is taken or session inserted,
+ * so a vehicle that loses a race is simply left out of the batch; the claim is replaced by the inserted session.
+ * Two secondary maps (session id -> vehicle id, lot id -> vehicle ids) answer the lookups by session and by lot
+ * without a scan. They are only changed together with the vehicle's entry; claims are not in them.
+ * Assumes this instance is the only writer of sessions, as in the current single-instance deployment.
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActiveSessionIndex {
+
+    public record ActiveSession(Long sessionId, Long slotId, Long lotId, LocalDateTime entryTime,
+                                String vehicleNumber, VehicleType vehicleType) {}
+
+    // Placeholder of a vehicle claimed by a batch entry whose session is not inserted yet.
+    private static final ActiveSession CLAIMED = new ActiveSession(null, null, null, null, null, null);
+
+    private final ParkingSessionRepository parkingSessionRepository;
+
+    private final ConcurrentHashMap<Long, ActiveSession> sessionsByVehicle = new ConcurrentHashMap<>();
+    // Secondary lookups, K: Session ID | V: Vehicle ID, and K: Lot ID | V: Vehicle IDs
+    private final ConcurrentHashMap<Long, Long> vehicleBySession = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Long>> vehiclesByLot = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        sessionsByVehicle.clear();
+        vehicleBySession.clear();
+        vehiclesByLot.clear();
+        for (ActiveSessionView view : parkingSessionRepository.findSessionKeysByStatus(SessionStatus.ACTIVE)) {
+            ActiveSession session = new ActiveSession(view.getSessionId(), view.getSlotId(), view.getLotId(), view.getEntryTime(),
+                    view.getVehicleNumber(), view.getVehicleType());
+            sessionsByVehicle.put(view.getVehicleId(), session);
+            addLookups(view.getVehicleId(), session);
+        }
+        log.info("Active session index loaded with {} sessions", sessionsByVehicle.size());
+    }
+
+    // A vehicle that is only claimed has no session to exit from yet.
+    public Optional<ActiveSession> find(Long vehicleId) {
+        return Optional.ofNullable(sessionsByVehicle.get(vehicleId)).filter(session -> session != CLAIMED);
+    }
+
+    public boolean contains(Long vehicleId) {
+        return sessionsByVehicle.containsKey(vehicleId);
+    }
+
+    // The vehicle's current entry is checked, so a lookup racing an exit never returns another session.
+    public Optional<ActiveSession> findBySessionId(Long sessionId) {
+        Long vehicleId = vehicleBySession.get(sessionId);
+        if (vehicleId == null) return Optional.empty();
+        return find(vehicleId).filter(session -> sessionId.equals(session.sessionId()));
+    }
+
+    // All Active Sessions of one lot.
+    public List<ActiveSession> findByLot(Long lotId) {
+        List<ActiveSession> sessions = new ArrayList<>();
+        for (Long vehicleId : vehiclesByLot.getOrDefault(lotId, Set.of())) {
+            find(vehicleId).filter(session -> lotId.equals(session.lotId())).ifPresent(sessions::add);
+        }
+        return sessions;
+    }
+
+    // Batch form of contains(): the given vehicles that have an Active Session.
+    public Set<Long> filterActive(Collection<Long> vehicleIds) {
+        Set<Long> active = new HashSet<>();
+        for (Long vehicleId : vehicleIds) {
+            if (sessionsByVehicle.containsKey(vehicleId)) active.add(vehicleId);
+        }
+        return active;
+    }
+
+    /**
+     * Records a session that was just inserted. Undone if the transaction does not commit.
+     * @return false if the vehicle already has an Active Session (nothing is recorded then).
+     */
+    public boolean sessionStarted(Long vehicleId, ActiveSession session) {
+        if (sessionsByVehicle.putIfAbsent(vehicleId, session) != null) return false;
+        addLookups(vehicleId, session);
+        TransactionHooks.afterRollback(() -> remove(vehicleId, session.sessionId()));
+        return true;
+    }
+
+    /**
+     * Claims the vehicle for a batch entry. Counts as an Active Session for contains() and sessionStarted().
+     * @return false if the vehicle already has an Active Session or a claim.
+     */
+    public boolean claim(Long vehicleId) {
+        return sessionsByVehicle.putIfAbsent(vehicleId, CLAIMED) == null;
+    }
+
+    // Drops a claim that did not become a session; a vehicle whose session was recorded is left alone.
+    public void releaseClaim(Long vehicleId) {
+        sessionsByVehicle.remove(vehicleId, CLAIMED);
+    }
+
+    // Replaces the vehicle's claim with its just inserted session. Claim and session are gone if the transaction rolls back.
+    public void claimedSessionStarted(Long vehicleId, ActiveSession session) {
+        if (!sessionsByVehicle.replace(vehicleId, CLAIMED, session)) {
+            throw new IllegalStateException("Vehicle " + vehicleId + " was not claimed for a batch entry");
+        }
+        addLookups(vehicleId, session);
+        TransactionHooks.afterRollback(() -> remove(vehicleId, session.sessionId()));
+    }
+
+    // Forgets a session once its completion or termination has committed.
+    public void sessionEnded(Long vehicleId, Long sessionId) {
+        TransactionHooks.afterCommit(() -> remove(vehicleId, sessionId));
+    }
+
+    // Removes the vehicle's entry (and its lookups) if it is still the given session.
+    private void remove(Long vehicleId, Long sessionId) {
+        sessionsByVehicle.computeIfPresent(vehicleId, (id, session) -> {
+            if (!sessionId.equals(session.sessionId())) return session;
+            vehicleBySession.remove(sessionId, vehicleId);
+            vehiclesByLot.computeIfPresent(session.lotId(), (lotId, vehicles) -> {
+                vehicles.remove(vehicleId);
+                return vehicles.isEmpty() ? null : vehicles;
+            });
+            return null;
+        });
+    }
+
+    private void addLookups(Long vehicleId, ActiveSession session) {
+        vehicleBySession.put(session.sessionId(), vehicleId);
+        // Added inside compute(), so it cannot land in a set that remove() is dropping as empty.
+        vehiclesByLot.compute(session.lotId(), (lotId, vehicles) -> {
+            Set<Long> lotVehicles = vehicles == null ? ConcurrentHashMap.newKeySet() : vehicles;
+            lotVehicles.add(vehicleId);
+            return lotVehicles;
+        });
+    }
+}
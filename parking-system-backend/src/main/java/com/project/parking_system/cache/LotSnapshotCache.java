@@ -0,0 +1,41 @@
+package com.project.parking_system.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.project.parking_system.repository.ParkingLotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Short-lived snapshot of each lot's pricing inputs: capacity, occupied slots and base price.
+ * Fare quotes are estimates that kiosks poll continuously, so they read occupancy from here (at most
+ * 'parking.quote.snapshot-ttl' old, one counter read per lot per TTL) instead of from the database on every call.
+ * Exits still bill with the live counter.
+ */
+
+@Component
+public class LotSnapshotCache {
+
+    public record LotSnapshot(Long lotId, String name, int totalSlots, long occupiedSlots, long basePricePerHourPaise) {}
+
+    private final LoadingCache<Long, LotSnapshot> cache;
+
+    public LotSnapshotCache(ParkingLotRepository parkingLotRepository,
+                            @Value("${parking.quote.snapshot-ttl:5s}") Duration snapshotTtl) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(snapshotTtl)
+                // Deleted lots load as null, which Caffeine does not cache.
+                .build(lotId -> parkingLotRepository.findAllWithAvailabilityByIdIn(List.of(lotId)).stream()
+                        .map(view -> new LotSnapshot(view.getId(), view.getName(), view.getTotalSlots(),
+                                view.getTotalSlots() - view.getAvailableSlots(), view.getBasePricePerHourPaise()))
+                        .findFirst().orElse(null));
+    }
+
+    public Optional<LotSnapshot> find(Long lotId) {
+        return Optional.ofNullable(cache.get(lotId));
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.parking_system.cache;
+
+import com.project.parking_system.entity.Tariff;
+import com.project.parking_system.entity.TariffBand;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.TariffRepository;
+import com.project.parking_system.utils.CompiledTariff;
+import com.project.parking_system.utils.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled tariffs by lot id, used by BillingService so that a bill needs neither the database nor new objects.
+ * Loaded at startup. When a tariff (or the base price of its lot) changes, the lot's tariff is compiled again
+ * after the change commits and replaces the old one in a single map write: a bill in progress keeps the table
+ * it started with, the next one sees the new table.
+ * Lots without a row in 'tariffs' have no entry and are billed with the default rules.
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TariffRegistry {
+
+    private final TariffRepository tariffRepository;
+
+    private final ConcurrentHashMap<Long, CompiledTariff> tariffsByLot = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        tariffsByLot.clear();
+        for (Tariff tariff : tariffRepository.findAllForCompile()) {
+            tariffsByLot.put(tariff.getLotId(), compile(tariff));
+        }
+        log.info("Tariff registry loaded with {} lot tariffs", tariffsByLot.size());
+    }
+
+    // The lot's compiled tariff, or null if the lot uses the default rules.
+    public CompiledTariff find(Long lotId) {
+        return tariffsByLot.get(lotId);
+    }
+
+    // Recompiles the lot's tariff (or drops it, if it was deleted) once the current transaction has committed.
+    public void refresh(Long lotId) {
+        TransactionHooks.afterCommit(() -> tariffRepository.findForCompile(lotId).ifPresentOrElse(
+                tariff -> tariffsByLot.put(lotId, compile(tariff)),
+                () -> tariffsByLot.remove(lotId)));
+    }
+
+    // Base price everywhere, then the bands for all types, then the type-specific bands on top.
+    static CompiledTariff compile(Tariff tariff) {
+        VehicleType[] types = VehicleType.values();
+        long[][] hourlyRates = new long[types.length][24];
+
+        for (VehicleType type : types) {
+            long[] rates = hourlyRates[type.ordinal()];
+            Arrays.fill(rates, tariff.getParkingLot().getBasePricePerHourPaise());
+            for (TariffBand band : tariff.getBands()) {
+                if (band.getVehicleType() == null) Arrays.fill(rates, band.getStartHour(), band.getEndHour(), band.getRatePerHourPaise());
+            }
+            for (TariffBand band : tariff.getBands()) {
+                if (band.getVehicleType() == type) Arrays.fill(rates, band.getStartHour(), band.getEndHour(), band.getRatePerHourPaise());
+            }
+        }
+        return CompiledTariff.compile(tariff.getFreeMinutes(), tariff.getDailyCapPaise(), hourlyRates);
+    }
+}
@@ -0,0 +1,154 @@
+package com.project.parking_system.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.project.parking_system.entity.Vehicle;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.VehicleRepository;
+import com.project.parking_system.utils.PlateKeyCodec;
+import com.project.parking_system.utils.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Read-through cache of the vehicle registry: normalized plate -> (vehicle id, vehicle type).
+ * Commuter plates repeat every day, so entries and exits mostly skip the 'vehicles' table.
+ * Plates that are not registered are cached too, for a much shorter time ('negative-expire-after-write'),
+ * so repeated exits of unknown plates do not reach the database either.
+ * Size and TTL come from 'parking.vehicle-cache.*'; hit/miss/eviction metrics are published as cache "vehicles".
+ * Keys are PlateKeyCodec keys rather than plate strings. A plate without a key fails the entry format check,
+ * so it is looked up directly and never cached.
+ */
+
+@Component
+public class VehicleRegistryCache {
+
+    // What is cached per plate. NOT_REGISTERED marks a plate that was looked up and not found.
+    private record CachedVehicle(Long id, VehicleType vehicleType) {
+        static final CachedVehicle NOT_REGISTERED = new CachedVehicle(null, null);
+
+        boolean isRegistered() {
+            return id != null;
+        }
+    }
+
+    private final VehicleRepository vehicleRepository;
+    private final LoadingCache<Long, CachedVehicle> cache;
+
+    public VehicleRegistryCache(VehicleRepository vehicleRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${parking.vehicle-cache.maximum-size:100000}") long maximumSize,
+                                @Value("${parking.vehicle-cache.expire-after-write:12h}") Duration expireAfterWrite,
+                                @Value("${parking.vehicle-cache.negative-expire-after-write:30s}") Duration negativeExpireAfterWrite) {
+
+        this.vehicleRepository = vehicleRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, CachedVehicle>() {
+                    @Override
+                    public long expireAfterCreate(Long key, CachedVehicle value, long currentTime) {
+                        return (value.isRegistered() ? expireAfterWrite : negativeExpireAfterWrite).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, CachedVehicle value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, CachedVehicle value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public CachedVehicle load(Long key) {
+                        return vehicleRepository.findByVehicleNumber(PlateKeyCodec.decode(key))
+                                .map(v -> new CachedVehicle(v.getId(), v.getVehicleType()))
+                                .orElse(CachedVehicle.NOT_REGISTERED);
+                    }
+
+                    // Batch lookups: all misses in one IN query.
+                    @Override
+                    public Map<Long, CachedVehicle> loadAll(Set<? extends Long> keys) {
+                        List<String> plates = new ArrayList<>(keys.size());
+                        for (Long key : keys) plates.add(PlateKeyCodec.decode(key));
+
+                        Map<Long, CachedVehicle> loaded = new HashMap<>();
+                        for (Vehicle v : vehicleRepository.findByVehicleNumberIn(plates)) {
+                            loaded.put(PlateKeyCodec.encode(v.getVehicleNumber()), new CachedVehicle(v.getId(), v.getVehicleType()));
+                        }
+                        for (Long key : keys) loaded.putIfAbsent(key, CachedVehicle.NOT_REGISTERED);
+                        return loaded;
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "vehicles");
+    }
+
+    /**
+     * Looks up a registered vehicle by its normalized plate.
+     * The returned Vehicle is a detached copy carrying id, number and type; it can be referenced from new
+     * sessions but is not managed by the current persistence context.
+     */
+    public Optional<Vehicle> find(String vehicleNumber) {
+        long key = PlateKeyCodec.encode(vehicleNumber);
+        if (key == PlateKeyCodec.INVALID) return vehicleRepository.findByVehicleNumber(vehicleNumber);
+        return Optional.ofNullable(toVehicle(vehicleNumber, cache.get(key)));
+    }
+
+    // Batch form of find(). Plates that are not registered are left out of the result.
+    public Map<String, Vehicle> findAll(Collection<String> vehicleNumbers) {
+        Map<String, Vehicle> vehicles = new HashMap<>();
+        Map<Long, String> platesByKey = new HashMap<>();
+        List<String> unkeyed = new ArrayList<>();
+        for (String plate : vehicleNumbers) {
+            long key = PlateKeyCodec.encode(plate);
+            if (key == PlateKeyCodec.INVALID) unkeyed.add(plate);
+            else platesByKey.put(key, plate);
+        }
+
+        cache.getAll(platesByKey.keySet()).forEach((key, cached) -> {
+            String plate = platesByKey.get(key);
+            Vehicle vehicle = toVehicle(plate, cached);
+            if (vehicle != null) vehicles.put(plate, vehicle);
+        });
+        if (!unkeyed.isEmpty()) {
+            for (Vehicle v : vehicleRepository.findByVehicleNumberIn(unkeyed)) vehicles.put(v.getVehicleNumber(), v);
+        }
+        return vehicles;
+    }
+
+    /**
+     * Called right after a vehicle was inserted. Drops the "not registered" entry now, caches the vehicle once the
+     * insert committed, and forgets it again if the insert rolled back (a lookup later in the same transaction
+     * may have cached the uncommitted row).
+     */
+    public void registered(Vehicle vehicle) {
+        long key = PlateKeyCodec.encode(vehicle.getVehicleNumber());
+        if (key == PlateKeyCodec.INVALID) return;
+        CachedVehicle cached = new CachedVehicle(vehicle.getId(), vehicle.getVehicleType());
+
+        cache.invalidate(key);
+        TransactionHooks.afterCommit(() -> cache.put(key, cached));
+        TransactionHooks.afterRollback(() -> cache.invalidate(key));
+    }
+
+    // Forgets every plate, e.g. after the vehicles table was changed behind VehicleService's back.
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static Vehicle toVehicle(String plate, CachedVehicle cached) {
+        if (!cached.isRegistered()) return null;
+        return Vehicle.builder().id(cached.id()).vehicleNumber(plate).vehicleType(cached.vehicleType()).build();
+    }
+}
@@ -17,10 +17,18 @@ public class AppConstants {
     // Used in BillingServiceImpl.
     public static final int FREE_PARKING_MINUTES = 30;
 
+    // Upper bound on the number of entries/exits a gate controller may send in one batch request.
+    public static final int MAX_BATCH_SIZE = 500;
+
+    // Session history page size: used when the client does not ask for one, and the most it may ask for.
+    public static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+    public static final int MAX_HISTORY_PAGE_SIZE = 500;
+
     // -------------------------------------------------------------------------
     // BUSINESS LOGIC: DYNAMIC PRICING MULTIPLIERS
     // -------------------------------------------------------------------------
-    public static final double MULTIPLIER_STANDARD = 1.0;
-    public static final double MULTIPLIER_MEDIUM_DEMAND = 1.25;
-    public static final double MULTIPLIER_HIGH_DEMAND = 1.5;
+    // In percent, so bills stay in whole paise: 100 = 1.0x, 125 = 1.25x, 150 = 1.5x.
+    public static final int MULTIPLIER_STANDARD_PERCENT = 100;
+    public static final int MULTIPLIER_MEDIUM_DEMAND_PERCENT = 125;
+    public static final int MULTIPLIER_HIGH_DEMAND_PERCENT = 150;
 }
@@ -0,0 +1,155 @@
+package com.project.parking_system.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Versioned migration of the money columns from DOUBLE rupees to BIGINT paise, in two steps recorded in 'schema_migration'.
+ * V12.1 (copy, runs once): Hibernate (ddl-auto=update) adds the '*_paise' columns; the old column is made nullable
+ * (new rows no longer fill it) and every old value is copied as CAST(value AS DECIMAL(19,2)) * 100, i.e. rounded
+ * to the nearest paisa on the exact decimal value. In the same transaction the copy is verified: as many rows as
+ * carry an old value were written, and the paise sum equals the converted rupee sum. A mismatch rolls the copy back
+ * and fails startup. The old columns stay, so the previous build can still be started (rows created since have no
+ * old value).
+ * V12.2 (drop, a later release): only with 'parking.money-migration.drop-legacy-columns=true', and only after V12.1,
+ * the old columns are dropped once no row has an old value without a paise value. This cannot be undone.
+ * Concurrent starts are safe: the version row is inserted first, so a second instance waits and then skips the step.
+ */
+
+@Slf4j
+@Component
+public class MoneyColumnMigration {
+
+    private static final String COPY_VERSION = "V12.1 money columns: copy rupees to paise";
+    private static final String DROP_VERSION = "V12.2 money columns: drop rupee columns";
+
+    private record MoneyColumn(String table, String oldColumn, String newColumn) {}
+
+    private static final List<MoneyColumn> COLUMNS = List.of(
+            new MoneyColumn("parking_lots", "base_price_per_hour", "base_price_per_hour_paise"),
+            new MoneyColumn("parking_sessions", "total_amount", "total_amount_paise"));
+
+    private static final String CREATE_MIGRATION_TABLE =
+            "CREATE TABLE IF NOT EXISTS schema_migration (version VARCHAR(128) NOT NULL PRIMARY KEY, applied_at DATETIME(6) NOT NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean dropLegacyColumns;
+    // Not used directly: depending on it makes the migration wait for Hibernate's schema update.
+    private final EntityManagerFactory entityManagerFactory;
+
+    public MoneyColumnMigration(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                EntityManagerFactory entityManagerFactory,
+                                @Value("${parking.money-migration.drop-legacy-columns:false}") boolean dropLegacyColumns) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.dropLegacyColumns = dropLegacyColumns;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (COLUMNS.stream().noneMatch(column -> columnExists(column.table(), column.oldColumn()))) return;
+        jdbcTemplate.execute(CREATE_MIGRATION_TABLE);
+
+        copy();
+        if (dropLegacyColumns) drop();
+    }
+
+    // V12.1
+    private void copy() {
+        if (isApplied(COPY_VERSION)) return;
+
+        // 1. New rows only fill the paise column (DDL commits on its own, so outside the copy transaction; reversible).
+        for (MoneyColumn column : COLUMNS) {
+            if (columnExists(column.table(), column.oldColumn())) {
+                jdbcTemplate.execute("ALTER TABLE " + column.table() + " MODIFY " + column.oldColumn() + " DOUBLE NULL");
+            }
+        }
+
+        // 2. Copy and verify in one transaction, claimed by the version row.
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!claim(COPY_VERSION)) return;
+            for (MoneyColumn column : COLUMNS) {
+                if (columnExists(column.table(), column.oldColumn())) copyColumn(column);
+            }
+        });
+    }
+
+    private void copyColumn(MoneyColumn column) {
+        String converted = "CAST(" + column.oldColumn() + " AS DECIMAL(19,2)) * 100";
+        String withOldValue = " FROM " + column.table() + " WHERE " + column.oldColumn() + " IS NOT NULL";
+
+        int copied = jdbcTemplate.update("UPDATE " + column.table() + " SET " + column.newColumn() + " = " + converted
+                + " WHERE " + column.oldColumn() + " IS NOT NULL");
+
+        // The updated rows stay locked until commit, so these sums see exactly what was written.
+        Map<String, Object> check = jdbcTemplate.queryForMap("SELECT COUNT(*) AS row_count, "
+                + "COALESCE(SUM(" + converted + "), 0) AS expected, COALESCE(SUM(" + column.newColumn() + "), 0) AS actual" + withOldValue);
+        long rows = ((Number) check.get("row_count")).longValue();
+        BigDecimal expected = new BigDecimal(check.get("expected").toString());
+        BigDecimal actual = new BigDecimal(check.get("actual").toString());
+
+        if (rows != copied || expected.compareTo(actual) != 0) {
+            throw new IllegalStateException("Copy of " + column.table() + "." + column.oldColumn() + " did not verify: "
+                    + copied + " of " + rows + " rows, paise sum " + actual + " instead of " + expected);
+        }
+        log.info("{}: copied {}.{} to {} ({} rows, {} paise)", COPY_VERSION, column.table(), column.oldColumn(), column.newColumn(), copied, actual);
+    }
+
+    // V12.2
+    private void drop() {
+        if (!isApplied(COPY_VERSION) || isApplied(DROP_VERSION)) return;
+
+        for (MoneyColumn column : COLUMNS) {
+            if (!columnExists(column.table(), column.oldColumn())) continue;
+            Integer uncopied = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + column.table() + " WHERE "
+                    + column.oldColumn() + " IS NOT NULL AND " + column.newColumn() + " IS NULL", Integer.class);
+            if (!Objects.equals(uncopied, 0)) {
+                log.warn("{}: not dropping {}.{}, {} rows have no {} value", DROP_VERSION, column.table(), column.oldColumn(), uncopied, column.newColumn());
+                return;
+            }
+        }
+        if (!claim(DROP_VERSION)) return;
+        for (MoneyColumn column : COLUMNS) {
+            if (!columnExists(column.table(), column.oldColumn())) continue;
+            jdbcTemplate.execute("ALTER TABLE " + column.table() + " DROP COLUMN " + column.oldColumn());
+            log.info("{}: dropped {}.{}", DROP_VERSION, column.table(), column.oldColumn());
+        }
+    }
+
+    // Inserts the version row; false if another instance already has (it waits on the key until that one commits).
+    private boolean claim(String version) {
+        try {
+            jdbcTemplate.update("INSERT INTO schema_migration (version, applied_at) VALUES (?, ?)", version, LocalDateTime.now());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private boolean isApplied(String version) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migration WHERE version = ?", Integer.class, version);
+        return count != null && count > 0;
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.project.parking_system.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup check of the query plans of the hot queries against the live schema.
+ * Each query below is the SQL a repository method sends (with sample values), run through EXPLAIN. A table read with a
+ * full scan and no usable index (type ALL, no possible_keys) is logged as a warning: the index the entities declare is
+ * missing, e.g. because the schema is not managed by 'ddl-auto=update'. A full scan the optimizer chose although an
+ * index exists (tiny or empty tables) is only logged at debug.
+ * Never fails startup; turn off with 'parking.query-plan-check.enabled=false'.
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "parking.query-plan-check.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryPlanCheck {
+
+    private record HotQuery(String name, String sql) {}
+
+    private static final List<HotQuery> HOT_QUERIES = List.of(
+            new HotQuery("slot allocation",
+                    "SELECT id FROM parking_slots WHERE parking_lot_id = 0 AND slot_status = 'AVAILABLE' ORDER BY slot_number LIMIT 1"),
+            new HotQuery("available slot count",
+                    "SELECT COUNT(*) FROM parking_slots WHERE parking_lot_id = 0 AND slot_status = 'AVAILABLE'"),
+            new HotQuery("slots of a lot",
+                    "SELECT id, slot_number, slot_status FROM parking_slots WHERE parking_lot_id = 0 ORDER BY slot_number"),
+            new HotQuery("active session of a vehicle",
+                    "SELECT id FROM parking_sessions WHERE vehicle_id = 0 AND session_status = 'ACTIVE'"),
+            new HotQuery("exit lookup by plate",
+                    "SELECT s.id FROM parking_sessions s JOIN vehicles v ON v.id = s.vehicle_id " +
+                    "WHERE v.vehicle_number = 'MH12AB1234' AND s.session_status = 'ACTIVE'"),
+            new HotQuery("active sessions of a lot",
+                    "SELECT s.id FROM parking_sessions s JOIN parking_slots sl ON sl.id = s.parking_slot_id " +
+                    "WHERE sl.parking_lot_id = 0 AND s.session_status = 'ACTIVE'"),
+            new HotQuery("sessions by status",
+                    "SELECT id FROM parking_sessions WHERE session_status = 'ACTIVE'"),
+            new HotQuery("history page",
+                    "SELECT id FROM parking_sessions WHERE entry_time < NOW() ORDER BY entry_time DESC, id DESC LIMIT 50"),
+            new HotQuery("archive candidates",
+                    "SELECT id FROM parking_sessions WHERE session_status IN ('COMPLETED', 'TERMINATED') AND exit_time < NOW() LIMIT 1000"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkQueryPlans() {
+        int flagged = 0;
+        for (HotQuery query : HOT_QUERIES) {
+            try {
+                for (Map<String, Object> step : jdbcTemplate.queryForList("EXPLAIN " + query.sql())) {
+                    if (!"ALL".equals(step.get("type"))) continue;
+
+                    if (step.get("possible_keys") == null) {
+                        flagged++;
+                        log.warn("Query plan check: '{}' scans all of table '{}' (no usable index). SQL: {}",
+                                query.name(), step.get("table"), query.sql());
+                    } else {
+                        log.debug("Query plan check: '{}' scans table '{}' although {} could be used (small table?)",
+                                query.name(), step.get("table"), step.get("possible_keys"));
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Query plan check: could not EXPLAIN '{}': {}", query.name(), e.getMessage());
+            }
+        }
+        if (flagged == 0) log.info("Query plan check: {} hot queries use indexes", HOT_QUERIES.size());
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.parking_system.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Schema of the session archive: 'parking_sessions_archive', range-partitioned by month of entry_time.
+ * Closed sessions are moved here by SessionArchiveJob. Rows carry their plate, vehicle type, lot name and slot number,
+ * so history reads need no joins and archived rows have no foreign keys (partitioned InnoDB tables cannot have any).
+ * The table is not a JPA entity, so it is created here at startup rather than by Hibernate's schema update.
+ * Partitions are named pYYYYMM; 'p_future' (up to MAXVALUE) catches anything newer and is split as months are added.
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionArchiveSchema {
+
+    public static final String TABLE = "parking_sessions_archive";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS " + TABLE + " (" +
+            "id BIGINT NOT NULL, " +
+            "vehicle_id BIGINT NOT NULL, " +
+            "vehicle_number VARCHAR(255) NOT NULL, " +
+            "vehicle_type VARCHAR(20) NOT NULL, " +
+            "parking_lot_id BIGINT NOT NULL, " +
+            "parking_lot_name VARCHAR(255) NOT NULL, " +
+            "parking_slot_id BIGINT NOT NULL, " +
+            "slot_number INT NOT NULL, " +
+            "entry_time DATETIME(6) NOT NULL, " +
+            "exit_time DATETIME(6) NULL, " +
+            "total_amount_paise BIGINT NULL, " +
+            "session_status VARCHAR(20) NOT NULL, " +
+            "archived_at DATETIME(6) NOT NULL, " +
+            "PRIMARY KEY (id, entry_time), " +
+            "KEY idx_archive_entry_time_id (entry_time, id), " +
+            "KEY idx_archive_lot_entry_time (parking_lot_id, entry_time)" +
+            ") PARTITION BY RANGE COLUMNS(entry_time) (PARTITION p_future VALUES LESS THAN (MAXVALUE))";
+
+    private final JdbcTemplate jdbcTemplate;
+    // Not used directly: depending on it makes this wait for Hibernate's schema update (and its create-drop in tests).
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    /**
+     * Makes sure every month from 'from' through 'through' has its own partition.
+     * Only months after the newest existing partition can be added (range partitions only grow at the top);
+     * anything older already falls into the oldest partition. DDL commits implicitly, so never call this
+     * inside a transaction.
+     */
+    public void ensureMonthlyPartitions(YearMonth from, YearMonth through) {
+        YearMonth next = newestPartition().map(month -> month.plusMonths(1)).orElse(from);
+        if (next.isAfter(through)) return;
+
+        // 1. Split p_future into the missing months plus a new (empty) p_future, in one statement.
+        StringBuilder sql = new StringBuilder("ALTER TABLE " + TABLE + " REORGANIZE PARTITION p_future INTO (");
+        for (YearMonth month = next; !month.isAfter(through); month = month.plusMonths(1)) {
+            sql.append("PARTITION ").append(month.format(PARTITION_NAME))
+                    .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+        }
+        sql.append("PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+
+        jdbcTemplate.execute(sql.toString());
+        log.info("Added archive partitions {} through {}", next, through);
+    }
+
+    private Optional<YearMonth> newestPartition() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT partition_name FROM information_schema.partitions WHERE table_schema = DATABASE() AND table_name = ? " +
+                "AND partition_name <> 'p_future' ORDER BY partition_ordinal_position DESC LIMIT 1",
+                String.class, TABLE);
+        return names.stream().findFirst().map(name -> YearMonth.parse(name, PARTITION_NAME));
+    }
+}
@@ -3,8 +3,10 @@ package com.project.parking_system.controller;
 import com.project.parking_system.dto.ParkingLotDto;
 import com.project.parking_system.dto.ParkingLotRequestDto;
 import com.project.parking_system.dto.ParkingSlotDto;
+import com.project.parking_system.dto.TariffDto;
 import com.project.parking_system.service.ParkingLotService;
 import com.project.parking_system.service.ParkingSlotService;
+import com.project.parking_system.service.TariffService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -27,6 +29,7 @@ public class ParkingLotController {
 
     private final ParkingLotService parkingLotService;
     private final ParkingSlotService parkingSlotService;
+    private final TariffService tariffService;
 
     // 1. Create a Parking Lot -> POST http://localhost:8080/api/parking-lots
     @PostMapping
@@ -38,11 +41,13 @@ public class ParkingLotController {
         return ResponseEntity.created(URI.create("/api/parking-lots/" + currentLot.getId())).body(currentLot);
     }
 
-    // 2. Retrieves All Parking Lots
+    // 2. Retrieves All Parking Lots, or only the requested ones
     // GET http://localhost:8080/api/parking-lots
+    // GET http://localhost:8080/api/parking-lots?ids=1,4,7
     @GetMapping
-    public ResponseEntity<List<ParkingLotDto>> getAllParkingLot(){
-        return ResponseEntity.ok(parkingLotService.getAllParkingLots());
+    public ResponseEntity<List<ParkingLotDto>> getAllParkingLot(@RequestParam(required = false) List<Long> ids){
+        if (ids == null) return ResponseEntity.ok(parkingLotService.getAllParkingLots());
+        return ResponseEntity.ok(parkingLotService.getParkingLotsByIds(ids));
     }
 
     // 3. Retrieves a specific Parking Lot by ID
@@ -72,4 +77,18 @@ public class ParkingLotController {
         parkingLotService.deleteParkingLot(id);
         return ResponseEntity.noContent().build();
     }
+
+    // 7. Tariff of a Parking Lot (the default tariff if none was set)
+    // GET http://localhost:8080/api/parking-lots/1/tariff
+    @GetMapping("/{id}/tariff")
+    public ResponseEntity<TariffDto> getTariff(@PathVariable Long id){
+        return ResponseEntity.ok(tariffService.getTariff(id));
+    }
+
+    // 8. Replace the Tariff of a Parking Lot, applies to every exit after this call
+    // PUT http://localhost:8080/api/parking-lots/1/tariff
+    @PutMapping("/{id}/tariff")
+    public ResponseEntity<TariffDto> updateTariff(@PathVariable Long id, @Valid @RequestBody TariffDto request){
+        return ResponseEntity.ok(tariffService.updateTariff(id, request));
+    }
 }
@@ -1,15 +1,22 @@
 package com.project.parking_system.controller;
 
+import com.project.parking_system.config.AppConstants;
+import com.project.parking_system.dto.BatchItemResultDto;
 import com.project.parking_system.dto.BillDto;
 import com.project.parking_system.dto.EntryRequestDto;
 import com.project.parking_system.dto.ExitRequestDto;
 import com.project.parking_system.dto.ParkingTicketDto;
+import com.project.parking_system.service.BatchParkingOperationService;
 import com.project.parking_system.service.ParkingOperationService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST Controller for Parking Operations (Entry and Exit).
  * Handles the core logic for vehicles entering the lot (generating tickets)
@@ -23,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 public class ParkingOperationController {
 
     private final ParkingOperationService parkingOperationService;
+    private final BatchParkingOperationService batchParkingOperationService;
 
     // 1. Entry point for Vehicle -> POST http://localhost:8080/api/parking/entry
     @PostMapping("/entry")
@@ -35,4 +43,19 @@ public class ParkingOperationController {
     public ResponseEntity<BillDto> exitVehicle(@Valid @RequestBody ExitRequestDto request) {
         return ResponseEntity.ok(parkingOperationService.exitVehicle(request));
     }
+
+    // 2. Batch entry for gate controllers -> POST http://localhost:8080/api/parking/entry/batch
+    // Body is a JSON array of entry requests. Items are validated one by one, so one bad plate only fails its own result.
+    @PostMapping("/entry/batch")
+    public ResponseEntity<List<BatchItemResultDto<ParkingTicketDto>>> enterVehicles(
+            @RequestBody @NotEmpty @Size(max = AppConstants.MAX_BATCH_SIZE) List<EntryRequestDto> requests){
+        return ResponseEntity.ok(batchParkingOperationService.enterVehicles(requests));
+    }
+
+    // 2. Batch exit for gate controllers -> POST http://localhost:8080/api/parking/exit/batch
+    @PostMapping("/exit/batch")
+    public ResponseEntity<List<BatchItemResultDto<BillDto>>> exitVehicles(
+            @RequestBody @NotEmpty @Size(max = AppConstants.MAX_BATCH_SIZE) List<ExitRequestDto> requests){
+        return ResponseEntity.ok(batchParkingOperationService.exitVehicles(requests));
+    }
 }
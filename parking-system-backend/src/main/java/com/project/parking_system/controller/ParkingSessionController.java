@@ -1,12 +1,29 @@
 package com.project.parking_system.controller;
 
+import com.project.parking_system.config.AppConstants;
+import com.project.parking_system.dto.FareQuoteDto;
 import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.dto.SessionHistoryFilter;
+import com.project.parking_system.dto.SessionPageDto;
+import com.project.parking_system.enums.ExportFormat;
+import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.service.FareQuoteService;
 import com.project.parking_system.service.ParkingSessionService;
+import com.project.parking_system.service.SessionExportService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for retrieving Parking Sessions.
@@ -20,6 +37,8 @@ import java.util.List;
 public class ParkingSessionController {
 
     private final ParkingSessionService parkingSessionService;
+    private final FareQuoteService fareQuoteService;
+    private final SessionExportService sessionExportService;
 
     // 1. To retrieve all the Active Sessions -> POST http://localhost:8080/api/sessions/active
     @GetMapping("/active")
@@ -27,10 +46,21 @@ public class ParkingSessionController {
         return ResponseEntity.ok(parkingSessionService.getAllActiveSessions(lotId));
     }
 
-    // 2. To retrieve all the Sessions irrespective of being ACTIVE/COMPLETED -> POST http://localhost:8080/api/sessions/history
+    // 2. To retrieve the Sessions irrespective of being ACTIVE/COMPLETED, one page at a time, newest first
+    // GET http://localhost:8080/api/sessions/history?lotId=1&status=COMPLETED&vehicleNumber=MH12AB1234&from=2025-01-01T00:00&to=2025-02-01T00:00&size=50
+    // Next page: the same query plus &cursor=<nextCursor of the previous response>
     @GetMapping("/history")
-    ResponseEntity<List<ParkingSessionDto>> getAllSessions(@RequestParam(required = false) Long lotId){
-        return ResponseEntity.ok(parkingSessionService.getAllSessions(lotId));
+    ResponseEntity<SessionPageDto> getSessionHistory(@RequestParam(required = false) Long lotId,
+                                                     @RequestParam(required = false) SessionStatus status,
+                                                     @RequestParam(required = false) String vehicleNumber,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "" + AppConstants.DEFAULT_HISTORY_PAGE_SIZE)
+                                                     @Min(1) @Max(AppConstants.MAX_HISTORY_PAGE_SIZE) int size){
+        SessionHistoryFilter filter = SessionHistoryFilter.builder()
+                .lotId(lotId).status(status).vehicleNumber(vehicleNumber).from(from).to(to).build();
+        return ResponseEntity.ok(parkingSessionService.getSessionHistory(filter, cursor, size));
     }
 
     // 3. To Terminate the Active Session -> POST http://localhost:8080/api/sessions/{id}/terminate
@@ -39,4 +69,50 @@ public class ParkingSessionController {
         parkingSessionService.terminateSession(id);
         return ResponseEntity.noContent().build();
     }
+
+    // 4. What an Active Session would pay if it exited now (read only) -> GET http://localhost:8080/api/sessions/{id}/quote
+    @GetMapping("/{id}/quote")
+    ResponseEntity<FareQuoteDto> quoteSession(@PathVariable Long id){
+        return ResponseEntity.ok(fareQuoteService.quoteSession(id));
+    }
+
+    // 5. The same for every Active Session of a lot -> GET http://localhost:8080/api/sessions/active/quote?lotId=1
+    @GetMapping("/active/quote")
+    ResponseEntity<List<FareQuoteDto>> quoteLot(@RequestParam Long lotId){
+        return ResponseEntity.ok(fareQuoteService.quoteLot(lotId));
+    }
+
+    // 6. Streams the whole Session history as NDJSON or CSV (nightly finance export), oldest first
+    // GET http://localhost:8080/api/sessions/export?format=CSV&lotId=1&from=2025-01-01T00:00&to=2025-02-01T00:00
+    // An interrupted export resumes with &afterId=<last sessionId received>. Gzipped if the client accepts it.
+    @GetMapping("/export")
+    ResponseEntity<StreamingResponseBody> exportSessions(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                                         @RequestParam(required = false) Long lotId,
+                                                         @RequestParam(required = false) SessionStatus status,
+                                                         @RequestParam(required = false) String vehicleNumber,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                         @RequestParam(required = false) Long afterId,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        SessionHistoryFilter filter = SessionHistoryFilter.builder()
+                .lotId(lotId).status(status).vehicleNumber(vehicleNumber).from(from).to(to).build();
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (!gzip) {
+                sessionExportService.export(filter, afterId, format, out);
+                return;
+            }
+            GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+            sessionExportService.export(filter, afterId, format, gzipOut);
+            gzipOut.finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format == ExportFormat.CSV ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sessions." + format.name().toLowerCase() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(body);
+    }
 }
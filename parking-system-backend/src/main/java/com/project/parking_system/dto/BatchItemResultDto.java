@@ -0,0 +1,24 @@
+package com.project.parking_system.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of one item of a batch entry/exit request.
+ * Items are reported in request order, so 'index' always matches the position of the item that was sent.
+ * Used in POST /api/parking/entry/batch (result = ParkingTicketDto) and /exit/batch (result = BillDto).
+ */
+
+@Data
+@Builder
+public class BatchItemResultDto<T> {
+    private int index;
+    private String vehicleNumber;
+    private boolean success;
+
+    // The ticket or bill, when the item succeeded.
+    private T result;
+
+    // Why the item was rejected, when it failed. The rest of the batch is unaffected.
+    private String error;
+}
@@ -3,6 +3,7 @@ package com.project.parking_system.dto;
 import lombok.Builder;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -19,9 +20,10 @@ public class BillDto {
     private LocalDateTime entryTime;
     private LocalDateTime exitTime;
     private Long duration;
-    private Double totalAmount;
+    // Rupees with two decimals, exact (computed in paise).
+    private BigDecimal totalAmount;
     private String parkingLotName;
-    private Double basePricePerHour;
+    private BigDecimal basePricePerHour;
     private Double occupancyMultiplier;
     private Long billableHours;
 }
@@ -9,7 +9,8 @@ import lombok.Data;
 @Data
 @Builder
 public class BillingResultDto {
-    private Double totalAmount;
+    // Paise, primitive: no boxing per bill.
+    private long totalAmountPaise;
     private Double appliedMultiplier;
     private Long billableHours;
 }
@@ -1,9 +1,9 @@
 package com.project.parking_system.dto;
 
 import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.validation.VehicleNumber;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import lombok.Builder;
 import lombok.Data;
 
@@ -19,13 +19,10 @@ import lombok.Data;
 public class EntryRequestDto {
 
     // The license plate number of the vehicle.
-    // Added Strict Regex Pattern, It rejects special characters, spaces, or invalid structures and maintain Normal Vehicle Number Pattern
-    // For both type of Number Plats, old and new BH Plates.
+    // Strict format check, It rejects special characters, spaces, or invalid structures and maintain Normal Vehicle Number Pattern
+    // For both type of Number Plats, old and new BH Plates. Same rule as the old regex, checked without one.
     @NotBlank(message = "Vehicle Number cannot be empty.")
-    @Pattern(
-            regexp = "^([A-Z]{2}[0-9]{2}[A-Z]{0,3}[0-9]{4}|[0-9]{2}BH[0-9]{4}[A-Z]{1,2})$",
-            message = "Invalid format. Use standard (MH12AB1234) or BH (22BH1234AA) format without spaces."
-    )
+    @VehicleNumber
     private String vehicleNumber;
 
      //The type of vehicle (CAR or BIKE).
@@ -0,0 +1,30 @@
+package com.project.parking_system.dto;
+
+import com.project.parking_system.enums.VehicleType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Estimate of what an Active Session would pay if it exited now.
+ * Read only: the session stays open. The final bill can differ, as occupancy (and so the multiplier)
+ * is taken at exit time.
+ * Used in GET /api/sessions/{id}/quote and GET /api/sessions/active/quote
+ */
+
+@Data
+@Builder
+public class FareQuoteDto {
+    private Long sessionId;
+    private String vehicleNumber;
+    private VehicleType vehicleType;
+    private Long parkingLotId;
+    private LocalDateTime entryTime;
+    private LocalDateTime quotedAt;
+    private Long duration;
+    private Long billableHours;
+    private Double occupancyMultiplier;
+    private BigDecimal amount;
+}
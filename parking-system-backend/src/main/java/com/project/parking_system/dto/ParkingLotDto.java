@@ -3,6 +3,7 @@ package com.project.parking_system.dto;
 import lombok.Builder;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -21,7 +22,7 @@ public class ParkingLotDto {
     private String location;
     private Integer totalSlots;
     private Integer availableSlots;
-    private Double basePricePerHour;
+    private BigDecimal basePricePerHour;
     private LocalDateTime createdAt;
 
 }
@@ -1,5 +1,6 @@
 package com.project.parking_system.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -7,6 +8,8 @@ import jakarta.validation.constraints.Positive;
 import lombok.Builder;
 import lombok.Data;
 
+import java.math.BigDecimal;
+
 /**
  * Request payload for creating a new Parking Lot.
  * Validates inputs to ensure logical data integrity (e.g., cannot have negative slots).
@@ -30,7 +33,9 @@ public class ParkingLotRequestDto {
     private Integer totalSlots;
 
 
+    // Rupees, at most 2 decimals (stored in paise).
     @Positive(message = "Price should be positive")
+    @Digits(integer = 9, fraction = 2, message = "Price can have at most 2 decimal places")
     @NotNull(message = "Base Price cannot be empty.")
-    private Double basePricePerHour;
+    private BigDecimal basePricePerHour;
 }
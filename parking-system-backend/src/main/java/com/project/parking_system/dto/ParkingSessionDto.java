@@ -5,6 +5,7 @@ import com.project.parking_system.enums.VehicleType;
 import lombok.Builder;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -23,6 +24,6 @@ public class ParkingSessionDto {
     private Integer slotNumber;
     private LocalDateTime entryTime;
     private LocalDateTime exitTime;
-    private Double totalAmount;
+    private BigDecimal totalAmount;
     private SessionStatus status;
 }
@@ -0,0 +1,24 @@
+package com.project.parking_system.dto;
+
+import com.project.parking_system.enums.SessionStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters of the session history. Null fields do not filter.
+ * Used in GET /api/sessions/history
+ */
+
+@Data
+@Builder
+public class SessionHistoryFilter {
+    private Long lotId;
+    private SessionStatus status;
+    // Normalized plate, exact match.
+    private String vehicleNumber;
+    // Entry time range: from inclusive, to exclusive.
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
@@ -0,0 +1,18 @@
+package com.project.parking_system.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the session history, newest entry first.
+ * Pass nextCursor back as 'cursor' to get the following page; it is null on the last page.
+ */
+
+@Data
+@Builder
+public class SessionPageDto {
+    private List<ParkingSessionDto> items;
+    private String nextCursor;
+}
@@ -0,0 +1,40 @@
+package com.project.parking_system.dto;
+
+import com.project.parking_system.enums.VehicleType;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * One time-of-day band of a tariff: hours [startHour, endHour) at ratePerHour.
+ * Without a vehicleType the band applies to every type.
+ */
+
+@Data
+@Builder
+public class TariffBandDto {
+
+    private VehicleType vehicleType;
+
+    @Min(value = 0, message = "Start hour must be between 0 and 23")
+    @Max(value = 23, message = "Start hour must be between 0 and 23")
+    @NotNull(message = "Start hour cannot be empty.")
+    private Integer startHour;
+
+    @Min(value = 1, message = "End hour must be between 1 and 24")
+    @Max(value = 24, message = "End hour must be between 1 and 24")
+    @NotNull(message = "End hour cannot be empty.")
+    private Integer endHour;
+
+    // Rupees per hour.
+    @PositiveOrZero(message = "Rate cannot be negative")
+    @Digits(integer = 9, fraction = 2, message = "Rate can have at most 2 decimal places")
+    @NotNull(message = "Rate cannot be empty.")
+    private BigDecimal ratePerHour;
+}
@@ -0,0 +1,41 @@
+package com.project.parking_system.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A Parking Lot's tariff, as read and written by operators.
+ * Used in GET/PUT /api/parking-lots/{id}/tariff
+ */
+
+@Data
+@Builder
+public class TariffDto {
+
+    // Stays up to this many minutes are free.
+    @Min(value = 0, message = "Free minutes cannot be negative")
+    @NotNull(message = "Free minutes cannot be empty.")
+    private Integer freeMinutes;
+
+    // Most a vehicle pays for any 24 hours, in rupees. Leave empty for no cap.
+    @Positive(message = "Daily cap should be positive")
+    @Digits(integer = 9, fraction = 2, message = "Daily cap can have at most 2 decimal places")
+    private BigDecimal dailyCap;
+
+    // Time-of-day rates. Hours without a band use the lot's base price per hour.
+    @Valid
+    @NotNull(message = "Bands cannot be empty, send [] for none.")
+    private List<TariffBandDto> bands;
+
+    // Read only: when the tariff was last changed (null while the lot uses the default tariff).
+    private LocalDateTime updatedAt;
+}
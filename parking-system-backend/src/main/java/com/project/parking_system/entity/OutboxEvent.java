@@ -0,0 +1,47 @@
+package com.project.parking_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event waiting to be published to Kafka (transactional outbox).
+ * Rows are written in the same transaction as the state change they describe, so an event exists
+ * if and only if that change committed. OutboxRelay publishes them in id order and deletes them.
+ */
+
+@Entity
+@Table(name = "event_outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString(exclude = "payload")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Kafka record key (the lot id). All events of one lot land on one partition, in id order.
+    @Column(nullable = false, name = "aggregate_key", length = 64)
+    private String aggregateKey;
+
+    // e.g. ENTRY, SESSION_END, LOT_UPDATED
+    @Column(nullable = false, name = "event_type", length = 64)
+    private String eventType;
+
+    // Encoding of the payload, sent as the 'content-type' header (see EventEncoding). Null on rows written before it existed: JSON.
+    @Column(name = "content_type", length = 64)
+    private String contentType;
+
+    // The serialized record value, exactly as it is sent.
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+}
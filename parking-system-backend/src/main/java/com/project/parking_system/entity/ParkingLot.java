@@ -2,6 +2,7 @@ package com.project.parking_system.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -34,8 +35,17 @@ public class ParkingLot {
     @Column(nullable = false, name = "total_slots")
     private Integer totalSlots;
 
-    @Column(nullable = false, name = "base_price_per_hour")
-    private Double basePricePerHour;
+    // In paise (1/100 rupee). Replaces the old DOUBLE 'base_price_per_hour' column, see MoneyColumnMigration.
+    @Column(nullable = false, name = "base_price_per_hour_paise")
+    private Long basePricePerHourPaise;
+
+    // Denormalized count of OCCUPIED slots, so occupancy reads don't COUNT over parking_slots.
+    // Only changed through the atomic adjustOccupiedSlots() update; updatable = false keeps a stale
+    // entity copy (e.g. in updateParkingLot) from overwriting concurrent increments.
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, name = "occupied_slots", updatable = false)
+    private Integer occupiedSlots = 0;
 
     @Column(nullable = false, name = "created_at")
     private LocalDateTime createdAt;
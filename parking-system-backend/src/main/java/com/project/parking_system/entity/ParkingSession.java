@@ -16,15 +16,34 @@ import java.time.LocalDateTime;
  */
 
 @Entity
+// Everything the exit workflow touches: the vehicle, the slot and the slot's lot, fetched in one joined query.
+@NamedEntityGraph(
+        name = ParkingSession.EXIT_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("vehicle"),
+                @NamedAttributeNode(value = "parkingSlot", subgraph = "slot")
+        },
+        subgraphs = @NamedSubgraph(name = "slot", attributeNodes = @NamedAttributeNode("parkingLot"))
+)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @ToString(exclude = {"vehicle", "parkingSlot"})
-@Table(name = "parking_sessions")
+// (vehicle_id, session_status) serves "is this vehicle parked?" and the exit lookup by plate.
+// (parking_slot_id, session_status) serves the per-lot session queries, reached through the lot's slots.
+// (entry_time, id) serves the keyset-paginated history, newest first.
+// (session_status, exit_time) serves the status-only queries and lets SessionArchiveJob find closed sessions past retention.
+@Table(name = "parking_sessions", indexes = {
+        @Index(name = "idx_sessions_vehicle_status", columnList = "vehicle_id, session_status"),
+        @Index(name = "idx_sessions_slot_status", columnList = "parking_slot_id, session_status"),
+        @Index(name = "idx_sessions_entry_time_id", columnList = "entry_time, id"),
+        @Index(name = "idx_sessions_status_exit_time", columnList = "session_status, exit_time")})
 @Builder
 public class ParkingSession {
 
+    public static final String EXIT_GRAPH = "ParkingSession.exit";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -53,8 +72,9 @@ public class ParkingSession {
     @Column(name = "exit_time")
     private LocalDateTime exitTime;
 
-    @Column(name = "total_amount")
-    private Double totalAmount;
+    // In paise (1/100 rupee). Replaces the old DOUBLE 'total_amount' column, see MoneyColumnMigration.
+    @Column(name = "total_amount_paise")
+    private Long totalAmountPaise;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
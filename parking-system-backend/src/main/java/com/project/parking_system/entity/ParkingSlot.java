@@ -17,7 +17,11 @@ import lombok.*;
 @Setter
 @Builder
 @ToString(exclude = {"parkingLot"})
-@Table(name = "parking_slots")
+// (parking_lot_id, slot_status, slot_number) serves slot allocation (lowest available slot of a lot) and availability counts.
+// (parking_lot_id, slot_number) serves the per-lot slot listings and bitmap rebuilds, already in slot order.
+@Table(name = "parking_slots", indexes = {
+        @Index(name = "idx_slots_lot_status_number", columnList = "parking_lot_id, slot_status, slot_number"),
+        @Index(name = "idx_slots_lot_number", columnList = "parking_lot_id, slot_number")})
 public class ParkingSlot {
 
     @Id
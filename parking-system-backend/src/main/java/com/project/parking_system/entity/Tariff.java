@@ -0,0 +1,52 @@
+package com.project.parking_system.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity representing a Parking Lot's tariff.
+ * Maps to the 'tariffs' table (one row per lot, keyed by the lot id) and its 'tariff_bands'.
+ * Hours not covered by a band are charged at the lot's base price per hour.
+ * Bills are not computed from this entity directly but from its compiled form (see TariffRegistry).
+ */
+
+@Entity
+@Table(name = "tariffs")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class Tariff {
+
+    @Id
+    @Column(name = "lot_id")
+    private Long lotId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lot_id")
+    private ParkingLot parkingLot;
+
+    // Stays up to this long are free.
+    @Column(nullable = false, name = "free_minutes")
+    private Integer freeMinutes;
+
+    // Most a vehicle pays for any 24 hours of parking, in paise. Null means no cap.
+    @Column(name = "daily_cap_paise")
+    private Long dailyCapPaise;
+
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "tariff_bands", joinColumns = @JoinColumn(name = "lot_id"))
+    @OrderBy("startHour")
+    private List<TariffBand> bands = new ArrayList<>();
+
+    // Set by TariffServiceImpl on every edit (a change to the bands alone would not trigger @PreUpdate).
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.project.parking_system.entity;
+
+import com.project.parking_system.enums.VehicleType;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One time-of-day band of a Tariff: hours [startHour, endHour) are charged at ratePerHourPaise.
+ * A band without a vehicle type applies to every type; a band for a specific type overrides it.
+ */
+
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class TariffBand {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "vehicle_type")
+    private VehicleType vehicleType;
+
+    @Column(nullable = false, name = "start_hour")
+    private Integer startHour;
+
+    @Column(nullable = false, name = "end_hour")
+    private Integer endHour;
+
+    // In paise.
+    @Column(nullable = false, name = "rate_per_hour_paise")
+    private Long ratePerHourPaise;
+}
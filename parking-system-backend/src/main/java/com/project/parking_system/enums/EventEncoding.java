@@ -0,0 +1,18 @@
+package com.project.parking_system.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * How parking events are written to the outbox, and so sent to Kafka ('parking.events.encoding').
+ * The content type travels in the record's 'content-type' header, so consumers can read both during a rollout.
+ */
+
+@Getter
+@RequiredArgsConstructor
+public enum EventEncoding {
+    JSON("application/json"),
+    BINARY("application/vnd.parking-event");
+
+    private final String contentType;
+}
@@ -0,0 +1,11 @@
+package com.project.parking_system.enums;
+
+/**
+ * Output formats of the session history export.
+ * NDJSON: one ParkingSessionDto JSON object per line. CSV: a header row, then one row per session.
+ */
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
@@ -9,9 +9,12 @@ import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -106,6 +109,40 @@ public class GlobalExceptionHandler {
 
     }
 
+    // 3b. Handles Bad Request (400) for constraints on plain parameters and request bodies that are lists
+    // (e.g., batch size, history page size).
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    ResponseEntity<ApiErrorResponseDto> handleMethodValidationException(HandlerMethodValidationException e, HttpServletRequest request){
+
+        List<String> errors = new ArrayList<>();
+        e.getParameterValidationResults().forEach(result ->
+                result.getResolvableErrors().forEach(error -> errors.add(error.getDefaultMessage())));
+
+        ApiErrorResponseDto error = ApiErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message(errors.toString())
+                .path(request.getRequestURI())
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    // 3c. Handles Bad Request (400) for request values the service cannot read (e.g., a malformed paging cursor).
+    @ExceptionHandler(InvalidRequestException.class)
+    ResponseEntity<ApiErrorResponseDto> handleInvalidRequestException(InvalidRequestException e, HttpServletRequest request){
+        ApiErrorResponseDto error = ApiErrorResponseDto.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message(e.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     // 4. Handles 500 - General/Unexpected Errors.
     // Fallback for any unhandled runtime exceptions.
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,13 @@
+package com.project.parking_system.exception;
+
+/**
+ * Custom Exception for request values that cannot be read
+ * (e.g., a tampered or truncated paging cursor).
+ * Maps to HTTP 400 (Bad Request).
+ */
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
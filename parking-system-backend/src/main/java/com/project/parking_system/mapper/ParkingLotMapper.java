@@ -4,6 +4,8 @@ package com.project.parking_system.mapper;
 import com.project.parking_system.dto.ParkingLotDto;
 import com.project.parking_system.dto.ParkingLotRequestDto;
 import com.project.parking_system.entity.ParkingLot;
+import com.project.parking_system.repository.projection.LotAvailabilityView;
+import com.project.parking_system.utils.Money;
 import org.springframework.stereotype.Component;
 
 /**
@@ -25,10 +27,25 @@ public class ParkingLotMapper {
                 .name(parkingLot.getName())
                 .location(parkingLot.getLocation())
                 .totalSlots(parkingLot.getTotalSlots())
-                .basePricePerHour(parkingLot.getBasePricePerHour())
+                .availableSlots(parkingLot.getTotalSlots() - parkingLot.getOccupiedSlots())
+                .basePricePerHour(Money.toRupees(parkingLot.getBasePricePerHourPaise()))
                 .createdAt(parkingLot.getCreatedAt()).build();
     }
 
+    /**
+     * Converts a lot listing projection (lot + live availability) into a ParkingLotDTO.
+     */
+    public static ParkingLotDto toDto(LotAvailabilityView view){
+        return ParkingLotDto.builder()
+                .id(view.getId())
+                .name(view.getName())
+                .location(view.getLocation())
+                .totalSlots(view.getTotalSlots())
+                .availableSlots(view.getAvailableSlots())
+                .basePricePerHour(Money.toRupees(view.getBasePricePerHourPaise()))
+                .createdAt(view.getCreatedAt()).build();
+    }
+
     /**
      * Converts a ParkingLotRequest (from the user) into a ParkingLot entity (to be saved in the database).
      */
@@ -37,6 +54,6 @@ public class ParkingLotMapper {
                 .name(parkingLotRequestDTO.getName())
                 .location(parkingLotRequestDTO.getLocation())
                 .totalSlots(parkingLotRequestDTO.getTotalSlots())
-                .basePricePerHour(parkingLotRequestDTO.getBasePricePerHour()).build();
+                .basePricePerHourPaise(Money.toPaise(parkingLotRequestDTO.getBasePricePerHour())).build();
     }
 }
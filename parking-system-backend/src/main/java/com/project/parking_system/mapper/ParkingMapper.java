@@ -4,6 +4,7 @@ import com.project.parking_system.dto.BillDto;
 import com.project.parking_system.dto.BillingResultDto;
 import com.project.parking_system.dto.ParkingTicketDto;
 import com.project.parking_system.entity.ParkingSession;
+import com.project.parking_system.utils.Money;
 import org.springframework.stereotype.Component;
 
 /**
@@ -41,10 +42,10 @@ public class ParkingMapper {
                 .entryTime(session.getEntryTime())
                 .exitTime(session.getExitTime())
                 .duration(durationMinutes)
-                .totalAmount(billingResultDTO.getTotalAmount())
+                .totalAmount(Money.toRupees(billingResultDTO.getTotalAmountPaise()))
                 .parkingLotName(session.getParkingSlot().getParkingLot().getName())
                 // Breakdown details
-                .basePricePerHour(session.getParkingSlot().getParkingLot().getBasePricePerHour())
+                .basePricePerHour(Money.toRupees(session.getParkingSlot().getParkingLot().getBasePricePerHourPaise()))
                 .billableHours(billingResultDTO.getBillableHours())
                 .occupancyMultiplier(billingResultDTO.getAppliedMultiplier())
                 .build();
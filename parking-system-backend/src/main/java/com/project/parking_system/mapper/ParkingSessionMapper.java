@@ -2,6 +2,8 @@ package com.project.parking_system.mapper;
 
 import com.project.parking_system.dto.ParkingSessionDto;
 import com.project.parking_system.entity.ParkingSession;
+import com.project.parking_system.repository.projection.SessionRowView;
+import com.project.parking_system.utils.Money;
 import org.springframework.stereotype.Component;
 
 /**
@@ -24,8 +26,23 @@ public class ParkingSessionMapper {
                 .slotNumber(session.getParkingSlot().getSlotNumber())
                 .entryTime(session.getEntryTime())
                 .exitTime(session.getExitTime())
-                .totalAmount(session.getTotalAmount())
+                .totalAmount(Money.toRupees(session.getTotalAmountPaise()))
                 .status(session.getSessionStatus())
                 .build();
     }
+
+    // Same DTO from a listing row, which already carries the plate, lot and slot.
+    public ParkingSessionDto convertToSessionDTO(SessionRowView row) {
+        return ParkingSessionDto.builder()
+                .sessionId(row.getSessionId())
+                .vehicleNumber(row.getVehicleNumber())
+                .vehicleType(row.getVehicleType())
+                .parkingLotName(row.getParkingLotName())
+                .slotNumber(row.getSlotNumber())
+                .entryTime(row.getEntryTime())
+                .exitTime(row.getExitTime())
+                .totalAmount(Money.toRupees(row.getTotalAmountPaise()))
+                .status(row.getStatus())
+                .build();
+    }
 }
@@ -0,0 +1,54 @@
+package com.project.parking_system.mapper;
+
+import com.project.parking_system.config.AppConstants;
+import com.project.parking_system.dto.TariffBandDto;
+import com.project.parking_system.dto.TariffDto;
+import com.project.parking_system.entity.Tariff;
+import com.project.parking_system.entity.TariffBand;
+import com.project.parking_system.utils.Money;
+
+import java.util.List;
+
+/**
+ * Converts between the Tariff entity and its API form.
+ */
+
+public class TariffMapper {
+
+    private TariffMapper() {}
+
+    public static TariffDto toDto(Tariff tariff){
+        return TariffDto.builder()
+                .freeMinutes(tariff.getFreeMinutes())
+                .dailyCap(Money.toRupees(tariff.getDailyCapPaise()))
+                .bands(tariff.getBands().stream().map(TariffMapper::toDto).toList())
+                .updatedAt(tariff.getUpdatedAt())
+                .build();
+    }
+
+    // What a lot without its own tariff is billed with.
+    public static TariffDto defaultTariff(){
+        return TariffDto.builder()
+                .freeMinutes(AppConstants.FREE_PARKING_MINUTES)
+                .bands(List.of())
+                .build();
+    }
+
+    public static TariffBand toEntity(TariffBandDto band){
+        return TariffBand.builder()
+                .vehicleType(band.getVehicleType())
+                .startHour(band.getStartHour())
+                .endHour(band.getEndHour())
+                .ratePerHourPaise(Money.toPaise(band.getRatePerHour()))
+                .build();
+    }
+
+    private static TariffBandDto toDto(TariffBand band){
+        return TariffBandDto.builder()
+                .vehicleType(band.getVehicleType())
+                .startHour(band.getStartHour())
+                .endHour(band.getEndHour())
+                .ratePerHour(Money.toRupees(band.getRatePerHourPaise()))
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.parking_system.repository;
+
+import com.project.parking_system.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the transactional outbox (event_outbox).
+ */
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventRepositoryCustom {
+
+    /**
+     * What it does: Locks and returns the oldest unpublished events.
+     * SQL: SELECT * FROM event_outbox ORDER BY id LIMIT ? FOR UPDATE
+     * Concurrency Note: A plain FOR UPDATE (not SKIP LOCKED) on purpose. A second instance's relay waits for the
+     * first to finish its batch instead of publishing younger events of the same lot ahead of older ones.
+     * Run it at READ COMMITTED (OutboxRelay does): under REPEATABLE READ a batch that reaches the end of the table
+     * next-key locks the supremum, and every INSERT into event_outbox waits until the relay commits.
+     */
+    @Query(value = "SELECT * FROM event_outbox ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<OutboxEvent> lockOldestBatch(@Param("limit") int limit);
+}
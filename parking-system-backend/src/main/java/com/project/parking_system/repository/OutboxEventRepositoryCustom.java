@@ -0,0 +1,15 @@
+package com.project.parking_system.repository;
+
+import com.project.parking_system.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Hand-written additions to {@link OutboxEventRepository} for statements Spring Data cannot derive.
+ */
+
+public interface OutboxEventRepositoryCustom {
+
+    // Writes the events with a single JDBC batch on the current transaction's connection.
+    void insertAllInBatch(List<OutboxEvent> events);
+}
@@ -0,0 +1,33 @@
+package com.project.parking_system.repository;
+
+import com.project.parking_system.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link OutboxEventRepositoryCustom}.
+ */
+
+@RequiredArgsConstructor
+public class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCustom {
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO event_outbox (aggregate_key, event_type, content_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAllInBatch(List<OutboxEvent> events) {
+        if (events.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (statement, event) -> {
+            statement.setString(1, event.getAggregateKey());
+            statement.setString(2, event.getEventType());
+            statement.setString(3, event.getContentType());
+            statement.setBytes(4, event.getPayload());
+            statement.setObject(5, event.getCreatedAt());
+        });
+    }
+}
@@ -1,9 +1,20 @@
 package com.project.parking_system.repository;
 
 import com.project.parking_system.entity.ParkingLot;
+import com.project.parking_system.repository.projection.LotAvailabilityView;
+import com.project.parking_system.repository.projection.OccupancyDriftView;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository for managing ParkingLot entities.
  * Provides standard CRUD operations (Create, Read, Update, Delete) via Spring Data JPA.
@@ -12,4 +23,67 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ParkingLotRepository extends JpaRepository<ParkingLot, Long> {
 
+    // SQL: SELECT id FROM parking_lots
+    @Query("SELECT l.id FROM ParkingLot l")
+    List<Long> findAllIds();
+
+    /**
+     * What it does: Lists every lot with its available slot count in one query.
+     * SQL: SELECT id, name, ..., total_slots - occupied_slots AS available_slots FROM parking_lots ORDER BY id
+     */
+    @Query("SELECT l.id AS id, l.name AS name, l.location AS location, l.totalSlots AS totalSlots, " +
+            "(l.totalSlots - l.occupiedSlots) AS availableSlots, l.basePricePerHourPaise AS basePricePerHourPaise, " +
+            "l.createdAt AS createdAt FROM ParkingLot l ORDER BY l.id")
+    List<LotAvailabilityView> findAllWithAvailability();
+
+    // Same as findAllWithAvailability(), limited to the given lot ids (partial dashboard refresh).
+    @Query("SELECT l.id AS id, l.name AS name, l.location AS location, l.totalSlots AS totalSlots, " +
+            "(l.totalSlots - l.occupiedSlots) AS availableSlots, l.basePricePerHourPaise AS basePricePerHourPaise, " +
+            "l.createdAt AS createdAt FROM ParkingLot l WHERE l.id IN :ids ORDER BY l.id")
+    List<LotAvailabilityView> findAllWithAvailabilityByIdIn(@Param("ids") Collection<Long> ids);
+
+    // SQL: SELECT * FROM parking_lots WHERE id = ? FOR UPDATE
+    // Concurrency Note: Entries and exits update the lot's occupancy counter, so holding this lock keeps them out
+    // until the caller commits (used by the last step of lot deletion).
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ParkingLot l WHERE l.id = :parkingLotId")
+    Optional<ParkingLot> findByIdForUpdate(@Param("parkingLotId") Long parkingLotId);
+
+    // SQL: SELECT occupied_slots FROM parking_lots WHERE id = ?
+    @Query("SELECT l.occupiedSlots FROM ParkingLot l WHERE l.id = :parkingLotId")
+    Optional<Integer> findOccupiedSlotsById(@Param("parkingLotId") Long parkingLotId);
+
+    /**
+     * What it does: Atomically adds delta (+1 on entry, -1 on exit) to the lot's occupied_slots counter.
+     * SQL: UPDATE parking_lots SET occupied_slots = occupied_slots + ? WHERE id = ?
+     * Concurrency Note: The increment happens inside MySQL, so concurrent entries/exits never lose updates.
+     * Runs in the caller's transaction and is undone with it.
+     * The delta is applied as is, never clamped: a counter that goes wrong (even below zero) stays visible as drift,
+     * which OccupancyRepairJob counts and repairs.
+     */
+    @Modifying
+    @Query(value = "UPDATE parking_lots SET occupied_slots = occupied_slots + :delta WHERE id = :parkingLotId",
+            nativeQuery = true)
+    int adjustOccupiedSlots(@Param("parkingLotId") Long parkingLotId, @Param("delta") int delta);
+
+    // Finds lots whose counter no longer matches their OCCUPIED slot rows, with the counted value.
+    // Plain consistent read: no lot or slot row is locked.
+    @Query(value = "SELECT d.id, d.occupiedSlots, d.countedSlots FROM (SELECT l.id AS id, l.occupied_slots AS occupiedSlots, " +
+            "(SELECT COUNT(*) FROM parking_slots s WHERE s.parking_lot_id = l.id AND s.slot_status = 'OCCUPIED') AS countedSlots " +
+            "FROM parking_lots l) d WHERE d.occupiedSlots <> d.countedSlots",
+            nativeQuery = true)
+    List<OccupancyDriftView> findDriftedOccupancy();
+
+    /**
+     * What it does: Sets a lot's counter to the value counted from its slot rows, if the counter still holds the drifted value.
+     * SQL: UPDATE parking_lots SET occupied_slots = ? WHERE id = ? AND occupied_slots = ?
+     * Concurrency Note: Only the lot row is locked, never a slot row, so it cannot deadlock with entry (slot first, then lot).
+     * An entry or exit that commits in between changes the counter, the update matches nothing and the next run re-checks.
+     */
+    @Modifying
+    @Query(value = "UPDATE parking_lots SET occupied_slots = :countedSlots " +
+            "WHERE id = :parkingLotId AND occupied_slots = :driftedSlots", nativeQuery = true)
+    int repairOccupiedSlots(@Param("parkingLotId") Long parkingLotId,
+                            @Param("driftedSlots") int driftedSlots,
+                            @Param("countedSlots") int countedSlots);
 }
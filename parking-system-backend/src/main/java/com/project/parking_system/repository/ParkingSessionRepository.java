@@ -2,9 +2,15 @@ package com.project.parking_system.repository;
 
 import com.project.parking_system.entity.ParkingSession;
 import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.repository.projection.ActiveSessionView;
+import com.project.parking_system.repository.projection.SessionRowView;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +20,13 @@ import java.util.Optional;
  */
 
 @Repository
-public interface ParkingSessionRepository extends JpaRepository<ParkingSession, Long> {
+public interface ParkingSessionRepository extends JpaRepository<ParkingSession, Long>, ParkingSessionRepositoryCustom {
+
+    // Shared SELECT of the listing queries below: one row per session with its plate, lot and slot, no entities.
+    String SELECT_SESSION_ROWS = "SELECT s.id AS sessionId, v.vehicleNumber AS vehicleNumber, v.vehicleType AS vehicleType, " +
+            "l.name AS parkingLotName, sl.slotNumber AS slotNumber, s.entryTime AS entryTime, s.exitTime AS exitTime, " +
+            "s.totalAmountPaise AS totalAmountPaise, s.sessionStatus AS status " +
+            "FROM ParkingSession s JOIN s.vehicle v JOIN s.parkingSlot sl JOIN sl.parkingLot l ";
 
      //What it does: Finds a specific active session for a specific vehicle.
      //SQL: SELECT * FROM parking_sessions WHERE vehicle_id = ? AND status = ?
@@ -28,8 +40,39 @@ public interface ParkingSessionRepository extends JpaRepository<ParkingSession,
     // Get History (All statuses) for a specific Lot
     List<ParkingSession> findByParkingSlotParkingLotId(Long parkingLotId);
 
+    // What it does: Tells whether a Parking Lot has any session in the given status, without loading them.
+    // SQL: SELECT 1 FROM parking_sessions s JOIN parking_slots sl ... WHERE sl.parking_lot_id = ? AND s.session_status = ? LIMIT 1
+    boolean existsByParkingSlotParkingLotIdAndSessionStatus(Long parkingLotId, SessionStatus status);
+
     // What it does: Finds only ACTIVE sessions for a specific Parking Lot.
     // Get Active Only for a specific Lot
     List<ParkingSession> findByParkingSlotParkingLotIdAndSessionStatus(Long parkingLotId, SessionStatus status);
 
+    // What it does: Exit lookup. Finds the session of a plate in the given status together with its vehicle, slot and lot.
+    // SQL: SELECT s.*, v.*, sl.*, l.* FROM parking_sessions s JOIN vehicles v ... JOIN parking_slots sl ... JOIN parking_lots l ...
+    //      WHERE v.vehicle_number = ? AND s.session_status = ?   (one statement, no lazy loads afterwards)
+    @EntityGraph(ParkingSession.EXIT_GRAPH)
+    Optional<ParkingSession> findByVehicleVehicleNumberAndSessionStatus(String vehicleNumber, SessionStatus status);
+
+    // What it does: Batch form of the exit lookup, for a set of plates.
+    @EntityGraph(ParkingSession.EXIT_GRAPH)
+    List<ParkingSession> findByVehicleVehicleNumberInAndSessionStatus(Collection<String> vehicleNumbers, SessionStatus status);
+
+    // What it does: Loads the key fields of every session in the given status (used to build the ActiveSessionIndex).
+    // SQL: SELECT s.id, s.vehicle_id, s.parking_slot_id, sl.parking_lot_id, s.entry_time, v.vehicle_number, v.vehicle_type
+    //      FROM parking_sessions s JOIN parking_slots sl ... JOIN vehicles v ... WHERE s.session_status = ?
+    @Query("SELECT s.id AS sessionId, v.id AS vehicleId, sl.id AS slotId, sl.parkingLot.id AS lotId, " +
+            "s.entryTime AS entryTime, v.vehicleNumber AS vehicleNumber, v.vehicleType AS vehicleType " +
+            "FROM ParkingSession s JOIN s.parkingSlot sl JOIN s.vehicle v WHERE s.sessionStatus = :status")
+    List<ActiveSessionView> findSessionKeysByStatus(@Param("status") SessionStatus status);
+
+    // What it does: Listing rows (ParkingSessionDto fields) of every session in the given status, in one joined query.
+    // SQL: SELECT s.id, v.vehicle_number, v.vehicle_type, l.name, sl.slot_number, s.entry_time, s.exit_time, s.total_amount_paise, s.session_status
+    //      FROM parking_sessions s JOIN vehicles v ... JOIN parking_slots sl ... JOIN parking_lots l ... WHERE s.session_status = ?
+    @Query(SELECT_SESSION_ROWS + "WHERE s.sessionStatus = :status")
+    List<SessionRowView> findSessionRowsByStatus(@Param("status") SessionStatus status);
+
+    // What it does: The same for one Parking Lot.
+    @Query(SELECT_SESSION_ROWS + "WHERE sl.parkingLot.id = :lotId AND s.sessionStatus = :status")
+    List<SessionRowView> findSessionRowsByLotIdAndStatus(@Param("lotId") Long lotId, @Param("status") SessionStatus status);
 }
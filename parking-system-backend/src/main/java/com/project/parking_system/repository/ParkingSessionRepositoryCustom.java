@@ -0,0 +1,62 @@
+package com.project.parking_system.repository;
+
+import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.dto.SessionHistoryFilter;
+import com.project.parking_system.entity.ParkingSession;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Hand-written additions to {@link ParkingSessionRepository} for statements Spring Data cannot derive.
+ */
+
+public interface ParkingSessionRepositoryCustom {
+
+    /**
+     * Inserts new sessions with a single JDBC batch.
+     * IDENTITY ids switch off Hibernate's insert batching, so batch entries write their sessions here instead of save().
+     * The generated ids are set on the given (transient) sessions, in order.
+     */
+    void insertAllInBatch(List<ParkingSession> sessions);
+
+    /**
+     * One page of the session history (live and archived sessions), ordered by (entry_time, id) descending, read straight into DTOs.
+     * Keyset pagination: the page starts right after (afterEntryTime, afterId), or at the newest session if those are null,
+     * so every page costs the same whatever its depth.
+     */
+    List<ParkingSessionDto> findHistoryPage(SessionHistoryFilter filter, LocalDateTime afterEntryTime, Long afterId, int limit);
+
+    /**
+     * Streams the whole (filtered) session history, live and archived, in id order to the sink, one row at a time, without holding
+     * the result in memory. Starts after afterId if given, so an interrupted export can resume where it stopped.
+     * Keeps its connection for the whole read; must not run inside a transaction that uses the same connection.
+     */
+    void streamHistory(SessionHistoryFilter filter, Long afterId, int fetchSize, Consumer<ParkingSessionDto> sink);
+
+    /**
+     * Archiving: ids of up to 'limit' COMPLETED/TERMINATED sessions that ended before closedBefore, locked for the
+     * rest of the transaction.
+     */
+    List<Long> lockClosedSessionIds(LocalDateTime closedBefore, int limit);
+
+    // Entry time of the oldest session lockClosedSessionIds() could return, if any (tells which archive partitions are needed).
+    Optional<LocalDateTime> findOldestClosedEntryTime(LocalDateTime closedBefore);
+
+    /**
+     * Copies the given sessions into the archive, with plate, type, lot and slot, and deletes them from parking_sessions.
+     * Must run in a transaction, so a session is never in both tables or in neither. Returns the number moved.
+     */
+    int moveToArchive(List<Long> sessionIds, LocalDateTime archivedAt);
+
+    /**
+     * Lot deletion: removes up to 'limit' COMPLETED/TERMINATED sessions of the lot with one statement, without loading them.
+     * Returns the number removed; call again until it is less than the limit.
+     */
+    int deleteClosedByLotId(Long lotId, int limit);
+
+    // The same for the lot's archived sessions.
+    int deleteArchivedByLotId(Long lotId, int limit);
+}
@@ -0,0 +1,250 @@
+package com.project.parking_system.repository;
+
+import com.project.parking_system.config.SessionArchiveSchema;
+import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.dto.SessionHistoryFilter;
+import com.project.parking_system.entity.ParkingSession;
+import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.utils.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of {@link ParkingSessionRepositoryCustom}.
+ * Runs on the connection of the surrounding JPA transaction, so the inserts commit or roll back with it.
+ * History reads cover both parking_sessions and the archive (see SessionArchiveSchema) with one UNION ALL.
+ */
+
+@RequiredArgsConstructor
+public class ParkingSessionRepositoryCustomImpl implements ParkingSessionRepositoryCustom {
+
+    private static final String INSERT_SESSION =
+            "INSERT INTO parking_sessions (version, vehicle_id, parking_slot_id, entry_time, exit_time, total_amount_paise, session_status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Where a history row comes from and what its filter columns are called there.
+    private record HistorySource(String select, String id, String entryTime, String status, String lotId, String vehicleNumber) {}
+
+    // Live sessions, joined for plate, type, lot and slot. Its column names are the ones the UNION returns.
+    private static final HistorySource HOT = new HistorySource(
+            "SELECT s.id AS id, v.vehicle_number AS vehicle_number, v.vehicle_type AS vehicle_type, l.name AS lot_name, " +
+            "sl.slot_number AS slot_number, s.entry_time AS entry_time, s.exit_time AS exit_time, " +
+            "s.total_amount_paise AS total_amount_paise, s.session_status AS session_status FROM parking_sessions s " +
+            "JOIN vehicles v ON v.id = s.vehicle_id " +
+            "JOIN parking_slots sl ON sl.id = s.parking_slot_id " +
+            "JOIN parking_lots l ON l.id = sl.parking_lot_id WHERE 1 = 1",
+            "s.id", "s.entry_time", "s.session_status", "sl.parking_lot_id", "v.vehicle_number");
+
+    // Archived sessions carry those columns themselves.
+    private static final HistorySource ARCHIVE = new HistorySource(
+            "SELECT a.id, a.vehicle_number, a.vehicle_type, a.parking_lot_name, a.slot_number, a.entry_time, a.exit_time, " +
+            "a.total_amount_paise, a.session_status FROM " + SessionArchiveSchema.TABLE + " a WHERE 1 = 1",
+            "a.id", "a.entry_time", "a.session_status", "a.parking_lot_id", "a.vehicle_number");
+
+    private static final String SELECT_CLOSED_SESSION_IDS =
+            "SELECT id FROM parking_sessions WHERE session_status IN ('COMPLETED', 'TERMINATED') AND exit_time < ? LIMIT ? FOR UPDATE";
+
+    private static final String SELECT_OLDEST_CLOSED_ENTRY_TIME =
+            "SELECT MIN(entry_time) FROM parking_sessions WHERE session_status IN ('COMPLETED', 'TERMINATED') AND exit_time < ?";
+
+    // Single-table form, because MySQL only allows LIMIT there; uses the (parking_slot_id, session_status) index.
+    private static final String DELETE_CLOSED_OF_LOT =
+            "DELETE FROM parking_sessions WHERE parking_slot_id IN (SELECT id FROM parking_slots WHERE parking_lot_id = ?) " +
+            "AND session_status IN ('COMPLETED', 'TERMINATED') LIMIT ?";
+
+    private static final String COPY_TO_ARCHIVE =
+            "INSERT INTO " + SessionArchiveSchema.TABLE + " (id, vehicle_id, vehicle_number, vehicle_type, parking_lot_id, parking_lot_name, " +
+            "parking_slot_id, slot_number, entry_time, exit_time, total_amount_paise, session_status, archived_at) " +
+            "SELECT s.id, s.vehicle_id, v.vehicle_number, v.vehicle_type, sl.parking_lot_id, l.name, s.parking_slot_id, sl.slot_number, " +
+            "s.entry_time, s.exit_time, s.total_amount_paise, s.session_status, ? FROM parking_sessions s " +
+            "JOIN vehicles v ON v.id = s.vehicle_id " +
+            "JOIN parking_slots sl ON sl.id = s.parking_slot_id " +
+            "JOIN parking_lots l ON l.id = sl.parking_lot_id " +
+            "WHERE s.id IN ";
+
+    private static final RowMapper<ParkingSessionDto> HISTORY_ROW_MAPPER = (rs, rowNum) -> ParkingSessionDto.builder()
+            .sessionId(rs.getLong(1))
+            .vehicleNumber(rs.getString(2))
+            .vehicleType(VehicleType.valueOf(rs.getString(3)))
+            .parkingLotName(rs.getString(4))
+            .slotNumber(rs.getInt(5))
+            .entryTime(rs.getObject(6, LocalDateTime.class))
+            .exitTime(rs.getObject(7, LocalDateTime.class))
+            .totalAmount(Money.toRupees(rs.getObject(8, Long.class)))
+            .status(SessionStatus.valueOf(rs.getString(9)))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAllInBatch(List<ParkingSession> sessions) {
+        if (sessions.isEmpty()) return;
+
+        // Pending slot and vehicle changes must reach the database before the rows that reference them.
+        entityManager.flush();
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SESSION, Statement.RETURN_GENERATED_KEYS)) {
+                for (ParkingSession session : sessions) {
+                    if (session.getVersion() == null) session.setVersion(0L);
+
+                    statement.setLong(1, session.getVersion());
+                    statement.setLong(2, session.getVehicle().getId());
+                    statement.setLong(3, session.getParkingSlot().getId());
+                    statement.setObject(4, session.getEntryTime());
+                    statement.setObject(5, session.getExitTime());
+                    if (session.getTotalAmountPaise() == null) statement.setNull(6, Types.BIGINT);
+                    else statement.setLong(6, session.getTotalAmountPaise());
+                    statement.setString(7, session.getSessionStatus().name());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                // Keys come back in insert order.
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (ParkingSession session : sessions) {
+                        if (!keys.next()) throw new IllegalStateException("Missing generated key for batch inserted session");
+                        session.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<ParkingSessionDto> findHistoryPage(SessionHistoryFilter filter, LocalDateTime afterEntryTime, Long afterId, int limit) {
+        List<Object> args = new ArrayList<>();
+
+        // 1. The page from each table, then the newest 'limit' rows of both. Active sessions are never archived.
+        StringBuilder sql = new StringBuilder("(");
+        appendPageQuery(sql, args, HOT, filter, afterEntryTime, afterId, limit);
+        if (filter.getStatus() != SessionStatus.ACTIVE) {
+            sql.append(") UNION ALL (");
+            appendPageQuery(sql, args, ARCHIVE, filter, afterEntryTime, afterId, limit);
+        }
+        sql.append(") ORDER BY entry_time DESC, id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), HISTORY_ROW_MAPPER, args.toArray());
+    }
+
+    @Override
+    public void streamHistory(SessionHistoryFilter filter, Long afterId, int fetchSize, Consumer<ParkingSessionDto> sink) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("(");
+        appendExportQuery(sql, args, HOT, filter, afterId);
+        if (filter.getStatus() != SessionStatus.ACTIVE) {
+            sql.append(") UNION ALL (");
+            appendExportQuery(sql, args, ARCHIVE, filter, afterId);
+        }
+        sql.append(") ORDER BY id");
+
+        // Forward-only, read-only statement with the given fetch size, so the driver hands rows over as they
+        // arrive instead of buffering the whole result. Each row is mapped and passed on before the next is read.
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) statement.setObject(i + 1, args.get(i));
+            return statement;
+        }, (RowCallbackHandler) rs -> sink.accept(HISTORY_ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public List<Long> lockClosedSessionIds(LocalDateTime closedBefore, int limit) {
+        return jdbcTemplate.queryForList(SELECT_CLOSED_SESSION_IDS, Long.class, closedBefore, limit);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestClosedEntryTime(LocalDateTime closedBefore) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(SELECT_OLDEST_CLOSED_ENTRY_TIME, LocalDateTime.class, closedBefore));
+    }
+
+    @Override
+    public int moveToArchive(List<Long> sessionIds, LocalDateTime archivedAt) {
+        if (sessionIds.isEmpty()) return 0;
+
+        String ids = placeholders(sessionIds.size());
+        List<Object> args = new ArrayList<>(sessionIds.size() + 1);
+        args.add(archivedAt);
+        args.addAll(sessionIds);
+
+        // Copy first, then delete exactly the rows that were copied; both in the caller's transaction.
+        int copied = jdbcTemplate.update(COPY_TO_ARCHIVE + ids, args.toArray());
+        int deleted = jdbcTemplate.update("DELETE FROM parking_sessions WHERE id IN " + ids, sessionIds.toArray());
+        if (copied != deleted) {
+            throw new IllegalStateException("Archived " + copied + " sessions but removed " + deleted + " from parking_sessions");
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteClosedByLotId(Long lotId, int limit) {
+        return jdbcTemplate.update(DELETE_CLOSED_OF_LOT, lotId, limit);
+    }
+
+    @Override
+    public int deleteArchivedByLotId(Long lotId, int limit) {
+        return jdbcTemplate.update("DELETE FROM " + SessionArchiveSchema.TABLE + " WHERE parking_lot_id = ? LIMIT ?", lotId, limit);
+    }
+
+    // One table's share of a history page: filtered, after the keyset position, newest first.
+    private static void appendPageQuery(StringBuilder sql, List<Object> args, HistorySource source, SessionHistoryFilter filter,
+                                        LocalDateTime afterEntryTime, Long afterId, int limit) {
+        appendFiltered(sql, args, source, filter);
+
+        // Keyset: strictly after the last row of the previous page. Spelled out instead of a row comparison
+        // so MySQL can use it as a range on the (entry_time, id) index.
+        if (afterEntryTime != null) {
+            sql.append(" AND (").append(source.entryTime()).append(" < ? OR (")
+                    .append(source.entryTime()).append(" = ? AND ").append(source.id()).append(" < ?))");
+            args.add(afterEntryTime);
+            args.add(afterEntryTime);
+            args.add(afterId);
+        }
+
+        sql.append(" ORDER BY ").append(source.entryTime()).append(" DESC, ").append(source.id()).append(" DESC LIMIT ?");
+        args.add(limit);
+    }
+
+    private static void appendExportQuery(StringBuilder sql, List<Object> args, HistorySource source, SessionHistoryFilter filter, Long afterId) {
+        appendFiltered(sql, args, source, filter);
+        if (afterId != null) { sql.append(" AND ").append(source.id()).append(" > ?"); args.add(afterId); }
+    }
+
+    // The source's SELECT with the filters that were given, their values appended to args.
+    private static void appendFiltered(StringBuilder sql, List<Object> args, HistorySource source, SessionHistoryFilter filter) {
+        sql.append(source.select());
+        if (filter.getLotId() != null) { sql.append(" AND ").append(source.lotId()).append(" = ?"); args.add(filter.getLotId()); }
+        if (filter.getStatus() != null) { sql.append(" AND ").append(source.status()).append(" = ?"); args.add(filter.getStatus().name()); }
+        if (filter.getVehicleNumber() != null) { sql.append(" AND ").append(source.vehicleNumber()).append(" = ?"); args.add(filter.getVehicleNumber()); }
+        if (filter.getFrom() != null) { sql.append(" AND ").append(source.entryTime()).append(" >= ?"); args.add(filter.getFrom()); }
+        if (filter.getTo() != null) { sql.append(" AND ").append(source.entryTime()).append(" < ?"); args.add(filter.getTo()); }
+    }
+
+    // "(?, ?, ..., ?)" for an IN list of the given size.
+    private static String placeholders(int count) {
+        StringBuilder in = new StringBuilder("(");
+        for (int i = 0; i < count; i++) in.append(i == 0 ? "?" : ", ?");
+        return in.append(')').toString();
+    }
+}
@@ -2,12 +2,19 @@ package com.project.parking_system.repository;
 
 import com.project.parking_system.entity.ParkingSlot;
 import com.project.parking_system.enums.SlotStatus;
+import com.project.parking_system.repository.projection.SlotStateView;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for managing ParkingSlot entities.
@@ -15,7 +22,7 @@ import java.util.List;
  */
 
 @Repository
-public interface ParkingSlotRepository extends JpaRepository<ParkingSlot, Long> {
+public interface ParkingSlotRepository extends JpaRepository<ParkingSlot, Long>, ParkingSlotRepositoryCustom {
 
     /**
      * What it does: Finds available slots for a lot, ordered by slot number (Logic: Fill Slot 1, then 2, etc.).
@@ -26,9 +33,62 @@ public interface ParkingSlotRepository extends JpaRepository<ParkingSlot, Long>
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<ParkingSlot> findByParkingLotIdAndSlotStatusOrderBySlotNumberAsc(Long parkingLotId, SlotStatus status);
 
+    /**
+     * What it does: Same as above, but locks only the first 'limit' available slots (used by batch entries).
+     * SQL: SELECT * FROM parking_slots WHERE parking_lot_id = ? AND status = ? ORDER BY slot_number ASC LIMIT ? FOR UPDATE
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ParkingSlot> findByParkingLotIdAndSlotStatusOrderBySlotNumberAsc(Long parkingLotId, SlotStatus status, Limit limit);
+
+    /**
+     * What it does: Locks and returns only the lowest numbered available slot of a lot.
+     * SQL: SELECT * FROM parking_slots WHERE parking_lot_id = ? AND slot_status = 'AVAILABLE' ORDER BY slot_number LIMIT 1 FOR UPDATE SKIP LOCKED
+     * Concurrency Note: Rows already locked by another gate's transaction are skipped instead of waited on,
+     * so concurrent entries into the same lot each get a different slot without queueing behind each other.
+     */
+    @Query(value = "SELECT * FROM parking_slots WHERE parking_lot_id = :parkingLotId AND slot_status = 'AVAILABLE' " +
+            "ORDER BY slot_number LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<ParkingSlot> claimFirstAvailableSlotSkipLocked(@Param("parkingLotId") Long parkingLotId);
+
+    // What it does: Batch form of the above, locks up to 'count' available slots (used by batch entries).
+    // SQL: SELECT * FROM parking_slots WHERE parking_lot_id = ? AND slot_status = 'AVAILABLE' ORDER BY slot_number LIMIT ? FOR UPDATE SKIP LOCKED
+    @Query(value = "SELECT * FROM parking_slots WHERE parking_lot_id = :parkingLotId AND slot_status = 'AVAILABLE' " +
+            "ORDER BY slot_number LIMIT :count FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ParkingSlot> claimAvailableSlotsSkipLocked(@Param("parkingLotId") Long parkingLotId, @Param("count") int count);
+
+    /**
+     * What it does: Locks the given slots that are still in the given status (used by the bitmap allocator's batch claim).
+     * SQL: SELECT * FROM parking_slots WHERE id IN (...) AND slot_status = ? FOR UPDATE
+     * Concurrency Note: A slot another transaction is taking is waited on, and left out once that one commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ParkingSlot> findByIdInAndSlotStatus(Collection<Long> ids, SlotStatus status);
+
     // Finds Parking Slot by parking lot Id ordering them Slot numbers in Ascending.
     List<ParkingSlot> findByParkingLotIdOrderBySlotNumberAsc(Long parkingLotId);
 
     // SQL: SELECT COUNT(*) FROM parking_slots WHERE parking_lot_id = ? AND status = ?
     long countByParkingLotIdAndSlotStatus(Long parkingLotId, SlotStatus status);
+
+    // Loads only id, number and status of every slot in a lot (used to rebuild the in-memory free-slot bitmap).
+    // SQL: SELECT id, slot_number, slot_status FROM parking_slots WHERE parking_lot_id = ?
+    List<SlotStateView> findSlotStatesByParkingLotId(Long parkingLotId);
+
+    /**
+     * What it does: Switches a single slot from one status to another, but only if it is still in the expected status.
+     * SQL: UPDATE parking_slots SET slot_status = ? WHERE id = ? AND slot_status = ?
+     * Concurrency Note: Returns 0 when another transaction (or another instance) already changed the slot,
+     * so callers can treat the update itself as the claim instead of locking candidate rows up front.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ParkingSlot s SET s.slotStatus = :newStatus WHERE s.id = :slotId AND s.slotStatus = :expectedStatus")
+    int updateSlotStatusIfCurrent(@Param("slotId") Long slotId,
+                                  @Param("expectedStatus") SlotStatus expectedStatus,
+                                  @Param("newStatus") SlotStatus newStatus);
+
+    // What it does: Removes every slot of a lot with one statement, without loading them.
+    // SQL: DELETE FROM parking_slots WHERE parking_lot_id = ?
+    @Modifying
+    @Query("DELETE FROM ParkingSlot s WHERE s.parkingLot.id = :parkingLotId")
+    int deleteAllByParkingLotId(@Param("parkingLotId") Long parkingLotId);
 }
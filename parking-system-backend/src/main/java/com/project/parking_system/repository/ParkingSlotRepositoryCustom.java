@@ -0,0 +1,16 @@
+package com.project.parking_system.repository;
+
+/**
+ * Hand-written additions to {@link ParkingSlotRepository} for statements Spring Data cannot derive.
+ */
+
+public interface ParkingSlotRepositoryCustom {
+
+    /**
+     * Inserts AVAILABLE slots numbered firstSlot..lastSlot (inclusive) for the lot, as JDBC batches of chunkSize rows.
+     * IDENTITY ids switch off Hibernate's insert batching, so saveAll() would cost one round trip per slot; here
+     * the driver rewrites each batch into one multi-row INSERT. Runs in the caller's transaction.
+     * Returns the number of slots inserted.
+     */
+    int insertSlotRange(Long parkingLotId, int firstSlot, int lastSlot, int chunkSize);
+}
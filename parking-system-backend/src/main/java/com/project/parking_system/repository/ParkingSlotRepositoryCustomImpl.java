@@ -0,0 +1,57 @@
+package com.project.parking_system.repository;
+
+import com.project.parking_system.enums.SlotStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+
+/**
+ * JDBC implementation of {@link ParkingSlotRepositoryCustom}.
+ * Runs on the connection of the surrounding JPA transaction, so the inserts commit or roll back with it.
+ */
+
+@Slf4j
+@RequiredArgsConstructor
+public class ParkingSlotRepositoryCustomImpl implements ParkingSlotRepositoryCustom {
+
+    private static final String INSERT_SLOT =
+            "INSERT INTO parking_slots (parking_lot_id, slot_number, slot_status) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertSlotRange(Long parkingLotId, int firstSlot, int lastSlot, int chunkSize) {
+        if (lastSlot < firstSlot) return 0;
+
+        // The lot row (and anything else pending) must reach the database before the slots that reference it.
+        entityManager.flush();
+
+        int total = lastSlot - firstSlot + 1;
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            int inserted = 0;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SLOT)) {
+                for (int slotNumber = firstSlot; slotNumber <= lastSlot; slotNumber++) {
+                    statement.setLong(1, parkingLotId);
+                    statement.setInt(2, slotNumber);
+                    statement.setString(3, SlotStatus.AVAILABLE.name());
+                    statement.addBatch();
+
+                    // One round trip per chunk; the last chunk may be short.
+                    if (++inserted % chunkSize == 0 || slotNumber == lastSlot) {
+                        statement.executeBatch();
+                        log.debug("Provisioned {}/{} slots for lot {}", inserted, total, parkingLotId);
+                    }
+                }
+            }
+            return inserted;
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.parking_system.repository;
+
+import com.project.parking_system.entity.Tariff;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing per-lot Tariffs.
+ * The compile queries fetch the lot (for its base price) and the bands with the tariff,
+ * so TariffRegistry can compile outside a transaction.
+ */
+
+@Repository
+public interface TariffRepository extends JpaRepository<Tariff, Long> {
+
+    @Query("SELECT DISTINCT t FROM Tariff t JOIN FETCH t.parkingLot LEFT JOIN FETCH t.bands")
+    List<Tariff> findAllForCompile();
+
+    @Query("SELECT t FROM Tariff t JOIN FETCH t.parkingLot LEFT JOIN FETCH t.bands WHERE t.lotId = :lotId")
+    Optional<Tariff> findForCompile(@Param("lotId") Long lotId);
+}
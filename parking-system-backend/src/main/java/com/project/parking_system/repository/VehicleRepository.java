@@ -4,6 +4,8 @@ import com.project.parking_system.entity.Vehicle;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,4 +17,8 @@ import java.util.Optional;
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     // SQL: SELECT * FROM vehicles WHERE vehicle_number = ?
     Optional<Vehicle> findByVehicleNumber(String vehicleNumber);
+
+    // Resolves a whole batch of plates in one round trip.
+    // SQL: SELECT * FROM vehicles WHERE vehicle_number IN (?, ?, ...)
+    List<Vehicle> findByVehicleNumberIn(Collection<String> vehicleNumbers);
 }
@@ -0,0 +1,19 @@
+package com.project.parking_system.repository.projection;
+
+import com.project.parking_system.enums.VehicleType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an Active Session, as kept by the in-memory ActiveSessionIndex.
+ */
+
+public interface ActiveSessionView {
+    Long getSessionId();
+    Long getVehicleId();
+    Long getSlotId();
+    Long getLotId();
+    LocalDateTime getEntryTime();
+    String getVehicleNumber();
+    VehicleType getVehicleType();
+}
@@ -0,0 +1,18 @@
+package com.project.parking_system.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a Parking Lot together with its live availability.
+ * Lets the lot listing come back from a single query instead of one COUNT per lot.
+ */
+
+public interface LotAvailabilityView {
+    Long getId();
+    String getName();
+    String getLocation();
+    Integer getTotalSlots();
+    Integer getAvailableSlots();
+    Long getBasePricePerHourPaise();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,12 @@
+package com.project.parking_system.repository.projection;
+
+/**
+ * Read-only projection of a lot whose occupied_slots counter disagrees with its OCCUPIED slot rows.
+ * Carries both values, so the repair can set the counter without re-counting under the lot lock.
+ */
+
+public interface OccupancyDriftView {
+    Long getId();
+    Integer getOccupiedSlots();
+    Integer getCountedSlots();
+}
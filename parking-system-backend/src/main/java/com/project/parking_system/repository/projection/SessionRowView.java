@@ -0,0 +1,23 @@
+package com.project.parking_system.repository.projection;
+
+import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.enums.VehicleType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a session with its plate, lot and slot: exactly the fields of ParkingSessionDto,
+ * read with one joined query instead of loading the session, vehicle, slot and lot entities.
+ */
+
+public interface SessionRowView {
+    Long getSessionId();
+    String getVehicleNumber();
+    VehicleType getVehicleType();
+    String getParkingLotName();
+    Integer getSlotNumber();
+    LocalDateTime getEntryTime();
+    LocalDateTime getExitTime();
+    Long getTotalAmountPaise();
+    SessionStatus getStatus();
+}
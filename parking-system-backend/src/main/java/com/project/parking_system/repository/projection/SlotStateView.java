@@ -0,0 +1,14 @@
+package com.project.parking_system.repository.projection;
+
+import com.project.parking_system.enums.SlotStatus;
+
+/**
+ * Read-only projection of a slot's identity and status.
+ * Used to rebuild in-memory allocation state without hydrating ParkingSlot entities.
+ */
+
+public interface SlotStateView {
+    Long getId();
+    Integer getSlotNumber();
+    SlotStatus getSlotStatus();
+}
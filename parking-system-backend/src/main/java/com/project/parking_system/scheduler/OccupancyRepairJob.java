@@ -0,0 +1,67 @@
+package com.project.parking_system.scheduler;
+
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.projection.OccupancyDriftView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Repair job for the denormalized ParkingLot.occupiedSlots counter.
+ * Finds lots whose counter disagrees with their OCCUPIED slot rows (manual DB edits, a newly added column,
+ * crashes between instances) and sets the counter to the counted value, as long as no entry or exit changed it in between.
+ * Runs once at startup and then on the 'parking.occupancy.repair-cron' schedule.
+ * Every repaired lot is counted ('parking.occupancy.drift.repaired'), so drift shows up in the metrics, not only in the log.
+ */
+
+@Slf4j
+@Component
+public class OccupancyRepairJob {
+
+    private final ParkingLotRepository parkingLotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairedLots;
+
+    public OccupancyRepairJob(ParkingLotRepository parkingLotRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry) {
+        this.parkingLotRepository = parkingLotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.repairedLots = Counter.builder("parking.occupancy.drift.repaired")
+                .description("Lots whose occupancy counter disagreed with their slot rows and was re-derived")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${parking.occupancy.repair-cron:0 */15 * * * *}")
+    public void repairOccupancyCounters() {
+        // 1. Count without locking anything, so the repair never takes the lot row before the slot rows.
+        List<OccupancyDriftView> driftedLots = parkingLotRepository.findDriftedOccupancy();
+        if (driftedLots.isEmpty()) return;
+
+        log.warn("Occupancy counter drift detected for lots {}, re-deriving from parking_slots",
+                driftedLots.stream().map(OccupancyDriftView::getId).toList());
+
+        // 2. One short transaction per lot that only locks the lot row; a failing lot does not skip the others.
+        for (OccupancyDriftView lot : driftedLots) {
+            try {
+                Integer updated = transactionTemplate.execute(status -> parkingLotRepository.repairOccupiedSlots(
+                        lot.getId(), lot.getOccupiedSlots(), lot.getCountedSlots()));
+                if (updated != null && updated > 0) {
+                    repairedLots.increment();
+                } else {
+                    log.debug("Occupancy counter of lot {} changed during repair, re-checking on the next run", lot.getId());
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to repair occupancy counter of lot {}", lot.getId(), e);
+            }
+        }
+    }
+}
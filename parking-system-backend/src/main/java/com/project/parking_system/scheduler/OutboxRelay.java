@@ -0,0 +1,142 @@
+package com.project.parking_system.scheduler;
+
+import com.project.parking_system.entity.OutboxEvent;
+import com.project.parking_system.enums.EventEncoding;
+import com.project.parking_system.repository.OutboxEventRepository;
+import com.project.parking_system.utils.EventCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the transactional outbox (event_outbox) to the 'parking-updates' topic.
+ * Every run drains the outbox in batches of 'parking.outbox.relay.batch-size': the batch is sent in id order
+ * (keyed by lot, so per-lot order survives on the partition), then the delivered prefix is deleted.
+ * A failed send stops the batch there; it and everything after it is retried on the next run.
+ * Delivery is at-least-once: a crash between send and delete republishes that batch.
+ * The batch transaction runs at READ COMMITTED: its FOR UPDATE then locks only the rows it returns, without the
+ * gap/next-key locks of REPEATABLE READ, so entries and exits keep inserting new events while a send is slow.
+ * Each record carries the 'event-type' and 'content-type' headers, so consumers can route without parsing the value.
+ */
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "parking.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final String TOPIC = "parking-updates";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMillis;
+
+    // Age of the oldest event still waiting to be published, as of the last run.
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final DistributionSummary batchSizes;
+    private final Counter publishedEvents;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, byte[]> kafkaTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${parking.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${parking.outbox.relay.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.batchSize = batchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+
+        Gauge.builder("parking.outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("parking.outbox.relay.batch.size")
+                .description("Events published per relay batch")
+                .baseUnit("events")
+                .register(meterRegistry);
+        this.publishedEvents = Counter.builder("parking.outbox.relay.published")
+                .description("Events published from the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${parking.outbox.relay.interval-ms:200}")
+    public void relay() {
+        // Keep going while batches come back full; stop on an empty, partial or failed batch.
+        boolean more;
+        do {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()));
+        } while (more);
+    }
+
+    // Sends one locked batch and deletes what was delivered. Returns true if another full batch may be waiting.
+    private boolean relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockOldestBatch(batchSize);
+        if (batch.isEmpty()) {
+            lagMillis.set(0);
+            return false;
+        }
+        lagMillis.set(Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+
+        // 1. Hand the whole batch to the producer first, so it can fill its own request batches.
+        List<CompletableFuture<SendResult<String, byte[]>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(kafkaTemplate.send(toRecord(event)));
+        }
+
+        // 2. Keep only the delivered prefix; anything after a failure must wait so a lot's events stay in order.
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                sends.get(i).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+                delivered.add(batch.get(i).getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.warn("Outbox relay stopped at event {} ({}): {}", batch.get(i).getId(), batch.get(i).getEventType(), e.getMessage());
+                break;
+            }
+        }
+
+        // 3. Remove the published events in the same transaction that held their locks.
+        if (!delivered.isEmpty()) outboxEventRepository.deleteAllByIdInBatch(delivered);
+
+        batchSizes.record(delivered.size());
+        publishedEvents.increment(delivered.size());
+        return delivered.size() == batchSize;
+    }
+
+    private static ProducerRecord<String, byte[]> toRecord(OutboxEvent event) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(TOPIC, event.getAggregateKey(), event.getPayload());
+        String contentType = event.getContentType() != null ? event.getContentType() : EventEncoding.JSON.getContentType();
+        record.headers()
+                .add(EventCodec.HEADER_EVENT_TYPE, event.getEventType().getBytes(StandardCharsets.UTF_8))
+                .add(EventCodec.HEADER_CONTENT_TYPE, contentType.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
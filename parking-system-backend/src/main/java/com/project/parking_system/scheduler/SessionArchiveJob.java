@@ -0,0 +1,76 @@
+package com.project.parking_system.scheduler;
+
+import com.project.parking_system.config.SessionArchiveSchema;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Moves closed sessions out of parking_sessions into the monthly-partitioned archive (see SessionArchiveSchema).
+ * COMPLETED and TERMINATED sessions that ended more than 'parking.archive.retention-days' ago are moved in chunks of
+ * 'parking.archive.chunk-size', one short transaction per chunk, so entries and exits are never blocked for long.
+ * This keeps parking_sessions down to the active and recent sessions. The history API and the export read both tables,
+ * so nothing disappears from them.
+ */
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "parking.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class SessionArchiveJob {
+
+    private final ParkingSessionRepository parkingSessionRepository;
+    private final SessionArchiveSchema sessionArchiveSchema;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final Counter archivedSessions;
+
+    public SessionArchiveJob(ParkingSessionRepository parkingSessionRepository,
+                             SessionArchiveSchema sessionArchiveSchema,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${parking.archive.retention-days:90}") int retentionDays,
+                             @Value("${parking.archive.chunk-size:1000}") int chunkSize) {
+        this.parkingSessionRepository = parkingSessionRepository;
+        this.sessionArchiveSchema = sessionArchiveSchema;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.archivedSessions = Counter.builder("parking.sessions.archived")
+                .description("Closed sessions moved to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${parking.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+
+        // 1. Partitions for every month a moved session can belong to (DDL, so outside the chunk transactions).
+        parkingSessionRepository.findOldestClosedEntryTime(cutoff).ifPresent(oldest ->
+                sessionArchiveSchema.ensureMonthlyPartitions(YearMonth.from(oldest), YearMonth.now()));
+
+        // 2. Move chunk after chunk until one comes back short.
+        long moved = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = parkingSessionRepository.lockClosedSessionIds(cutoff, chunkSize);
+                return parkingSessionRepository.moveToArchive(ids, LocalDateTime.now());
+            });
+            archivedSessions.increment(chunk);
+            moved += chunk;
+        } while (chunk == chunkSize);
+
+        if (moved > 0) log.info("Archived {} sessions closed before {}", moved, cutoff);
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.dto.BatchItemResultDto;
+import com.project.parking_system.dto.BillDto;
+import com.project.parking_system.dto.EntryRequestDto;
+import com.project.parking_system.dto.ExitRequestDto;
+import com.project.parking_system.dto.ParkingTicketDto;
+
+import java.util.List;
+
+/**
+ * Batch form of {@link ParkingOperationService} for gate controllers and ANPR cameras that buffer plate reads.
+ * Each item is checked against the same rules as a single entry/exit; an item that breaks one is reported
+ * as failed without affecting the others.
+ */
+
+public interface BatchParkingOperationService {
+
+    // Plans the entry of every Vehicle in the batch
+    List<BatchItemResultDto<ParkingTicketDto>> enterVehicles(List<EntryRequestDto> requests);
+
+    // Plans the exit of every Vehicle in the batch
+    List<BatchItemResultDto<BillDto>> exitVehicles(List<ExitRequestDto> requests);
+}
@@ -1,6 +1,7 @@
 package com.project.parking_system.service;
 
 import com.project.parking_system.dto.BillingResultDto;
+import com.project.parking_system.enums.VehicleType;
 
 import java.time.LocalDateTime;
 
@@ -11,10 +12,20 @@ import java.time.LocalDateTime;
 
 public interface BillingService {
 
-    // Calculates the final bill amount based on duration and lot occupancy.
+    // Calculates the final bill amount (in paise) based on duration, the lot's tariff and lot occupancy.
     BillingResultDto calculateBill(LocalDateTime entryTime,
                                    LocalDateTime exitTime,
-                                   Double basePricePerHour,
+                                   long basePricePerHourPaise,
                                    Long parkingLotId,
-                                   Integer totalSlots);
+                                   Integer totalSlots,
+                                   VehicleType vehicleType);
+
+    // Same calculation with the lot's occupied slot count supplied by the caller (e.g. read once for a whole batch).
+    BillingResultDto calculateBillForOccupancy(LocalDateTime entryTime,
+                                               LocalDateTime exitTime,
+                                               long basePricePerHourPaise,
+                                               long occupiedSlots,
+                                               Integer totalSlots,
+                                               Long parkingLotId,
+                                               VehicleType vehicleType);
 }
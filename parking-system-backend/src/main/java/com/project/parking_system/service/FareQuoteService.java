@@ -0,0 +1,20 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.dto.FareQuoteDto;
+
+import java.util.List;
+
+/**
+ * Service interface for live fare estimates of Active Sessions.
+ * Same rules as BillingService, answered from memory: the ActiveSessionIndex, the compiled tariffs and
+ * the lot occupancy snapshot.
+ */
+
+public interface FareQuoteService {
+
+    // What one Active Session would pay if it exited now.
+    FareQuoteDto quoteSession(Long sessionId);
+
+    // The same for every Active Session of a lot (kiosk screens).
+    List<FareQuoteDto> quoteLot(Long lotId);
+}
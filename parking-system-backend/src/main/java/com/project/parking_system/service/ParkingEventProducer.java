@@ -1,39 +1,213 @@
 package com.project.parking_system.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.parking_system.dto.kafka.SessionUpdateDto;
 import com.project.parking_system.dto.kafka.LotUpdateDto;
-import lombok.RequiredArgsConstructor;
+import com.project.parking_system.entity.OutboxEvent;
+import com.project.parking_system.enums.EventEncoding;
+import com.project.parking_system.repository.OutboxEventRepository;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.projection.LotAvailabilityView;
+import com.project.parking_system.utils.EventCodec;
+import com.project.parking_system.utils.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import com.project.parking_system.dto.kafka.SlotUpdateDto;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records parking events in the transactional outbox (event_outbox).
+ * Nothing is sent to Kafka from here: the events of a transaction are written with one JDBC batch just before
+ * it commits, and OutboxRelay publishes them afterwards. Kafka latency therefore never extends the
+ * entry/exit transaction, and a rolled back transaction leaves no event behind.
+ * Slot-count updates are coalesced per lot: a committed entry/exit only marks its lot, and every
+ * 'parking.events.slot-coalescing.window-ms' one update per marked lot is written with the lot's availability
+ * at that moment. A busy lot then emits at most one slot update per window, always the latest count.
+ * Session and lot events are never held back. A crash inside a window loses that window's slot updates;
+ * the lot's next entry or exit publishes the right count again.
+ * Payloads are encoded as 'parking.events.encoding' says: the compact EventCodec format (binary) or JSON.
+ */
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ParkingEventProducer {
-    private static final String TOPIC = "parking-updates";
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ParkingLotRepository parkingLotRepository;
+    private final boolean coalesceSlotUpdates;
+    private final EventEncoding encoding;
+
+    // Lots with a committed slot change not yet published -> type ("ENTRY"/"EXIT") of the latest change.
+    private final ConcurrentHashMap<Long, String> pendingSlotUpdates = new ConcurrentHashMap<>();
+    private final Counter slotUpdatesIn;
+    private final Counter slotUpdatesOut;
+
+    public ParkingEventProducer(ObjectMapper objectMapper,
+                                OutboxEventRepository outboxEventRepository,
+                                ParkingLotRepository parkingLotRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${parking.events.slot-coalescing.enabled:true}") boolean coalesceSlotUpdates,
+                                @Value("${parking.events.encoding:BINARY}") EventEncoding encoding) {
+        this.objectMapper = objectMapper;
+        this.outboxEventRepository = outboxEventRepository;
+        this.parkingLotRepository = parkingLotRepository;
+        this.coalesceSlotUpdates = coalesceSlotUpdates;
+        this.encoding = encoding;
+
+        this.slotUpdatesIn = Counter.builder("parking.events.slot-updates.in")
+                .description("Slot-count updates requested by entries and exits")
+                .register(meterRegistry);
+        this.slotUpdatesOut = Counter.builder("parking.events.slot-updates.out")
+                .description("Slot-count updates written to the outbox after coalescing")
+                .register(meterRegistry);
+    }
 
     // Slot Update
     public void sendUpdate(SlotUpdateDto update) {
-        publish(update.getLotId(), update);
+        publish(update.getLotId(), update.getType(), update);
+    }
+
+    /**
+     * Publishes the lot's current slot availability.
+     * Coalesced: marks the lot once the calling transaction commits, and flushSlotUpdates() publishes it.
+     * Otherwise called from inside the entry/exit transaction, so the counter it reads already includes that transaction's change.
+     * Batch operations call this once per lot instead of once per vehicle.
+     */
+    public void sendSlotUpdate(Long lotId, String type) {
+        slotUpdatesIn.increment();
+        if (coalesceSlotUpdates) {
+            TransactionHooks.afterCommit(() -> pendingSlotUpdates.put(lotId, type));
+            return;
+        }
+
+        // 1. One query for total and available slots
+        parkingLotRepository.findAllWithAvailabilityByIdIn(List.of(lotId)).forEach(lot ->
+                // 2. Build the payload and fire and forget!
+                sendUpdate(toSlotUpdate(lot, type)));
+        slotUpdatesOut.increment();
+    }
+
+    /**
+     * Writes one slot update per lot marked since the last run, with the lot's committed availability.
+     * One availability query and one outbox batch for all of them.
+     */
+    // synchronized: a flush called directly (tests) waits for a scheduled one in progress.
+    @Scheduled(fixedDelayString = "${parking.events.slot-coalescing.window-ms:100}")
+    public synchronized void flushSlotUpdates() {
+        if (pendingSlotUpdates.isEmpty()) return;
+
+        // 1. Take the marked lots; a lot marked again from here on waits for the next run.
+        Map<Long, String> drained = new HashMap<>();
+        for (Long lotId : pendingSlotUpdates.keySet()) {
+            String type = pendingSlotUpdates.remove(lotId);
+            if (type != null) drained.put(lotId, type);
+        }
+
+        // 2. Read availability after the changes committed, so the published count is the latest one.
+        List<OutboxEvent> events = new ArrayList<>(drained.size());
+        try {
+            for (LotAvailabilityView lot : parkingLotRepository.findAllWithAvailabilityByIdIn(drained.keySet())) {
+                String type = drained.get(lot.getId());
+                events.add(toOutboxEvent(lot.getId(), type, toSlotUpdate(lot, type)));
+            }
+            outboxEventRepository.insertAllInBatch(events);
+        } catch (RuntimeException e) {
+            // 3. Nothing was written: mark the lots again for the next run. A lot marked since keeps its newer type.
+            drained.forEach(pendingSlotUpdates::putIfAbsent);
+            throw e;
+        }
+        slotUpdatesOut.increment(events.size());
+    }
+
+    private static SlotUpdateDto toSlotUpdate(LotAvailabilityView lot, String type) {
+        return SlotUpdateDto.builder()
+                .type(type)
+                .lotId(lot.getId())
+                .availableSlots(lot.getAvailableSlots())
+                .totalSlots(lot.getTotalSlots())
+                .build();
     }
 
     // Session Update
     public void sendUpdate(SessionUpdateDto update) {
-        publish(update.getLotId(), update);
+        publish(update.getLotId(), update.getType(), update);
     }
 
     // Lot Update
     public void sendUpdate(LotUpdateDto update){
-        publish(update.getLot().getId(), update);
+        publish(update.getLot().getId(), update.getType(), update);
     }
 
     // Private helper to avoid code duplication
-    private void publish(Long lotId, Object payload) {
-        log.info("Publishing event to Kafka: Lot ID {}", lotId);
-        kafkaTemplate.send(TOPIC, String.valueOf(lotId), payload);
+    private void publish(Long lotId, String eventType, Object payload) {
+        log.debug("Recording event in outbox: Lot ID {}", lotId);
+
+        OutboxEvent event = toOutboxEvent(lotId, eventType, payload);
+
+        // Outside a transaction there is nothing to wait for.
+        if (!TransactionSynchronizationManager.isActualTransactionActive() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxEventRepository.insertAllInBatch(List.of(event));
+            return;
+        }
+        pendingEvents().add(event);
+    }
+
+    private OutboxEvent toOutboxEvent(Long lotId, String eventType, Object payload) {
+        return OutboxEvent.builder()
+                .aggregateKey(String.valueOf(lotId))
+                .eventType(eventType)
+                .contentType(encoding.getContentType())
+                .payload(serialize(payload))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    // The current transaction's buffer. Registered as a synchronization, so it is suspended with its transaction
+    // and only ever written if that transaction commits.
+    private List<OutboxEvent> pendingEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof OutboxBuffer buffer) return buffer.events;
+        }
+        OutboxBuffer buffer = new OutboxBuffer(outboxEventRepository);
+        TransactionSynchronizationManager.registerSynchronization(buffer);
+        return buffer.events;
+    }
+
+    private static final class OutboxBuffer implements TransactionSynchronization {
+        private final OutboxEventRepository outboxEventRepository;
+        private final List<OutboxEvent> events = new ArrayList<>();
+
+        private OutboxBuffer(OutboxEventRepository outboxEventRepository) {
+            this.outboxEventRepository = outboxEventRepository;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            outboxEventRepository.insertAllInBatch(events);
+        }
+    }
+
+    // JSON is the same the consumers have always read.
+    private byte[] serialize(Object payload) {
+        if (encoding == EventEncoding.BINARY) return EventCodec.encode(payload);
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + payload.getClass().getSimpleName(), e);
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.project.parking_system.service;
 import com.project.parking_system.dto.ParkingLotDto;
 import com.project.parking_system.dto.ParkingLotRequestDto;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,6 +18,9 @@ public interface ParkingLotService {
     // 2. Retrieves all lots with their live availability counts.
     List<ParkingLotDto> getAllParkingLots();
 
+    // 2b. Retrieves only the given lots with their live availability counts (partial refresh).
+    List<ParkingLotDto> getParkingLotsByIds(Collection<Long> ids);
+
     // 3. Retrieves a single lot by ID.
     ParkingLotDto getParkingLotById(Long id);
 
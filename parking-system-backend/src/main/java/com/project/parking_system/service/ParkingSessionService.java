@@ -1,13 +1,17 @@
 package com.project.parking_system.service;
 
 import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.dto.SessionHistoryFilter;
+import com.project.parking_system.dto.SessionPageDto;
 import com.project.parking_system.entity.ParkingSession;
 import com.project.parking_system.entity.ParkingSlot;
 import com.project.parking_system.entity.Vehicle;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service interface for CRUD operations on Parking Sessions.
@@ -18,18 +22,37 @@ public interface ParkingSessionService {
     // Help us find if the vehicle that is Given has any Active Session or not.
     Optional<ParkingSession> findActiveSession(Vehicle vehicle);
 
+    // The Active Session of a plate with vehicle, slot and lot already loaded (used by the exit workflow).
+    Optional<ParkingSession> findActiveSessionForExit(String vehicleNumber);
+
+    // True if the vehicle is currently parked (no database read).
+    boolean hasActiveSession(Vehicle vehicle);
+
     // Creates a new Session with Vehicle and Parking Slot Information.
     ParkingSession createSession(Vehicle vehicle, ParkingSlot slot);
 
-    // Helps end the Active Session and Generate the bill.
-    void endSession(ParkingSession session, LocalDateTime exitTime, Double totalAmount);
+    // Helps end the Active Session and Generate the bill (amount in paise).
+    void endSession(ParkingSession session, LocalDateTime exitTime, long totalAmountPaise);
 
     // To get all the Active Sessions
     List<ParkingSessionDto> getAllActiveSessions(Long lotId);
 
-    // To get all the Sessions ( BOTH ACTIVE and COMPLETED )
-    List<ParkingSessionDto> getAllSessions(Long lotId);
+    // One page of the Sessions ( ACTIVE, COMPLETED and TERMINATED ), newest first. cursor is the previous page's nextCursor, or null.
+    SessionPageDto getSessionHistory(SessionHistoryFilter filter, String cursor, int size);
 
     // To Terminate the Session
     void terminateSession(Long sessionId);
+
+    // Batch entry: claims the Active Session of each vehicle before its session is inserted. Returns the vehicles
+    // claimed; the others already have an Active Session, or are being parked by a concurrent entry.
+    Set<Long> claimActiveSessions(Collection<Long> vehicleIds);
+
+    // Batch entry: gives back the claims that did not become a session (claims that did are left alone).
+    void releaseActiveSessionClaims(Collection<Long> vehicleIds);
+
+    // Batch entry: starts a session for each (vehicle, slot) pair, written with one JDBC batch. Every vehicle must be claimed.
+    void createSessions(List<ParkingSession> sessions);
+
+    // Batch exit: Active Sessions of the given (normalized) plates, with vehicle, slot and lot loaded.
+    List<ParkingSession> findActiveSessionsByVehicleNumbers(Collection<String> vehicleNumbers);
 }
@@ -4,6 +4,7 @@ import com.project.parking_system.dto.ParkingSlotDto;
 import com.project.parking_system.entity.ParkingLot;
 import com.project.parking_system.entity.ParkingSlot;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,4 +26,16 @@ public interface ParkingSlotService {
 
     // 5. To mark the slot as Available.
     void markSlotAsAvailable(Long slotId);
+
+    // 6. Adds the slots numbered after the lot's current total, up to the new total.
+    void expandSlotsForLot(ParkingLot parkingLot, int newTotalSlots);
+
+    // 7. Removes every slot of a lot.
+    void deleteSlotsForLot(Long parkingLotId);
+
+    // 8. Batch entry: occupies up to 'count' of the lowest numbered available slots of a lot and returns them.
+    List<ParkingSlot> occupyAvailableSlots(Long parkingLotId, int count);
+
+    // 9. Batch exit: frees the given slots.
+    void releaseSlots(Collection<ParkingSlot> slots);
 }
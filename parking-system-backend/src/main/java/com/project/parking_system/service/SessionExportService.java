@@ -0,0 +1,21 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.dto.SessionHistoryFilter;
+import com.project.parking_system.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for bulk exports of the session history (nightly finance exports).
+ */
+
+public interface SessionExportService {
+
+    /**
+     * Writes every session matching the filter, in id order, to out as it is read from the database.
+     * afterId resumes an interrupted export: only sessions with a larger id are written.
+     * out is flushed but not closed.
+     */
+    void export(SessionHistoryFilter filter, Long afterId, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,27 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.entity.ParkingSlot;
+
+import java.util.List;
+
+/**
+ * Strategy for picking the slot a vehicle is parked in.
+ * Exactly one implementation is active, selected by 'parking.slot-allocation.mode'.
+ * Implementations are called inside the entry transaction and must leave the chosen slot reserved for it.
+ */
+
+public interface SlotAllocator {
+
+    // Reserves the lowest numbered available slot of the lot. Throws BusinessException if the lot is full.
+    ParkingSlot allocate(Long parkingLotId);
+
+    // Batch form: reserves up to 'count' available slots of the lot, lowest numbers first, in slot order.
+    // Returns fewer (or none) if the lot has fewer free slots. The caller marks the returned slots occupied.
+    List<ParkingSlot> allocate(Long parkingLotId, int count);
+
+    // Called after a slot has been freed (exit or termination) and the transaction committed.
+    default void onSlotReleased(Long parkingLotId, Integer slotNumber) {}
+
+    // Called after slots were added to (or removed from) a lot and the transaction committed.
+    default void onLotSlotsChanged(Long parkingLotId) {}
+}
@@ -0,0 +1,16 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.dto.TariffDto;
+
+/**
+ * Service interface for reading and editing per-lot tariffs.
+ */
+
+public interface TariffService {
+
+    // The lot's tariff, or the default tariff if it has none.
+    TariffDto getTariff(Long lotId);
+
+    // Replaces the lot's tariff. Bills use the new tariff as soon as the change commits.
+    TariffDto updateTariff(Long lotId, TariffDto request);
+}
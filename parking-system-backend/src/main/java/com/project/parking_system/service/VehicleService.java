@@ -3,6 +3,7 @@ package com.project.parking_system.service;
 import com.project.parking_system.entity.Vehicle;
 import com.project.parking_system.enums.VehicleType;
 
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -16,4 +17,8 @@ public interface VehicleService {
 
     //  Finds a vehicle through Vehicle Number.
     Optional<Vehicle> findByVehicleNumber(String vehicleNumber);
+
+    // Batch form of findOrCreateVehicle for already normalized numbers. Existing vehicles are returned as they are,
+    // so the caller decides what a type mismatch means for its item.
+    Map<String, Vehicle> findOrCreateVehicles(Map<String, VehicleType> typesByVehicleNumber);
 }
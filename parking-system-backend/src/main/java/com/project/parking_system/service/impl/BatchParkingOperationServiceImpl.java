@@ -0,0 +1,323 @@
+package com.project.parking_system.service.impl;
+
+import com.project.parking_system.dto.*;
+import com.project.parking_system.dto.kafka.SessionUpdateDto;
+import com.project.parking_system.entity.ParkingLot;
+import com.project.parking_system.entity.ParkingSession;
+import com.project.parking_system.entity.ParkingSlot;
+import com.project.parking_system.entity.Vehicle;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.exception.BusinessException;
+import com.project.parking_system.mapper.ParkingMapper;
+import com.project.parking_system.mapper.ParkingSessionMapper;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.service.*;
+import com.project.parking_system.utils.ParkingUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Batch Entry and Exit workflows.
+ * Applies the same business rules as {@link ParkingOperationServiceImpl}, but resolves lots, vehicles,
+ * sessions and slots for the whole batch with set-based queries instead of a few queries per vehicle.
+ * Rule violations are reported per item instead of thrown. Both workflows commit lot by lot, so a failure in one lot
+ * (e.g. a database error, or a session changed by a concurrent single exit) only fails that lot's items.
+ */
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchParkingOperationServiceImpl implements BatchParkingOperationService {
+
+    private final VehicleService vehicleService;
+    private final ParkingSlotService parkingSlotService;
+    private final ParkingSessionService parkingSessionService;
+    private final ParkingLotRepository parkingLotRepository;
+    private final BillingService billingService;
+    private final ParkingEventProducer eventProducer;
+    private final ParkingSessionMapper parkingSessionMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Workflow for a batch of Vehicle Entries.
+     * 1. Validate each item, reject repeated plates.
+     * 2. Validate Lots (one query).
+     * 3. Per lot, in its own transaction:
+     *    a. Find/Register Vehicles (one query + one saveAll), so a lot that rolls back leaves no vehicles behind.
+     *    b. Claim each vehicle's Active Session (in-memory index, no query); vehicles already parked are rejected.
+     *    c. Occupy the lowest available slots (one locking query) and create the Active Sessions with one JDBC batch.
+     *    A lot whose transaction fails only fails its own items.
+     * @param requests The entries in the order the gate read them.
+     * @return One result per request, in request order.
+     */
+    @Override
+    public List<BatchItemResultDto<ParkingTicketDto>> enterVehicles(List<EntryRequestDto> requests){
+        List<BatchItemResultDto<ParkingTicketDto>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+
+        // 1. Normalized plate -> request index, for every item still in play.
+        Map<String, Integer> pending = validateItems(requests, EntryRequestDto::getVehicleNumber, results);
+
+        // 2. Check the Parking Lots exist.
+        Set<Long> lotIds = pending.values().stream().map(i -> requests.get(i).getParkingLotId()).collect(Collectors.toSet());
+        Map<Long, ParkingLot> lots = parkingLotRepository.findAllById(lotIds).stream()
+                .collect(Collectors.toMap(ParkingLot::getId, Function.identity()));
+        rejectIf(pending, results, (plate, index) -> lots.containsKey(requests.get(index).getParkingLotId()) ? null : "Parking Lot not found");
+
+        // 3. Enter lot by lot, each in its own transaction.
+        groupByLot(pending, index -> requests.get(index).getParkingLotId()).forEach((lotId, plates) -> {
+            Set<Long> claimed = new HashSet<>();
+            try {
+                inLotTransaction(lotId, plates, pending, results, "Entry could not be recorded. Please retry.",
+                        () -> enterLot(lotId, plates, requests, pending, results, claimed));
+            } finally {
+                // Claims of vehicles that did not get in (lot full, rolled back) are given back.
+                parkingSessionService.releaseActiveSessionClaims(claimed);
+            }
+        });
+
+        return results;
+    }
+
+    // One lot's share of a batch entry. Rejected items are recorded as failed; returns the tickets of the rest.
+    private Map<String, ParkingTicketDto> enterLot(Long lotId, List<String> plates, List<EntryRequestDto> requests, Map<String, Integer> pending,
+                                                   List<BatchItemResultDto<ParkingTicketDto>> results, Set<Long> claimed){
+        // 1. Create or Find the vehicles. A plate registered with another type is rejected.
+        Map<String, VehicleType> requestedTypes = new HashMap<>();
+        plates.forEach(plate -> requestedTypes.put(plate, requests.get(pending.get(plate)).getVehicleType()));
+        Map<String, Vehicle> vehicles = vehicleService.findOrCreateVehicles(requestedTypes);
+
+        List<String> admitted = new ArrayList<>();
+        for (String plate : plates){
+            int index = pending.get(plate);
+            EntryRequestDto request = requests.get(index);
+            Vehicle vehicle = vehicles.get(plate);
+            if (vehicle.getVehicleType() == request.getVehicleType()) admitted.add(plate);
+            else results.set(index, failed(index, plate, "Vehicle " + request.getVehicleNumber() + " is registered as "
+                    + vehicle.getVehicleType() + ". Cannot process as " + request.getVehicleType()));
+        }
+
+        // 2. Claim the vehicles before any slot is taken: one that is parked, or being parked by a concurrent
+        //    entry, is turned away here instead of failing the lot at insert time.
+        claimed.addAll(parkingSessionService.claimActiveSessions(admitted.stream().map(plate -> vehicles.get(plate).getId()).toList()));
+        admitted.removeIf(plate -> {
+            if (claimed.contains(vehicles.get(plate).getId())) return false;
+            int index = pending.get(plate);
+            results.set(index, failed(index, plate, "Vehicle with same ID is already under Active Session."));
+            return true;
+        });
+
+        // 3. Occupy slots; vehicles beyond the lot's free slots are turned away.
+        List<ParkingSlot> slots = parkingSlotService.occupyAvailableSlots(lotId, admitted.size());
+
+        List<ParkingSession> sessions = new ArrayList<>();
+        for (int i = 0; i < admitted.size(); i++){
+            String plate = admitted.get(i);
+            if (i < slots.size()){
+                sessions.add(ParkingSession.builder().vehicle(vehicles.get(plate)).parkingSlot(slots.get(i)).build());
+            } else {
+                int index = pending.get(plate);
+                results.set(index, failed(index, plate, "Parking lot is full "));
+            }
+        }
+        Map<String, ParkingTicketDto> tickets = new LinkedHashMap<>();
+        if (sessions.isEmpty()) return tickets;
+
+        // 4. Start the Sessions in one JDBC batch.
+        parkingSessionService.createSessions(sessions);
+
+        // 5. Trigger Kafka Updates: one per session, one slot update for the lot.
+        for (ParkingSession session : sessions){
+            eventProducer.sendUpdate(SessionUpdateDto.builder()
+                    .type("SESSION_ENTRY")
+                    .lotId(lotId)
+                    .session(parkingSessionMapper.convertToSessionDTO(session))
+                    .build());
+            tickets.put(session.getVehicle().getVehicleNumber(), ParkingMapper.toTicketDTO(session));
+        }
+        eventProducer.sendSlotUpdate(lotId, "ENTRY");
+        return tickets;
+    }
+
+    /**
+     * Workflow for a batch of Vehicle Exits.
+     * 1. Validate each item, reject repeated plates.
+     * 2. Per requested lot, in its own transaction:
+     *    a. Load the Active Sessions with vehicle, slot and lot (one query).
+     *    b. Bill each vehicle against the lot's occupancy, read once before any slot is freed.
+     *    c. Close the Sessions and free their slots; the updates are flushed as JDBC batches.
+     *    A lot whose transaction fails (e.g. a single exit closed one of its sessions first) only fails its own items.
+     * @param requests The exits in the order the gate read them.
+     * @return One result per request, in request order.
+     */
+    @Override
+    public List<BatchItemResultDto<BillDto>> exitVehicles(List<ExitRequestDto> requests){
+        List<BatchItemResultDto<BillDto>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+
+        // 1. Normalized plate -> request index, for every item still in play.
+        Map<String, Integer> pending = validateItems(requests, ExitRequestDto::getVehicleNumber, results);
+
+        // 2. Exit lot by lot, each in its own transaction.
+        groupByLot(pending, index -> requests.get(index).getParkingLotId()).forEach((lotId, plates) ->
+                inLotTransaction(lotId, plates, pending, results, "Exit could not be recorded. Please retry.",
+                        () -> exitLot(lotId, plates, pending, results)));
+
+        return results;
+    }
+
+    // One lot's share of a batch exit. Rejected items are recorded as failed; returns the bills of the rest.
+    private Map<String, BillDto> exitLot(Long lotId, List<String> plates, Map<String, Integer> pending, List<BatchItemResultDto<BillDto>> results){
+        // 1. Fetching, inside this transaction, so the session and slot changes below are flushed with it.
+        Map<String, ParkingSession> sessions = parkingSessionService.findActiveSessionsByVehicleNumbers(plates).stream()
+                .collect(Collectors.toMap(s -> s.getVehicle().getVehicleNumber(), Function.identity()));
+
+        LocalDateTime exitTime = LocalDateTime.now();
+        int occupiedSlots = sessions.isEmpty() ? 0 : parkingLotRepository.findOccupiedSlotsById(lotId).orElse(0);
+        List<ParkingSlot> slotsToRelease = new ArrayList<>();
+        Map<String, BillDto> bills = new LinkedHashMap<>();
+
+        for (String plate : plates){
+            int index = pending.get(plate);
+
+            ParkingSession session = sessions.get(plate);
+            if (session == null){
+                results.set(index, failed(index, plate, "No active session found."));
+                continue;
+            }
+
+            // To validate if the Vehicle is affiliated with the given Parking Lot only
+            ParkingLot lot = session.getParkingSlot().getParkingLot();
+            if (!lot.getId().equals(lotId)){
+                results.set(index, failed(index, plate, "Vehicle is not parked in Parking Lot Id: " + lotId));
+                continue;
+            }
+
+            // 2. Calculation
+            long duration;
+            BillingResultDto billResult;
+            try {
+                duration = ParkingUtils.calculateDurationInMinutes(session.getEntryTime(), exitTime);
+                billResult = billingService.calculateBillForOccupancy(
+                        session.getEntryTime(), exitTime, lot.getBasePricePerHourPaise(), occupiedSlots, lot.getTotalSlots(),
+                        lot.getId(), session.getVehicle().getVehicleType());
+            } catch (BusinessException e){
+                results.set(index, failed(index, plate, e.getMessage()));
+                continue;
+            }
+
+            // 3. Execution
+            parkingSessionService.endSession(session, exitTime, billResult.getTotalAmountPaise());
+            slotsToRelease.add(session.getParkingSlot());
+
+            eventProducer.sendUpdate(SessionUpdateDto.builder()
+                    .type("SESSION_END")
+                    .lotId(lotId)
+                    .session(parkingSessionMapper.convertToSessionDTO(session))
+                    .build());
+
+            bills.put(plate, ParkingMapper.toBillDTO(session, billResult, duration));
+        }
+
+        // 4. Free the lot's slots at once and trigger one slot update.
+        if (!slotsToRelease.isEmpty()){
+            parkingSlotService.releaseSlots(slotsToRelease);
+            eventProducer.sendSlotUpdate(lotId, "EXIT");
+        }
+        return bills;
+    }
+
+    // Lot id -> the pending plates requested for it, in request order.
+    private static Map<Long, List<String>> groupByLot(Map<String, Integer> pending, Function<Integer, Long> lotOfRequest){
+        Map<Long, List<String>> platesByLot = new LinkedHashMap<>();
+        pending.forEach((plate, index) -> platesByLot.computeIfAbsent(lotOfRequest.apply(index), id -> new ArrayList<>()).add(plate));
+        return platesByLot;
+    }
+
+    /**
+     * Runs one lot's share of a batch in its own transaction and records its successes once it has committed.
+     * Items the lot rejected stay rejected. If the transaction fails, the lot's other items are recorded as failed
+     * instead of failing the batch.
+     */
+    private <T> void inLotTransaction(Long lotId, List<String> plates, Map<String, Integer> pending, List<BatchItemResultDto<T>> results,
+                                      String retryMessage, Supplier<Map<String, T>> lotWork){
+        try {
+            Map<String, T> done = transactionTemplate.execute(status -> lotWork.get());
+            done.forEach((plate, result) -> {
+                int index = pending.get(plate);
+                results.set(index, succeeded(index, plate, result));
+            });
+        } catch (RuntimeException e){
+            log.error("Batch operation on lot {} rolled back: {}", lotId, e.getMessage());
+            String error = e instanceof BusinessException ? e.getMessage()
+                    : e instanceof OptimisticLockingFailureException ? "A session was modified by another transaction. Please retry."
+                    : retryMessage;
+            for (String plate : plates){
+                int index = pending.get(plate);
+                if (results.get(index) == null) results.set(index, failed(index, plate, error));
+            }
+        }
+    }
+
+    /**
+     * Runs the bean validation that @Valid runs for a single request, item by item.
+     * Invalid items and repeats of a plate already in the batch are recorded as failed.
+     * @return normalized plate -> request index for the items that passed, in request order.
+     */
+    private <R, T> Map<String, Integer> validateItems(List<R> requests, Function<R, String> vehicleNumber, List<BatchItemResultDto<T>> results){
+        Map<String, Integer> pending = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++){
+            R request = requests.get(i);
+            if (request == null){
+                results.set(i, failed(i, null, "Request item cannot be empty."));
+                continue;
+            }
+
+            Set<ConstraintViolation<R>> violations = validator.validate(request);
+            if (!violations.isEmpty()){
+                String error = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results.set(i, failed(i, vehicleNumber.apply(request), error));
+                continue;
+            }
+
+            String plate = ParkingUtils.normalizeVehicleNumber(vehicleNumber.apply(request));
+            if (pending.putIfAbsent(plate, i) != null){
+                results.set(i, failed(i, plate, "Vehicle appears more than once in this batch."));
+            }
+        }
+        return pending;
+    }
+
+    // Drops every pending item for which the check returns an error message, recording it as failed.
+    private <T> void rejectIf(Map<String, Integer> pending, List<BatchItemResultDto<T>> results, BiFunction<String, Integer, String> check){
+        pending.entrySet().removeIf(item -> {
+            String error = check.apply(item.getKey(), item.getValue());
+            if (error == null) return false;
+            results.set(item.getValue(), failed(item.getValue(), item.getKey(), error));
+            return true;
+        });
+    }
+
+    private static <T> BatchItemResultDto<T> succeeded(int index, String vehicleNumber, T result){
+        return BatchItemResultDto.<T>builder().index(index).vehicleNumber(vehicleNumber).success(true).result(result).build();
+    }
+
+    private static <T> BatchItemResultDto<T> failed(int index, String vehicleNumber, String error){
+        return BatchItemResultDto.<T>builder().index(index).vehicleNumber(vehicleNumber).success(false).error(error).build();
+    }
+}
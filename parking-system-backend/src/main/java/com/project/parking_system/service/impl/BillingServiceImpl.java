@@ -1,10 +1,13 @@
 package com.project.parking_system.service.impl;
 
+import com.project.parking_system.cache.TariffRegistry;
 import com.project.parking_system.config.AppConstants;
 import com.project.parking_system.dto.BillingResultDto;
-import com.project.parking_system.enums.SlotStatus;
-import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.ParkingLotRepository;
 import com.project.parking_system.service.BillingService;
+import com.project.parking_system.utils.CompiledTariff;
+import com.project.parking_system.utils.Money;
 import com.project.parking_system.utils.ParkingUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,8 +17,9 @@ import java.time.LocalDateTime;
 /**
  * Implementation of the Dynamic Billing Logic.
  * Core Rules:
- * 1. First 30 minutes are free.
- * 2. After that, charged per hour (or part thereof).
+ * 1. The lot's tariff decides the free minutes, the hourly rate per time of day and vehicle type, and the daily cap.
+ *    Lots without a tariff: first 30 minutes free, then the base price for every hour.
+ * 2. After the free minutes, charged per hour (or part thereof).
  * 3. Dynamic Multiplier based on current lot occupancy percentage.
  */
 
@@ -23,46 +27,69 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class BillingServiceImpl implements BillingService {
 
-    private final ParkingSlotRepository parkingSlotRepository;
+    private final ParkingLotRepository parkingLotRepository;
+    private final TariffRegistry tariffRegistry;
 
     /**
      * Calculates the final bill amount based on parking duration and current lot occupancy.
      * With Implementation of Dynamic Billing Logic
      * @param entryTime The timestamp of the vehicle's entry.
      * @param exitTime The timestamp of the vehicle's exit.
-     * @param basePricePerHour The base hourly rate for the parking lot.
-     * @param parkingLotId The ID of the lot, used to calculate occupancy.
+     * @param basePricePerHourPaise The base hourly rate for the parking lot, in paise.
+     * @param parkingLotId The ID of the lot, used to calculate occupancy and find its tariff.
      * @param totalSlots The total capacity of the lot.
-     * @return A {@link BillingResultDto} DTO containing the total amount, applied multiplier, and billable hours.
+     * @param vehicleType The type of the exiting vehicle, tariffs may charge types differently.
+     * @return A {@link BillingResultDto} DTO containing the total amount (paise), applied multiplier, and billable hours.
      */
     @Override
-    public BillingResultDto calculateBill(LocalDateTime entryTime, LocalDateTime exitTime, Double basePricePerHour, Long parkingLotId, Integer totalSlots){
+    public BillingResultDto calculateBill(LocalDateTime entryTime, LocalDateTime exitTime, long basePricePerHourPaise, Long parkingLotId, Integer totalSlots, VehicleType vehicleType){
+
+        // Gets the count of OCCUPIED slots in a Parking Lot (denormalized counter, no COUNT over slots)
+        long occupiedSlots = parkingLotRepository.findOccupiedSlotsById(parkingLotId).orElse(0);
+
+        return calculateBillForOccupancy(entryTime, exitTime, basePricePerHourPaise, occupiedSlots, totalSlots, parkingLotId, vehicleType);
+    }
+
+    @Override
+    public BillingResultDto calculateBillForOccupancy(LocalDateTime entryTime, LocalDateTime exitTime, long basePricePerHourPaise, long occupiedSlots, Integer totalSlots, Long parkingLotId, VehicleType vehicleType){
 
         // UTILS
         long minutes = ParkingUtils.calculateDurationInMinutes(entryTime, exitTime);
 
         // 2. Occupancy Multiplier Logic
-        double multiplier = getOccupancyMultiplier(parkingLotId, totalSlots);
+        int multiplierPercent = getOccupancyMultiplierPercent(occupiedSlots, totalSlots);
+        double multiplier = multiplierPercent / 100.0;
+
+        // 3. Lot with its own tariff: everything is read off the precompiled table.
+        CompiledTariff tariff = tariffRegistry.find(parkingLotId);
+        if (tariff != null) {
+            int entryMinuteOfDay = entryTime.getHour() * 60 + entryTime.getMinute();
+            return BillingResultDto.builder()
+                    .totalAmountPaise(tariff.amountPaise(vehicleType, entryMinuteOfDay, minutes, multiplierPercent))
+                    .appliedMultiplier(multiplier)
+                    .billableHours(tariff.billableHours(minutes))
+                    .build();
+        }
 
         // If the parking minutes is less than 30 minutes then the session charges no money.
         if (minutes <= AppConstants.FREE_PARKING_MINUTES) {
-            return BillingResultDto.builder().totalAmount(0.0)
+            return BillingResultDto.builder().totalAmountPaise(0)
                     .appliedMultiplier(multiplier).billableHours(0L).build();
         }
 
         // Subtracting 30minutes of free session
-        long chargeableMinutes = minutes - 30;
+        long chargeableMinutes = minutes - AppConstants.FREE_PARKING_MINUTES;
 
         // 2. Converting the minutes into Hours
         // Logic: Charge per hour (or part thereof).
         // Example: 61 minutes = 2 hours charged.
         long billableHours = (long) Math.ceil(chargeableMinutes / 60.0);
 
-        // Formula: hours * basePrice * multiplier
-        double totalAmount =  billableHours * basePricePerHour * multiplier;
+        // Formula: hours * basePrice * multiplier, in whole paise
+        long totalAmountPaise = Money.applyPercent(billableHours * basePricePerHourPaise, multiplierPercent);
 
         return BillingResultDto.builder()
-                .totalAmount(totalAmount)
+                .totalAmountPaise(totalAmountPaise)
                 .appliedMultiplier(multiplier)
                 .billableHours(billableHours)
                 .build();
@@ -70,22 +97,19 @@ public class BillingServiceImpl implements BillingService {
 
     /**
      * Helper Function: Helps Determine if there is an Increase in amount depending on the available slots in the parking Lot.
-     * @param parkingLotId The ID of the lot.
+     * @param occupiedSlots The number of OCCUPIED slots in the lot.
       * @param totalSlots The total capacity of the lot.
-     * @return The calculated price multiplier.
+     * @return The calculated price multiplier, in percent.
      */
-    private double getOccupancyMultiplier(Long parkingLotId, Integer totalSlots){
-
-        // Gets the count of OCCUPIED slots in a Parking Lot
-        long occupiedSlots = parkingSlotRepository.countByParkingLotIdAndSlotStatus(parkingLotId, SlotStatus.OCCUPIED);
+    private int getOccupancyMultiplierPercent(long occupiedSlots, Integer totalSlots){
 
         // Convert the count of occupied slots into percentage coverage.
         double occupancyPercentage = ((double) occupiedSlots / totalSlots) * 100;
 
         // Simple if else statements to determine that Percentage increase in total amount.
-        if (occupancyPercentage <= 50) return AppConstants.MULTIPLIER_STANDARD;
-        else if (occupancyPercentage <= 80) return AppConstants.MULTIPLIER_MEDIUM_DEMAND;
-        else return AppConstants.MULTIPLIER_HIGH_DEMAND;
+        if (occupancyPercentage <= 50) return AppConstants.MULTIPLIER_STANDARD_PERCENT;
+        else if (occupancyPercentage <= 80) return AppConstants.MULTIPLIER_MEDIUM_DEMAND_PERCENT;
+        else return AppConstants.MULTIPLIER_HIGH_DEMAND_PERCENT;
 
 
     }
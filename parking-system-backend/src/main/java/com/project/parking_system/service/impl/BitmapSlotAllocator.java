@@ -0,0 +1,148 @@
+package com.project.parking_system.service.impl;
+
+import com.project.parking_system.entity.ParkingSlot;
+import com.project.parking_system.enums.SlotStatus;
+import com.project.parking_system.exception.BusinessException;
+import com.project.parking_system.exception.ResourceNotFoundException;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.repository.projection.SlotStateView;
+import com.project.parking_system.service.SlotAllocator;
+import com.project.parking_system.utils.FreeSlotBitmap;
+import com.project.parking_system.utils.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory allocation strategy (parking.slot-allocation.mode=bitmap).
+ * Keeps a free-slot bitmap per lot and claims the lowest free slot with a lock-free CAS,
+ * so an entry only touches the single chosen row in MySQL instead of locking every available slot.
+ * <p>
+ * The database stays the source of truth: the claim is confirmed with a conditional UPDATE
+ * (AVAILABLE -> OCCUPIED). A stale bit (e.g. a row changed by hand) simply fails that update and the next
+ * free slot is tried. Batch entries claim several positions and lock those rows with one query instead.
+ * Bits are given back when the entry transaction rolls back, and only marked free again after an exit has committed.
+ * Assumes this instance is the only writer of slots, as in the current single-instance deployment (see
+ * ActiveSessionIndex): every release goes through onSlotReleased(), so an empty bitmap means a full lot and
+ * is answered without touching the database.
+ */
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "parking.slot-allocation.mode", havingValue = "bitmap")
+public class BitmapSlotAllocator implements SlotAllocator {
+
+    private final ParkingSlotRepository parkingSlotRepository;
+    private final ParkingLotRepository parkingLotRepository;
+
+    // K: Lot ID | V: Free-slot bitmap and slot ids of that lot
+    private final Map<Long, LotSlots> lots = new ConcurrentHashMap<>();
+
+    // Rebuilds every lot's bitmap from parking_slots once the application has started.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Long> lotIds = parkingLotRepository.findAllIds();
+        lotIds.forEach(lotId -> lots.put(lotId, load(lotId)));
+        log.info("Rebuilt free-slot bitmaps for {} parking lots", lotIds.size());
+    }
+
+    @Override
+    public ParkingSlot allocate(Long parkingLotId) {
+        LotSlots lotSlots = lots.computeIfAbsent(parkingLotId, this::load);
+
+        while (true) {
+            int position = lotSlots.bitmap.claimLowestFree();
+
+            if (position < 0) throw new BusinessException("Parking lot is full ");
+
+            Long slotId = lotSlots.slotIds[position];
+            if (slotId == null) continue;    // Gap in slot numbering, never a real slot.
+
+            // Only the chosen row is written. 0 rows means the bit was stale: keep it cleared and try the next one.
+            if (parkingSlotRepository.updateSlotStatusIfCurrent(slotId, SlotStatus.AVAILABLE, SlotStatus.OCCUPIED) == 1) {
+                releaseOnRollback(lotSlots.bitmap, position);
+                return parkingSlotRepository.findById(slotId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Slot not found"));
+            }
+        }
+    }
+
+    // Batch claim: takes the positions first, then locks those rows in one query. Rows that are no longer
+    // available (stale bits) stay cleared and more positions are taken, until 'count' slots are locked or the lot is full.
+    @Override
+    public List<ParkingSlot> allocate(Long parkingLotId, int count) {
+        LotSlots lotSlots = lots.computeIfAbsent(parkingLotId, this::load);
+        List<ParkingSlot> slots = new ArrayList<>();
+
+        while (slots.size() < count) {
+            // 1. Claim positions for the slots still missing. K: Slot ID | V: Position
+            Map<Long, Integer> claimed = new HashMap<>();
+            while (claimed.size() < count - slots.size()) {
+                int position = lotSlots.bitmap.claimLowestFree();
+                if (position < 0) break;
+                Long slotId = lotSlots.slotIds[position];
+                if (slotId != null) claimed.put(slotId, position);
+            }
+
+            // The lot is full.
+            if (claimed.isEmpty()) break;
+
+            // 2. Lock the claimed rows that are still available.
+            for (ParkingSlot slot : parkingSlotRepository.findByIdInAndSlotStatus(claimed.keySet(), SlotStatus.AVAILABLE)) {
+                releaseOnRollback(lotSlots.bitmap, claimed.get(slot.getId()));
+                slots.add(slot);
+            }
+        }
+        slots.sort(Comparator.comparing(ParkingSlot::getSlotNumber));
+        return slots;
+    }
+
+    @Override
+    public void onSlotReleased(Long parkingLotId, Integer slotNumber) {
+        LotSlots lotSlots = lots.get(parkingLotId);
+        // Lots that were never loaded will read the freed slot from the database on first use.
+        if (lotSlots == null || slotNumber > lotSlots.bitmap.capacity()) return;
+        lotSlots.bitmap.markFree(slotNumber - 1);
+    }
+
+    @Override
+    public void onLotSlotsChanged(Long parkingLotId) {
+        // Drop the bitmap; it is reloaded from the database on the next entry into this lot.
+        lots.remove(parkingLotId);
+    }
+
+    // Builds the bitmap for one lot from its current slot rows.
+    private LotSlots load(Long parkingLotId) {
+        List<SlotStateView> slots = parkingSlotRepository.findSlotStatesByParkingLotId(parkingLotId);
+
+        int capacity = slots.stream().mapToInt(SlotStateView::getSlotNumber).max().orElse(0);
+        FreeSlotBitmap bitmap = new FreeSlotBitmap(capacity);
+        Long[] slotIds = new Long[capacity];
+
+        for (SlotStateView slot : slots) {
+            int position = slot.getSlotNumber() - 1;
+            slotIds[position] = slot.getId();
+            if (slot.getSlotStatus() == SlotStatus.AVAILABLE) bitmap.markFree(position);
+        }
+        return new LotSlots(bitmap, slotIds);
+    }
+
+    // Hands the claimed bit back if the entry transaction does not commit.
+    private void releaseOnRollback(FreeSlotBitmap bitmap, int position) {
+        TransactionHooks.afterRollback(() -> bitmap.markFree(position));
+    }
+
+    private record LotSlots(FreeSlotBitmap bitmap, Long[] slotIds) {}
+}
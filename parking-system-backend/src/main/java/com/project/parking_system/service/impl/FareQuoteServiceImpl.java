@@ -0,0 +1,79 @@
+package com.project.parking_system.service.impl;
+
+import com.project.parking_system.cache.ActiveSessionIndex;
+import com.project.parking_system.cache.ActiveSessionIndex.ActiveSession;
+import com.project.parking_system.cache.LotSnapshotCache;
+import com.project.parking_system.cache.LotSnapshotCache.LotSnapshot;
+import com.project.parking_system.dto.BillingResultDto;
+import com.project.parking_system.dto.FareQuoteDto;
+import com.project.parking_system.exception.ResourceNotFoundException;
+import com.project.parking_system.service.BillingService;
+import com.project.parking_system.service.FareQuoteService;
+import com.project.parking_system.utils.Money;
+import com.project.parking_system.utils.ParkingUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of live fare quotes.
+ * Nothing here touches the database on the hot path: sessions come from the ActiveSessionIndex, occupancy
+ * and base price from the LotSnapshotCache, and the amount from BillingService with that occupancy
+ * (which uses the lot's compiled tariff). No transaction, no locks, no slot rows.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class FareQuoteServiceImpl implements FareQuoteService {
+
+    private final ActiveSessionIndex activeSessionIndex;
+    private final LotSnapshotCache lotSnapshotCache;
+    private final BillingService billingService;
+
+    @Override
+    public FareQuoteDto quoteSession(Long sessionId) {
+        ActiveSession session = activeSessionIndex.findBySessionId(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("No active session found."));
+        return quote(session, findLot(session.lotId()), LocalDateTime.now());
+    }
+
+    @Override
+    public List<FareQuoteDto> quoteLot(Long lotId) {
+        LotSnapshot lot = findLot(lotId);
+
+        // One clock reading for the whole lot, so every quote on the screen is as of the same moment.
+        LocalDateTime now = LocalDateTime.now();
+        List<ActiveSession> sessions = activeSessionIndex.findByLot(lotId);
+        List<FareQuoteDto> quotes = new ArrayList<>(sessions.size());
+        for (ActiveSession session : sessions) quotes.add(quote(session, lot, now));
+        return quotes;
+    }
+
+    private LotSnapshot findLot(Long lotId) {
+        return lotSnapshotCache.find(lotId).orElseThrow(() -> new ResourceNotFoundException("Parking lot not found by id " + lotId));
+    }
+
+    private FareQuoteDto quote(ActiveSession session, LotSnapshot lot, LocalDateTime now) {
+        // A session that started a moment ago on another clock must not fail the whole quote.
+        LocalDateTime quotedAt = now.isBefore(session.entryTime()) ? session.entryTime() : now;
+
+        BillingResultDto bill = billingService.calculateBillForOccupancy(session.entryTime(), quotedAt,
+                lot.basePricePerHourPaise(), lot.occupiedSlots(), lot.totalSlots(), lot.lotId(), session.vehicleType());
+
+        return FareQuoteDto.builder()
+                .sessionId(session.sessionId())
+                .vehicleNumber(session.vehicleNumber())
+                .vehicleType(session.vehicleType())
+                .parkingLotId(lot.lotId())
+                .entryTime(session.entryTime())
+                .quotedAt(quotedAt)
+                .duration(ParkingUtils.calculateDurationInMinutes(session.entryTime(), quotedAt))
+                .billableHours(bill.getBillableHours())
+                .occupancyMultiplier(bill.getAppliedMultiplier())
+                .amount(Money.toRupees(bill.getTotalAmountPaise()))
+                .build();
+    }
+}
@@ -1,28 +1,30 @@
 package com.project.parking_system.service.impl;
 
+import com.project.parking_system.cache.TariffRegistry;
 import com.project.parking_system.dto.ParkingLotDto;
 import com.project.parking_system.dto.ParkingLotRequestDto;
 import com.project.parking_system.dto.kafka.LotUpdateDto;
 import com.project.parking_system.entity.ParkingLot;
-import com.project.parking_system.entity.ParkingSession;
-import com.project.parking_system.entity.ParkingSlot;
 import com.project.parking_system.enums.SessionStatus;
-import com.project.parking_system.enums.SlotStatus;
 import com.project.parking_system.exception.BusinessException;
 import com.project.parking_system.exception.ResourceNotFoundException;
 import com.project.parking_system.mapper.ParkingLotMapper;
 import com.project.parking_system.repository.ParkingLotRepository;
 import com.project.parking_system.repository.ParkingSessionRepository;
-import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.repository.TariffRepository;
 import com.project.parking_system.service.ParkingEventProducer;
 import com.project.parking_system.service.ParkingLotService;
 import com.project.parking_system.service.ParkingSlotService;
+import com.project.parking_system.utils.Money;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.IntSupplier;
 
 /**
  * Implementation of ParkingLot management.
@@ -30,15 +32,36 @@ import java.util.List;
  * and the automatic generation of its internal slots.
  */
 
+@Slf4j
 @Service
-@RequiredArgsConstructor  // Creates a constructor for all final fields (Dependency Injection).
 public class ParkingLotServiceImpl implements ParkingLotService {
 
     private final ParkingLotRepository parkingLotRepository;
     private final ParkingSlotService parkingSlotService;
-    private final ParkingSlotRepository parkingSlotRepository;
     private final ParkingSessionRepository parkingSessionRepository;
     private final ParkingEventProducer eventProducer;
+    private final TariffRepository tariffRepository;
+    private final TariffRegistry tariffRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final int deletionChunkSize;
+
+    public ParkingLotServiceImpl(ParkingLotRepository parkingLotRepository,
+                                 ParkingSlotService parkingSlotService,
+                                 ParkingSessionRepository parkingSessionRepository,
+                                 ParkingEventProducer eventProducer,
+                                 TariffRepository tariffRepository,
+                                 TariffRegistry tariffRegistry,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${parking.lot-deletion.chunk-size:5000}") int deletionChunkSize) {
+        this.parkingLotRepository = parkingLotRepository;
+        this.parkingSlotService = parkingSlotService;
+        this.parkingSessionRepository = parkingSessionRepository;
+        this.eventProducer = eventProducer;
+        this.tariffRepository = tariffRepository;
+        this.tariffRegistry = tariffRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.deletionChunkSize = deletionChunkSize;
+    }
 
     //Creates a new lot.
     //Transactional: Ensures that both the Lot and its Slots are saved. If slot generation fails, the Lot is rolled back.
@@ -62,26 +85,21 @@ public class ParkingLotServiceImpl implements ParkingLotService {
         LotUpdateDto update = LotUpdateDto.builder().type("LOT_CREATED").lot(dto).build();
         eventProducer.sendUpdate(update);
 
-        dto.setAvailableSlots(savedLot.getTotalSlots());
-
         return dto;
     }
 
     @Override
     public List<ParkingLotDto> getAllParkingLots() {
 
-        // 1. Fetch all entities from DB
-        List<ParkingLot> lots = parkingLotRepository.findAll();
-
-        // 2. Convert List<Entity> -> List<DTO> using Java Streams
-        return lots.stream().map(lot -> {
-            ParkingLotDto dto = ParkingLotMapper.toDto(lot);
-            // Calculate available slots dynamically
-            long available = parkingSlotRepository.countByParkingLotIdAndSlotStatus(lot.getId(), SlotStatus.AVAILABLE);
-            dto.setAvailableSlots((int) available);
-            return dto;
-        }).toList();
+        // 1. One query returns every lot together with its available count (no per-lot COUNT).
+        // 2. Convert List<Projection> -> List<DTO> using Java Streams
+        return parkingLotRepository.findAllWithAvailability().stream().map(ParkingLotMapper::toDto).toList();
+    }
 
+    @Override
+    public List<ParkingLotDto> getParkingLotsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        return parkingLotRepository.findAllWithAvailabilityByIdIn(ids).stream().map(ParkingLotMapper::toDto).toList();
     }
 
     @Override
@@ -91,12 +109,8 @@ public class ParkingLotServiceImpl implements ParkingLotService {
         ParkingLot currentLot = parkingLotRepository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException("Parking lot not found by id " + id)
         );
-        ParkingLotDto dto = ParkingLotMapper.toDto(currentLot);
-
-        // 2. Calculate dynamic availability
-        long available = parkingSlotRepository.countByParkingLotIdAndSlotStatus(id, SlotStatus.AVAILABLE);
-        dto.setAvailableSlots((int) available);
-        return dto;
+        // 2. Availability is derived from the lot's occupancy counter
+        return ParkingLotMapper.toDto(currentLot);
     }
 
     /**
@@ -114,79 +128,94 @@ public class ParkingLotServiceImpl implements ParkingLotService {
 
     // 3. Handle Slot Expansion (If new total is higher)
     if (request.getTotalSlots() > currentLot.getTotalSlots()) {
-            int startSlot = currentLot.getTotalSlots() + 1;
-            int endSlot = request.getTotalSlots();
-
-            List<ParkingSlot> newSlots = new ArrayList<>();
-            for (int i = startSlot; i <= endSlot; i++) {
-                newSlots.add(ParkingSlot.builder()
-                        .slotNumber(i)
-                        .slotStatus(SlotStatus.AVAILABLE)
-                        .parkingLot(currentLot)
-                        .build());
-            }
-            parkingSlotRepository.saveAll(newSlots);
+            parkingSlotService.expandSlotsForLot(currentLot, request.getTotalSlots());
         }
 
         // 4. Update Fields
         currentLot.setName(request.getName());
         currentLot.setLocation(request.getLocation());
-        currentLot.setBasePricePerHour(request.getBasePricePerHour());
+        currentLot.setBasePricePerHourPaise(Money.toPaise(request.getBasePricePerHour()));
         currentLot.setTotalSlots(request.getTotalSlots());
 
         // 5. Save & Convert
         ParkingLot savedLot = parkingLotRepository.save(currentLot);
 
+        // Hours outside the tariff's bands are charged at the base price, which may just have changed.
+        tariffRegistry.refresh(id);
+
         // Recalculate available slots
         ParkingLotDto dto = ParkingLotMapper.toDto(savedLot);
 
         LotUpdateDto update = LotUpdateDto.builder().type("LOT_UPDATED").lot(dto).build();
         eventProducer.sendUpdate(update);
 
-        long available = parkingSlotRepository.countByParkingLotIdAndSlotStatus(savedLot.getId(), SlotStatus.AVAILABLE);
-        dto.setAvailableSlots((int) available);
-
         return dto;
     }
 
     // To delete a Parking Lot
+    // Not one transaction: the history goes first in bounded chunks, each committed on its own, so a lot with a
+    // year of sessions never holds a long transaction. Only the last step (slots, tariff, lot, event) is atomic.
+    // If a vehicle enters while the history is being removed, that last step refuses and the lot stays,
+    // minus the history already removed.
     @Override
-    @Transactional
     public void deleteParkingLot(Long id){
-        // 1. Checks if the lot exists
-        ParkingLot currentLot = parkingLotRepository.findById(id)
+        // 1. Checks if the lot exists and has no Active Session, before anything is removed.
+        if (!parkingLotRepository.existsById(id)) throw new ResourceNotFoundException("Lot not found");
+        requireNoActiveSessions(id);
+
+        // 2. History Cleanup (Sessions -> Archived Sessions), chunk by chunk, with bulk deletes.
+        long sessions = deleteInChunks(() -> parkingSessionRepository.deleteClosedByLotId(id, deletionChunkSize));
+        long archived = deleteInChunks(() -> parkingSessionRepository.deleteArchivedByLotId(id, deletionChunkSize));
+        log.info("Removed {} sessions and {} archived sessions of lot {}", sessions, archived, id);
+
+        // 3. The lot itself, in one short transaction.
+        transactionTemplate.executeWithoutResult(status -> deleteLot(id));
+    }
+
+    private void deleteLot(Long id){
+        // 1. Lock the lot: entries and exits update its counter, so none can start until this commits.
+        ParkingLot currentLot = parkingLotRepository.findByIdForUpdate(id)
                 .orElseThrow(()-> new ResourceNotFoundException("Lot not found"));
 
         // 2. PRE-MAPPING: Create the DTO before we delete the record
         // We need this DTO so the Notification Service knows WHICH ID to remove from the frontend list
         ParkingLotDto lotDto = ParkingLotMapper.toDto(currentLot);
 
-        // 3. Finds the total Active Session in that ParkingLot
-        List<ParkingSession> activeSessions = parkingSessionRepository
-                .findByParkingSlotParkingLotIdAndSessionStatus(id, SessionStatus.ACTIVE);
-
-        // 4. Validation
-        if (!activeSessions.isEmpty()) {
-            throw new BusinessException("Cannot delete a Parking lot with Active Parking Session.");
-        }
+        // 3. Validation, again: a vehicle may have entered while the history was being removed.
+        requireNoActiveSessions(id);
 
-        // 5. Data Cleanup (Sessions -> Slots)
-        List<ParkingSession> allSessions = parkingSessionRepository.findByParkingSlotParkingLotId(id);
-        parkingSessionRepository.deleteAll(allSessions);
+        // 4. Data Cleanup (Sessions closed since step 2 -> Slots -> Tariff)
+        parkingSessionRepository.deleteClosedByLotId(id, Integer.MAX_VALUE);
+        parkingSlotService.deleteSlotsForLot(id);
 
-        List<ParkingSlot> allSlots = parkingSlotRepository.findByParkingLotIdOrderBySlotNumberAsc(id);
-        parkingSlotRepository.deleteAll(allSlots);
+        tariffRepository.deleteById(id);
+        tariffRegistry.refresh(id);
 
-        // 6. Kafka Notification: Tell the world this lot is gone
+        // 5. Kafka Notification: Tell the world this lot is gone
         LotUpdateDto update = LotUpdateDto.builder()
                 .type("LOT_DELETED")
                 .lot(lotDto)
                 .build();
         eventProducer.sendUpdate(update);
 
-        // 7. Actual DB Deletion
+        // 6. Actual DB Deletion
         parkingLotRepository.delete(currentLot);
     }
-}
 
+    private void requireNoActiveSessions(Long id){
+        if (parkingSessionRepository.existsByParkingSlotParkingLotIdAndSessionStatus(id, SessionStatus.ACTIVE)) {
+            throw new BusinessException("Cannot delete a Parking lot with Active Parking Session.");
+        }
+    }
 
+    // Runs one chunk per transaction until a chunk comes back short. Returns the total removed.
+    private long deleteInChunks(IntSupplier chunk){
+        long total = 0;
+        int removed;
+        do {
+            removed = transactionTemplate.execute(status -> chunk.getAsInt());
+            total += removed;
+        } while (removed == deletionChunkSize);
+        return total;
+    }
+}
@@ -2,18 +2,15 @@ package com.project.parking_system.service.impl;
 
 import com.project.parking_system.dto.*;
 import com.project.parking_system.dto.kafka.SessionUpdateDto;
-import com.project.parking_system.dto.kafka.SlotUpdateDto;
 import com.project.parking_system.entity.ParkingLot;
 import com.project.parking_system.entity.ParkingSession;
 import com.project.parking_system.entity.ParkingSlot;
 import com.project.parking_system.entity.Vehicle;
-import com.project.parking_system.enums.SlotStatus;
 import com.project.parking_system.exception.BusinessException;
 import com.project.parking_system.exception.ResourceNotFoundException;
 import com.project.parking_system.mapper.ParkingMapper;
 import com.project.parking_system.mapper.ParkingSessionMapper;
 import com.project.parking_system.repository.ParkingLotRepository;
-import com.project.parking_system.repository.ParkingSlotRepository;
 import com.project.parking_system.service.*;
 import com.project.parking_system.utils.ParkingUtils;
 import jakarta.transaction.Transactional;
@@ -38,7 +35,6 @@ public class ParkingOperationServiceImpl implements ParkingOperationService {
     private final ParkingLotRepository parkingLotRepository;
     private final BillingService billingService;
     private final ParkingEventProducer eventProducer;
-    private final ParkingSlotRepository parkingSlotRepository;
     private final ParkingSessionMapper parkingSessionMapper;
 
     /**
@@ -67,7 +63,7 @@ public class ParkingOperationServiceImpl implements ParkingOperationService {
         Vehicle vehicle = vehicleService.findOrCreateVehicle(request.getVehicleNumber(), request.getVehicleType());
 
         //3. Check If the vehicle is already running an Active Session if yes Throw Error.
-        if (parkingSessionService.findActiveSession(vehicle).isPresent()){
+        if (parkingSessionService.hasActiveSession(vehicle)){
             throw new BusinessException("Vehicle with same ID is already under Active Session.");
         }
 
@@ -92,7 +88,7 @@ public class ParkingOperationServiceImpl implements ParkingOperationService {
         eventProducer.sendUpdate(sessionUpdate);
 
         // 6. Trigger Kafka Update for Slot updates
-        publishSlotUpdate(request.getParkingLotId(), "ENTRY");
+        eventProducer.sendSlotUpdate(request.getParkingLotId(), "ENTRY");
 
         // 7. Return the DTO
         return ParkingMapper.toTicketDTO(newSession);
@@ -112,12 +108,12 @@ public class ParkingOperationServiceImpl implements ParkingOperationService {
     @Override
     @Transactional
     public BillDto exitVehicle(ExitRequestDto request) {
-        // 1. Fetching
-        Vehicle vehicle = vehicleService.findByVehicleNumber(request.getVehicleNumber())
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found."));
-
-        ParkingSession session = parkingSessionService.findActiveSession(vehicle)
-                .orElseThrow(() -> new ResourceNotFoundException("No active session found."));
+        // 1. Fetching: session, vehicle, slot and lot in one joined query.
+        // Only when there is no Active Session do we look up the vehicle, to tell the two errors apart.
+        ParkingSession session = parkingSessionService.findActiveSessionForExit(request.getVehicleNumber())
+                .orElseThrow(() -> vehicleService.findByVehicleNumber(request.getVehicleNumber()).isPresent()
+                        ? new ResourceNotFoundException("No active session found.")
+                        : new ResourceNotFoundException("Vehicle not found."));
 
         // To validate if the Vehicle is affiliated with the given Parking Lot only
         Long actualLotId = session.getParkingSlot().getParkingLot().getId();
@@ -125,8 +121,8 @@ public class ParkingOperationServiceImpl implements ParkingOperationService {
 
         if (!actualLotId.equals(exitLotId)) throw new BusinessException("Vehicle is not parked in Parking Lot Id: " + request.getParkingLotId());
 
-        // Pre-fetch Data before ending session (Prevents LazyLoad Exceptions)
-        Double basePrice = session.getParkingSlot().getParkingLot().getBasePricePerHour();
+        // Already loaded by the exit query, no lazy loads
+        long basePricePaise = session.getParkingSlot().getParkingLot().getBasePricePerHourPaise();
         Long lotId = session.getParkingSlot().getParkingLot().getId();
         Integer totalSlots = session.getParkingSlot().getParkingLot().getTotalSlots();
         Long slotId = session.getParkingSlot().getId();
@@ -137,11 +133,11 @@ public class ParkingOperationServiceImpl implements ParkingOperationService {
         long duration = ParkingUtils.calculateDurationInMinutes(session.getEntryTime(), exitTime);
 
         BillingResultDto billResult = billingService.calculateBill(
-                session.getEntryTime(), exitTime, basePrice, lotId, totalSlots
+                session.getEntryTime(), exitTime, basePricePaise, lotId, totalSlots, session.getVehicle().getVehicleType()
         );
 
         // 3. Execution
-        parkingSessionService.endSession(session, exitTime, billResult.getTotalAmount());
+        parkingSessionService.endSession(session, exitTime, billResult.getTotalAmountPaise());
 
         ParkingSessionDto sessionDto = parkingSessionMapper.convertToSessionDTO(session);
 
@@ -157,34 +153,9 @@ public class ParkingOperationServiceImpl implements ParkingOperationService {
         parkingSlotService.markSlotAsAvailable(slotId);
 
         // 5. Trigger Kafka Update ---
-        publishSlotUpdate(session.getParkingSlot().getParkingLot().getId(), "EXIT");
+        eventProducer.sendSlotUpdate(session.getParkingSlot().getParkingLot().getId(), "EXIT");
 
         // 6. Return DTO (Using Mapper)
         return ParkingMapper.toBillDTO(session, billResult, duration);
     }
-
-    /**
-     * Helper to publish the updated slot count to Kafka.
-     * Only calculates and sends AFTER the main transaction succeeds.
-     */
-    private void publishSlotUpdate(Long lotId, String type) {
-        // 1. Get total slots for this lot (for UI context)
-        long occupiedCount = parkingSlotRepository.countByParkingLotIdAndSlotStatus(lotId, SlotStatus.OCCUPIED);
-
-        // Retrieve lot to get Total
-        ParkingLot lot = parkingLotRepository.findById(lotId).orElseThrow();
-
-        int availableCount = lot.getTotalSlots() - (int) occupiedCount;
-
-        // 2. Build the payload
-        SlotUpdateDto update = SlotUpdateDto.builder()
-                .type(type)
-                .lotId(lotId)
-                .availableSlots(availableCount)
-                .totalSlots(lot.getTotalSlots())
-                .build();
-
-        // 3. Fire and forget!
-        eventProducer.sendUpdate(update);
-    }
-}
\ No newline at end of file
+}
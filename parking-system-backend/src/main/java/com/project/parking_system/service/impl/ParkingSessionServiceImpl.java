@@ -1,21 +1,35 @@
 package com.project.parking_system.service.impl;
 
+import com.project.parking_system.cache.ActiveSessionIndex;
+import com.project.parking_system.cache.ActiveSessionIndex.ActiveSession;
 import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.dto.SessionHistoryFilter;
+import com.project.parking_system.dto.SessionPageDto;
 import com.project.parking_system.entity.ParkingSession;
 import com.project.parking_system.entity.ParkingSlot;
 import com.project.parking_system.entity.Vehicle;
 import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.exception.BusinessException;
+import com.project.parking_system.exception.InvalidRequestException;
 import com.project.parking_system.exception.ResourceNotFoundException;
 import com.project.parking_system.mapper.ParkingSessionMapper;
 import com.project.parking_system.repository.ParkingSessionRepository;
+import com.project.parking_system.repository.projection.SessionRowView;
 import com.project.parking_system.service.ParkingSessionService;
 import com.project.parking_system.service.ParkingSlotService;
+import com.project.parking_system.utils.ParkingUtils;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  *Service for handling Session Entities.
@@ -29,11 +43,28 @@ public class ParkingSessionServiceImpl implements ParkingSessionService {
 
     private final ParkingSlotService parkingSlotService;
     private final ParkingSessionMapper parkingSessionMapper;
+    private final ActiveSessionIndex activeSessionIndex;
 
-    // Returns active session or Null by vehicleId
+    // Returns active session or Null by vehicleId.
+    // The index answers "not parked" without a DB read; a parked vehicle costs one primary key lookup.
     @Override
     public Optional<ParkingSession> findActiveSession(Vehicle vehicle){
-        return parkingSessionRepository.findByVehicleIdAndSessionStatus(vehicle.getId(), SessionStatus.ACTIVE);
+        return activeSessionIndex.find(vehicle.getId())
+                .flatMap(active -> parkingSessionRepository.findById(active.sessionId()))
+                .filter(session -> session.getSessionStatus() == SessionStatus.ACTIVE);
+    }
+
+    // Exit lookup: the Active Session of a plate with vehicle, slot and lot, in one joined query.
+    @Override
+    public Optional<ParkingSession> findActiveSessionForExit(String vehicleNumber){
+        return parkingSessionRepository.findByVehicleVehicleNumberAndSessionStatus(
+                ParkingUtils.normalizeVehicleNumber(vehicleNumber), SessionStatus.ACTIVE);
+    }
+
+    // Double-booking check for entries, answered from the index alone.
+    @Override
+    public boolean hasActiveSession(Vehicle vehicle){
+        return activeSessionIndex.contains(vehicle.getId());
     }
 
     // Creates a new Session in our DB
@@ -47,52 +78,84 @@ public class ParkingSessionServiceImpl implements ParkingSessionService {
                 .build();
 
         // Saves the currentSession that we created into DB.
-        return parkingSessionRepository.save(currentSession);
+        ParkingSession savedSession = parkingSessionRepository.save(currentSession);
+        indexStartedSession(savedSession);
+        return savedSession;
     }
 
     @Override
-    public void endSession(ParkingSession session, LocalDateTime exitTime, Double totalAmount){
+    public void endSession(ParkingSession session, LocalDateTime exitTime, long totalAmountPaise){
         // Log the exit time
         session.setExitTime(exitTime);
 
         // Log the total amount
-        session.setTotalAmount(totalAmount);
+        session.setTotalAmountPaise(totalAmountPaise);
 
         // Change the Session Status from Active to Completed
         session.setSessionStatus(SessionStatus.COMPLETED);
 
         // Save the Session.
         parkingSessionRepository.save(session);
+        activeSessionIndex.sessionEnded(session.getVehicle().getId(), session.getId());
     }
 
     // Get Parking Sessions by lotId and then find all the Active Session and Give the ParkingSessionDTO for frontend.
     @Override
     public List<ParkingSessionDto> getAllActiveSessions(Long lotId) {
-        List<ParkingSession> sessions;
+        List<SessionRowView> sessions;
 
         // If a specific Lot ID is provided, filter by that Lot AND Status = ACTIVE.
-        if (lotId != null) sessions = parkingSessionRepository.findByParkingSlotParkingLotIdAndSessionStatus(lotId, SessionStatus.ACTIVE);
+        if (lotId != null) sessions = parkingSessionRepository.findSessionRowsByLotIdAndStatus(lotId, SessionStatus.ACTIVE);
 
         // If no Lot ID is provided, fetch ALL active vehicles across all parking lots.
-        else  sessions = parkingSessionRepository.findBySessionStatus(SessionStatus.ACTIVE);
+        else  sessions = parkingSessionRepository.findSessionRowsByStatus(SessionStatus.ACTIVE);
 
-        //Convert the database entities to DTOs using the helper method
+        // Rows already carry plate, lot and slot (one joined query), so no entity or association is loaded here.
         return sessions.stream().map(parkingSessionMapper::convertToSessionDTO).toList();
     }
 
-    // Get all the Sessions that are related the LotID
+    // Get one page of the Sessions matching the filter, newest first.
+    // Rows are read straight into DTOs; no entities are loaded.
     @Override
-    public List<ParkingSessionDto> getAllSessions(Long lotId){
-        List<ParkingSession> sessions;
+    public SessionPageDto getSessionHistory(SessionHistoryFilter filter, String cursor, int size){
+        // 1. Where the previous page stopped (nothing for the first page).
+        LocalDateTime afterEntryTime = null;
+        Long afterId = null;
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            afterEntryTime = LocalDateTime.parse(position[0]);
+            afterId = Long.parseLong(position[1]);
+        }
+        if (filter.getVehicleNumber() != null) filter.setVehicleNumber(ParkingUtils.normalizeVehicleNumber(filter.getVehicleNumber()));
+
+        // 2. Read one row more than asked for, to know whether another page follows.
+        List<ParkingSessionDto> rows = parkingSessionRepository.findHistoryPage(filter, afterEntryTime, afterId, size + 1);
+        if (rows.size() <= size) return SessionPageDto.builder().items(rows).build();
 
-        // If a specific Lot ID is provided, fetch entire history for that lot.
-        if (lotId != null) sessions = parkingSessionRepository.findByParkingSlotParkingLotId(lotId);
+        List<ParkingSessionDto> items = rows.subList(0, size);
+        ParkingSessionDto last = items.get(size - 1);
+        return SessionPageDto.builder()
+                .items(items)
+                .nextCursor(encodeCursor(last.getEntryTime(), last.getSessionId()))
+                .build();
+    }
 
-        // Global history: Fetch every session ever recorded.
-        else sessions = parkingSessionRepository.findAll();
+    // The cursor is the (entry time, id) of the last row served, opaque to clients.
+    private static String encodeCursor(LocalDateTime entryTime, Long sessionId){
+        String position = entryTime + "|" + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
 
-        //Convert the database entities to DTOs using the helper method
-        return sessions.stream().map(parkingSessionMapper::convertToSessionDTO).toList();
+    private static String[] decodeCursor(String cursor){
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) throw new IllegalArgumentException();
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor.");
+        }
     }
 
     /**
@@ -102,8 +165,10 @@ public class ParkingSessionServiceImpl implements ParkingSessionService {
      * 1. Frees the Parking Slot immediately.
      * 2. Sets the bill amount to 0.0 (Administrative Override).
      * 3. Sets status to TERMINATED (distinct from COMPLETED).
+     * Transactional: Freeing the slot, the lot's occupancy counter and the session close commit or roll back together.
      */
     @Override
+    @Transactional
     public void terminateSession(Long sessionId){
         // Find if the Session is present with the Incoming SessionId
         ParkingSession currentSession = parkingSessionRepository.findById(sessionId).orElseThrow(() -> new ResourceNotFoundException("No Session Found with this Session Id."));
@@ -121,11 +186,59 @@ public class ParkingSessionServiceImpl implements ParkingSessionService {
         currentSession.setExitTime(LocalDateTime.now());
         currentSession.setSessionStatus(SessionStatus.TERMINATED);
 
-        // We set it as 0.0 for administrative fix.
-        currentSession.setTotalAmount(0.0);
+        // We set it as 0 for administrative fix.
+        currentSession.setTotalAmountPaise(0L);
 
         // Save the Session.
         parkingSessionRepository.save(currentSession);
+        activeSessionIndex.sessionEnded(currentSession.getVehicle().getId(), currentSession.getId());
+    }
+
+    @Override
+    public Set<Long> claimActiveSessions(Collection<Long> vehicleIds){
+        Set<Long> claimed = new HashSet<>();
+        for (Long vehicleId : vehicleIds){
+            if (activeSessionIndex.claim(vehicleId)) claimed.add(vehicleId);
+        }
+        return claimed;
+    }
+
+    @Override
+    public void releaseActiveSessionClaims(Collection<Long> vehicleIds){
+        vehicleIds.forEach(activeSessionIndex::releaseClaim);
+    }
+
+    // Same defaults as createSession, but one batched INSERT instead of one save() per session.
+    @Override
+    public void createSessions(List<ParkingSession> sessions){
+        LocalDateTime entryTime = LocalDateTime.now();
+        for (ParkingSession session : sessions){
+            session.setEntryTime(entryTime);
+            session.setSessionStatus(SessionStatus.ACTIVE);
+        }
+        parkingSessionRepository.insertAllInBatch(sessions);
+        for (ParkingSession session : sessions){
+            activeSessionIndex.claimedSessionStarted(session.getVehicle().getId(), toActiveSession(session));
+        }
+    }
+
+    @Override
+    public List<ParkingSession> findActiveSessionsByVehicleNumbers(Collection<String> vehicleNumbers){
+        if (vehicleNumbers.isEmpty()) return List.of();
+        return parkingSessionRepository.findByVehicleVehicleNumberInAndSessionStatus(vehicleNumbers, SessionStatus.ACTIVE);
+    }
+
+    // Adds a freshly inserted session to the index. Losing the race to another entry of the same vehicle
+    // rolls this transaction back.
+    private void indexStartedSession(ParkingSession session){
+        if (!activeSessionIndex.sessionStarted(session.getVehicle().getId(), toActiveSession(session))){
+            throw new BusinessException("Vehicle with same ID is already under Active Session.");
+        }
+    }
 
+    private static ActiveSession toActiveSession(ParkingSession session){
+        return new ActiveSession(session.getId(), session.getParkingSlot().getId(),
+                session.getParkingSlot().getParkingLot().getId(), session.getEntryTime(),
+                session.getVehicle().getVehicleNumber(), session.getVehicle().getVehicleType());
     }
 }
@@ -4,46 +4,73 @@ import com.project.parking_system.dto.ParkingSlotDto;
 import com.project.parking_system.entity.ParkingLot;
 import com.project.parking_system.entity.ParkingSlot;
 import com.project.parking_system.enums.SlotStatus;
-import com.project.parking_system.exception.BusinessException;
 import com.project.parking_system.exception.ResourceNotFoundException;
+import com.project.parking_system.repository.ParkingLotRepository;
 import com.project.parking_system.repository.ParkingSlotRepository;
 import com.project.parking_system.service.ParkingSlotService;
+import com.project.parking_system.service.SlotAllocator;
+import com.project.parking_system.utils.TransactionHooks;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service Implementation for Physical Slot management.
  */
 
+@Slf4j
 @Service
 @Transactional
-@RequiredArgsConstructor // Creates a constructor for all final fields (Dependency Injection).
 public class ParkingSlotServiceImpl implements ParkingSlotService {
 
     private final ParkingSlotRepository parkingSlotRepository;
+    private final ParkingLotRepository parkingLotRepository;
+    private final SlotAllocator slotAllocator;
+    private final int provisioningChunkSize;
+
+    public ParkingSlotServiceImpl(ParkingSlotRepository parkingSlotRepository,
+                                  ParkingLotRepository parkingLotRepository,
+                                  SlotAllocator slotAllocator,
+                                  @Value("${parking.slot-provisioning.chunk-size:1000}") int provisioningChunkSize) {
+        this.parkingSlotRepository = parkingSlotRepository;
+        this.parkingLotRepository = parkingLotRepository;
+        this.slotAllocator = slotAllocator;
+        this.provisioningChunkSize = provisioningChunkSize;
+    }
 
     @Override
     public void createAndSaveSlotsForLot(ParkingLot parkingLot){
+        saveSlots(parkingLot, 1, parkingLot.getTotalSlots());
+    }
 
-        // Create an empty list to hold our new slot objects.
-        List<ParkingSlot> slots = new ArrayList<>();
+    @Override
+    public void expandSlotsForLot(ParkingLot parkingLot, int newTotalSlots){
+        saveSlots(parkingLot, parkingLot.getTotalSlots() + 1, newTotalSlots);
+    }
 
-        // For each number, create a new ParkingSlot object.
-        for (int i = 1; i <= parkingLot.getTotalSlots(); i++){
-            ParkingSlot newSlot = ParkingSlot.builder()
-                    .slotNumber(i)                          // Set the slot number.
-                    .slotStatus(SlotStatus.AVAILABLE)       // All new slots are initially available.
-                    .parkingLot(parkingLot)                 // Link it to the parent parking lot.
-                    .build();
+    @Override
+    public void deleteSlotsForLot(Long parkingLotId){
+        // One bulk DELETE; the slots are never loaded.
+        parkingSlotRepository.deleteAllByParkingLotId(parkingLotId);
 
-            slots.add(newSlot);
-        }
-        // Save all the new slots to the database in one single, efficient operation.
-        parkingSlotRepository.saveAll(slots);
+        TransactionHooks.afterCommit(() -> slotAllocator.onLotSlotsChanged(parkingLotId));
+    }
+
+    // Creates slots numbered firstSlot..lastSlot (inclusive) for the lot.
+    // Written as chunked JDBC batches, not saveAll(): a 10,000 slot lot is 10 round trips instead of 10,000.
+    private void saveSlots(ParkingLot parkingLot, int firstSlot, int lastSlot){
+        Long parkingLotId = parkingLot.getId();
+        int created = parkingSlotRepository.insertSlotRange(parkingLotId, firstSlot, lastSlot, provisioningChunkSize);
+        log.info("Provisioned {} slots ({}..{}) for lot {}", created, firstSlot, lastSlot, parkingLotId);
+
+        // The allocator only sees the new slots once they are committed.
+        TransactionHooks.afterCommit(() -> slotAllocator.onLotSlotsChanged(parkingLotId));
     }
 
     @Override
@@ -60,32 +87,27 @@ public class ParkingSlotServiceImpl implements ParkingSlotService {
                                                     .build()).toList();
     }
 
-    // The core slot allocation logic.
+    // The core slot allocation logic, delegated to the configured strategy (parking.slot-allocation.mode).
     @Override
     public ParkingSlot findFirstAvailableSlot(Long parkingLotId){
-        // Fetch all available slots for this lot, ordered by number (1, 2, 3...)
-        List<ParkingSlot> availableSlots = parkingSlotRepository
-                .findByParkingLotIdAndSlotStatusOrderBySlotNumberAsc(parkingLotId, SlotStatus.AVAILABLE);
-
-        // If it is empty then that means there are no empty slots available in our current Parking lot.
-        if (availableSlots.isEmpty()){
-            throw new BusinessException("Parking lot is full ");
-        }
-        // Return the first one (e.g., Slot 1)
-        return availableSlots.get(0);
+        return slotAllocator.allocate(parkingLotId);
     }
 
+    // Called exactly once for every slot handed out by findFirstAvailableSlot.
     @Override
     public void markSlotAsOccupied(Long slotId){
         // See to it that the Current Slot ID that is past is present or not.
         ParkingSlot currentSlot = parkingSlotRepository.findById(slotId).orElseThrow(() -> new ResourceNotFoundException("Slot not found"));
 
         // If present then this will switch the status from Available to Occupied.
+        // (The bitmap allocator has already flipped the row while claiming it.)
         currentSlot.setSlotStatus(SlotStatus.OCCUPIED);
 
         // Save that Slot.
         parkingSlotRepository.save(currentSlot);
 
+        // Keep the lot's occupancy counter in step, in the same transaction.
+        parkingLotRepository.adjustOccupiedSlots(currentSlot.getParkingLot().getId(), 1);
     }
 
     @Override
@@ -93,10 +115,51 @@ public class ParkingSlotServiceImpl implements ParkingSlotService {
         // See to it that the Current Slot ID that is past is present or not.
         ParkingSlot currentSlot = parkingSlotRepository.findById(slotId).orElseThrow(() -> new ResourceNotFoundException("Invalid Slot Id"));
 
+        // Releasing a slot that is already free must not push the counter down twice.
+        boolean wasOccupied = currentSlot.getSlotStatus() == SlotStatus.OCCUPIED;
+
         // If present then this will switch the status from Occupied to Available.
         currentSlot.setSlotStatus(SlotStatus.AVAILABLE);
 
         // Save that Slot.
         parkingSlotRepository.save(currentSlot);
+
+        Long parkingLotId = currentSlot.getParkingLot().getId();
+        if (wasOccupied) parkingLotRepository.adjustOccupiedSlots(parkingLotId, -1);
+
+        // Only offer the slot to new entries once the exit is committed.
+        Integer slotNumber = currentSlot.getSlotNumber();
+        TransactionHooks.afterCommit(() -> slotAllocator.onSlotReleased(parkingLotId, slotNumber));
+    }
+
+    // The slots are claimed through the configured strategy, like single entries. The status changes go out
+    // as one batched UPDATE at flush and the lot's counter moves once for the whole batch.
+    @Override
+    public List<ParkingSlot> occupyAvailableSlots(Long parkingLotId, int count){
+        if (count <= 0) return List.of();
+
+        List<ParkingSlot> slots = slotAllocator.allocate(parkingLotId, count);
+
+        slots.forEach(slot -> slot.setSlotStatus(SlotStatus.OCCUPIED));
+        if (!slots.isEmpty()) parkingLotRepository.adjustOccupiedSlots(parkingLotId, slots.size());
+        return slots;
+    }
+
+    @Override
+    public void releaseSlots(Collection<ParkingSlot> slots){
+        Map<Long, Integer> releasedPerLot = new HashMap<>();
+
+        for (ParkingSlot slot : slots){
+            // Same rule as markSlotAsAvailable: a slot that is already free does not move the counter.
+            if (slot.getSlotStatus() != SlotStatus.OCCUPIED) continue;
+            slot.setSlotStatus(SlotStatus.AVAILABLE);
+
+            Long parkingLotId = slot.getParkingLot().getId();
+            Integer slotNumber = slot.getSlotNumber();
+            releasedPerLot.merge(parkingLotId, 1, Integer::sum);
+            TransactionHooks.afterCommit(() -> slotAllocator.onSlotReleased(parkingLotId, slotNumber));
+        }
+
+        releasedPerLot.forEach((parkingLotId, released) -> parkingLotRepository.adjustOccupiedSlots(parkingLotId, -released));
     }
 }
@@ -0,0 +1,46 @@
+package com.project.parking_system.service.impl;
+
+import com.project.parking_system.entity.ParkingSlot;
+import com.project.parking_system.enums.SlotStatus;
+import com.project.parking_system.exception.BusinessException;
+import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.service.SlotAllocator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default allocation strategy (parking.slot-allocation.mode=pessimistic).
+ * Locks the available slots of the lot with SELECT ... FOR UPDATE and takes the lowest numbered one.
+ */
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "parking.slot-allocation.mode", havingValue = "pessimistic", matchIfMissing = true)
+public class PessimisticSlotAllocator implements SlotAllocator {
+
+    private final ParkingSlotRepository parkingSlotRepository;
+
+    @Override
+    public ParkingSlot allocate(Long parkingLotId) {
+        // Fetch all available slots for this lot, ordered by number (1, 2, 3...)
+        List<ParkingSlot> availableSlots = parkingSlotRepository
+                .findByParkingLotIdAndSlotStatusOrderBySlotNumberAsc(parkingLotId, SlotStatus.AVAILABLE);
+
+        // If it is empty then that means there are no empty slots available in our current Parking lot.
+        if (availableSlots.isEmpty()){
+            throw new BusinessException("Parking lot is full ");
+        }
+        // Return the first one (e.g., Slot 1)
+        return availableSlots.get(0);
+    }
+
+    @Override
+    public List<ParkingSlot> allocate(Long parkingLotId, int count) {
+        // Locks only the slots the batch needs.
+        return parkingSlotRepository.findByParkingLotIdAndSlotStatusOrderBySlotNumberAsc(parkingLotId, SlotStatus.AVAILABLE, Limit.of(count));
+    }
+}
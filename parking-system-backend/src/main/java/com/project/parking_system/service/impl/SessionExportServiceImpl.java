@@ -0,0 +1,137 @@
+package com.project.parking_system.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.dto.SessionHistoryFilter;
+import com.project.parking_system.enums.ExportFormat;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import com.project.parking_system.service.SessionExportService;
+import com.project.parking_system.utils.ParkingUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the session history export.
+ * Rows go from a forward-only JDBC cursor straight into the output (buffered, 64 KB at a time), so memory use
+ * does not grow with the size of the export. Runs without a transaction: the cursor holds its own connection
+ * until the last row is written.
+ * 'parking.export.fetch-size' is handed to the driver as is. MySQL Connector/J streams row by row at
+ * Integer.MIN_VALUE (the default); a positive size fetches that many rows per round trip only with
+ * useCursorFetch=true on the connection, and otherwise makes the driver buffer the whole result.
+ */
+
+@Service
+public class SessionExportServiceImpl implements SessionExportService {
+
+    private static final String CSV_HEADER =
+            "sessionId,vehicleNumber,vehicleType,parkingLotName,slotNumber,entryTime,exitTime,totalAmount,status";
+
+    private final ParkingSessionRepository parkingSessionRepository;
+    // Built once; without FLUSH_AFTER_WRITE_VALUE, so rows stay in the 64 KB buffer instead of one flush per row.
+    private final ObjectWriter ndjsonWriter;
+    private final int fetchSize;
+
+    public SessionExportServiceImpl(ParkingSessionRepository parkingSessionRepository,
+                                    ObjectMapper objectMapper,
+                                    @Value("${parking.export.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+        this.parkingSessionRepository = parkingSessionRepository;
+        this.ndjsonWriter = objectMapper.writerFor(ParkingSessionDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void export(SessionHistoryFilter filter, Long afterId, ExportFormat format, OutputStream out) throws IOException {
+        if (filter.getVehicleNumber() != null) filter.setVehicleNumber(ParkingUtils.normalizeVehicleNumber(filter.getVehicleNumber()));
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            if (format == ExportFormat.CSV) exportCsv(filter, afterId, writer);
+            else exportNdjson(filter, afterId, writer);
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the cursor is closed by now.
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void exportNdjson(SessionHistoryFilter filter, Long afterId, Writer writer) throws IOException {
+        // One generator for the whole export: same JSON as the history API, one object per line.
+        try (JsonGenerator generator = ndjsonWriter.createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            stream(filter, afterId, session -> {
+                ndjsonWriter.writeValue(generator, session);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private void exportCsv(SessionHistoryFilter filter, Long afterId, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        stream(filter, afterId, session -> {
+            writer.write(String.valueOf(session.getSessionId()));
+            writer.write(',');
+            writeCsvField(writer, session.getVehicleNumber());
+            writer.write(',');
+            writeCsvField(writer, session.getVehicleType());
+            writer.write(',');
+            writeCsvField(writer, session.getParkingLotName());
+            writer.write(',');
+            writeCsvField(writer, session.getSlotNumber());
+            writer.write(',');
+            writeCsvField(writer, session.getEntryTime());
+            writer.write(',');
+            writeCsvField(writer, session.getExitTime());
+            writer.write(',');
+            writeCsvField(writer, session.getTotalAmount() == null ? null : session.getTotalAmount().toPlainString());
+            writer.write(',');
+            writeCsvField(writer, session.getStatus());
+            writer.write('\n');
+        });
+    }
+
+    // RFC 4180: a field with a comma, quote or line break is quoted, quotes inside it doubled. null -> empty field.
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) return;
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private interface RowWriter {
+        void write(ParkingSessionDto session) throws IOException;
+    }
+
+    private void stream(SessionHistoryFilter filter, Long afterId, RowWriter rowWriter) {
+        Consumer<ParkingSessionDto> sink = session -> {
+            try {
+                rowWriter.write(session);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        parkingSessionRepository.streamHistory(filter, afterId, fetchSize, sink);
+    }
+}
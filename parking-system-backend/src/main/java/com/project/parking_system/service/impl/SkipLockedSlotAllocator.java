@@ -0,0 +1,38 @@
+package com.project.parking_system.service.impl;
+
+import com.project.parking_system.entity.ParkingSlot;
+import com.project.parking_system.exception.BusinessException;
+import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.service.SlotAllocator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Database allocation strategy for multi-gate lots (parking.slot-allocation.mode=skip-locked).
+ * Claims exactly one slot row with FOR UPDATE SKIP LOCKED, so gates entering the same lot
+ * at the same time are handed different slots instead of waiting on each other's row locks.
+ */
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "parking.slot-allocation.mode", havingValue = "skip-locked")
+public class SkipLockedSlotAllocator implements SlotAllocator {
+
+    private final ParkingSlotRepository parkingSlotRepository;
+
+    @Override
+    public ParkingSlot allocate(Long parkingLotId) {
+        // Empty means every available slot is either taken or currently being claimed by another gate.
+        return parkingSlotRepository.claimFirstAvailableSlotSkipLocked(parkingLotId)
+                .orElseThrow(() -> new BusinessException("Parking lot is full "));
+    }
+
+    @Override
+    public List<ParkingSlot> allocate(Long parkingLotId, int count) {
+        // Slots being claimed by other gates are skipped, so a busy lot may hand out fewer than it has free.
+        return parkingSlotRepository.claimAvailableSlotsSkipLocked(parkingLotId, count);
+    }
+}
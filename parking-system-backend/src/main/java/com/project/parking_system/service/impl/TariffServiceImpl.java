@@ -0,0 +1,84 @@
+package com.project.parking_system.service.impl;
+
+import com.project.parking_system.cache.TariffRegistry;
+import com.project.parking_system.dto.TariffBandDto;
+import com.project.parking_system.dto.TariffDto;
+import com.project.parking_system.entity.ParkingLot;
+import com.project.parking_system.entity.Tariff;
+import com.project.parking_system.exception.BusinessException;
+import com.project.parking_system.exception.ResourceNotFoundException;
+import com.project.parking_system.mapper.TariffMapper;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.TariffRepository;
+import com.project.parking_system.service.TariffService;
+import com.project.parking_system.utils.Money;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementation of tariff management.
+ * Every change is stored in 'tariffs' and then handed to the TariffRegistry, which swaps in the recompiled
+ * table after commit.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class TariffServiceImpl implements TariffService {
+
+    private final TariffRepository tariffRepository;
+    private final ParkingLotRepository parkingLotRepository;
+    private final TariffRegistry tariffRegistry;
+
+    @Override
+    public TariffDto getTariff(Long lotId) {
+        if (!parkingLotRepository.existsById(lotId)) throw new ResourceNotFoundException("Parking lot not found by id " + lotId);
+        return tariffRepository.findForCompile(lotId).map(TariffMapper::toDto).orElseGet(TariffMapper::defaultTariff);
+    }
+
+    @Override
+    @Transactional
+    public TariffDto updateTariff(Long lotId, TariffDto request) {
+        ParkingLot lot = parkingLotRepository.findById(lotId)
+                .orElseThrow(() -> new ResourceNotFoundException("Parking lot not found by id " + lotId));
+
+        // 1. Bands must be proper ranges, and must not overlap for the same vehicle type.
+        validateBands(request.getBands());
+
+        // 2. Replace the stored tariff (created on first edit).
+        Tariff tariff = tariffRepository.findById(lotId)
+                .orElseGet(() -> Tariff.builder().parkingLot(lot).build());
+        tariff.setFreeMinutes(request.getFreeMinutes());
+        tariff.setDailyCapPaise(Money.toPaise(request.getDailyCap(), null));
+        tariff.setUpdatedAt(LocalDateTime.now());
+        tariff.getBands().clear();
+        request.getBands().forEach(band -> tariff.getBands().add(TariffMapper.toEntity(band)));
+        Tariff saved = tariffRepository.save(tariff);
+
+        // 3. Compile and swap in once committed.
+        tariffRegistry.refresh(lotId);
+
+        return TariffMapper.toDto(saved);
+    }
+
+    private void validateBands(List<TariffBandDto> bands) {
+        for (int i = 0; i < bands.size(); i++) {
+            TariffBandDto band = bands.get(i);
+            if (band.getStartHour() >= band.getEndHour()) {
+                throw new BusinessException("Band " + band.getStartHour() + "-" + band.getEndHour() + " must end after it starts.");
+            }
+            for (int j = 0; j < i; j++) {
+                TariffBandDto other = bands.get(j);
+                boolean sameType = band.getVehicleType() == other.getVehicleType();
+                boolean overlaps = band.getStartHour() < other.getEndHour() && other.getStartHour() < band.getEndHour();
+                if (sameType && overlaps) {
+                    throw new BusinessException("Bands " + other.getStartHour() + "-" + other.getEndHour() + " and "
+                            + band.getStartHour() + "-" + band.getEndHour() + " overlap.");
+                }
+            }
+        }
+    }
+}
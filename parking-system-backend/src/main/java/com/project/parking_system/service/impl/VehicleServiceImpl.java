@@ -1,5 +1,6 @@
 package com.project.parking_system.service.impl;
 
+import com.project.parking_system.cache.VehicleRegistryCache;
 import com.project.parking_system.entity.Vehicle;
 import com.project.parking_system.enums.VehicleType;
 import com.project.parking_system.exception.BusinessException;
@@ -9,6 +10,10 @@ import com.project.parking_system.utils.ParkingUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -20,6 +25,7 @@ import java.util.Optional;
 public class VehicleServiceImpl implements VehicleService {
 
     private final VehicleRepository vehicleRepository;
+    private final VehicleRegistryCache vehicleRegistryCache;
 
     // Registers a vehicle if it's new. Returns existing one if found.
     // Includes a check to ensure the vehicle type hasn't changed (e.g., Bike trying to enter as Car).
@@ -29,8 +35,8 @@ public class VehicleServiceImpl implements VehicleService {
         // 1. Sanitize the input
         String cleanNumber = ParkingUtils.normalizeVehicleNumber(vehicleNumber);
 
-        // 1. Check if vehicle exists
-        Optional<Vehicle> existingVehicle = vehicleRepository.findByVehicleNumber(cleanNumber);
+        // 1. Check if vehicle exists (registry cache, falls back to the database)
+        Optional<Vehicle> existingVehicle = vehicleRegistryCache.find(cleanNumber);
 
         // 2. If yes, return it. If no, create and save a new one.
         if (existingVehicle.isPresent()){
@@ -47,11 +53,36 @@ public class VehicleServiceImpl implements VehicleService {
                 .vehicleType(vehicleType)
                 .build();
 
-        return vehicleRepository.save(newVehicle);
+        Vehicle savedVehicle = vehicleRepository.save(newVehicle);
+        vehicleRegistryCache.registered(savedVehicle);
+        return savedVehicle;
     }
 
     @Override
     public Optional<Vehicle> findByVehicleNumber(String vehicleNumber){
-        return vehicleRepository.findByVehicleNumber(ParkingUtils.normalizeVehicleNumber(vehicleNumber));
+        return vehicleRegistryCache.find(ParkingUtils.normalizeVehicleNumber(vehicleNumber));
     }
-}
\ No newline at end of file
+
+    // Cached plates cost nothing; the rest take one IN query, and one saveAll for the new ones.
+    @Override
+    public Map<String, Vehicle> findOrCreateVehicles(Map<String, VehicleType> typesByVehicleNumber){
+        Map<String, Vehicle> vehicles = new HashMap<>();
+        if (typesByVehicleNumber.isEmpty()) return vehicles;
+
+        // 1. Load every vehicle that is already registered
+        vehicles.putAll(vehicleRegistryCache.findAll(typesByVehicleNumber.keySet()));
+
+        // 2. Register the rest
+        List<Vehicle> newVehicles = new ArrayList<>();
+        typesByVehicleNumber.forEach((vehicleNumber, vehicleType) -> {
+            if (!vehicles.containsKey(vehicleNumber)){
+                newVehicles.add(Vehicle.builder().vehicleNumber(vehicleNumber).vehicleType(vehicleType).build());
+            }
+        });
+        for (Vehicle vehicle : vehicleRepository.saveAll(newVehicles)){
+            vehicleRegistryCache.registered(vehicle);
+            vehicles.put(vehicle.getVehicleNumber(), vehicle);
+        }
+        return vehicles;
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.parking_system.utils;
+
+import com.project.parking_system.enums.VehicleType;
+
+/**
+ * Immutable, precomputed form of a lot's tariff. All amounts are in paise.
+ * For every vehicle type it holds the running total of the hourly rates over two days (49 entries),
+ * so the price of any run of billable hours is two array reads, whatever the length of the stay.
+ * Billing rule: after the free minutes, every started hour is charged at the rate of the hour of day it starts in;
+ * each full 24 hours and the remainder are capped at the daily cap.
+ * Instances are never changed once built, so they can be shared freely between threads.
+ */
+
+public final class CompiledTariff {
+
+    private static final int HOURS_PER_DAY = 24;
+
+    private final int freeMinutes;
+    private final long dailyCapPaise;
+    // [vehicle type ordinal][h] = sum of the rates of hours 0..h-1, over two consecutive days.
+    private final long[][] runningTotals;
+
+    private CompiledTariff(int freeMinutes, long dailyCapPaise, long[][] runningTotals) {
+        this.freeMinutes = freeMinutes;
+        this.dailyCapPaise = dailyCapPaise;
+        this.runningTotals = runningTotals;
+    }
+
+    /**
+     * @param hourlyRatesPaise [vehicle type ordinal][hour of day 0..23] -> rate per hour in paise.
+     * @param dailyCapPaise null for no cap.
+     */
+    public static CompiledTariff compile(int freeMinutes, Long dailyCapPaise, long[][] hourlyRatesPaise) {
+        if (hourlyRatesPaise.length != VehicleType.values().length) throw new IllegalArgumentException("One rate table per vehicle type expected");
+
+        long[][] totals = new long[hourlyRatesPaise.length][2 * HOURS_PER_DAY + 1];
+        for (int type = 0; type < hourlyRatesPaise.length; type++) {
+            if (hourlyRatesPaise[type].length != HOURS_PER_DAY) throw new IllegalArgumentException("24 hourly rates expected");
+            for (int h = 0; h < 2 * HOURS_PER_DAY; h++) {
+                totals[type][h + 1] = totals[type][h] + hourlyRatesPaise[type][h % HOURS_PER_DAY];
+            }
+        }
+        return new CompiledTariff(freeMinutes, dailyCapPaise == null ? Long.MAX_VALUE : dailyCapPaise, totals);
+    }
+
+    public int getFreeMinutes() {
+        return freeMinutes;
+    }
+
+    // Started hours charged after the free minutes. Example: 30 free, 91 minutes parked -> 2 hours.
+    public long billableHours(long minutes) {
+        if (minutes <= freeMinutes) return 0;
+        return (minutes - freeMinutes + 59) / 60;
+    }
+
+    /**
+     * Amount in paise for a stay of the given length, multiplier (surge) included and daily cap applied.
+     * @param entryMinuteOfDay minutes since midnight at entry.
+     * @param multiplierPercent 100 = 1.0x.
+     */
+    public long amountPaise(VehicleType vehicleType, int entryMinuteOfDay, long minutes, int multiplierPercent) {
+        long hours = billableHours(minutes);
+        if (hours == 0) return 0;
+
+        long[] totals = runningTotals[vehicleType.ordinal()];
+        int firstHour = ((entryMinuteOfDay + freeMinutes) / 60) % HOURS_PER_DAY;
+
+        // Every full day costs the same whatever hour it starts at; the rest is read off the running totals.
+        long fullDays = hours / HOURS_PER_DAY;
+        int remainder = (int) (hours % HOURS_PER_DAY);
+        long fullDay = Math.min(Money.applyPercent(totals[HOURS_PER_DAY], multiplierPercent), dailyCapPaise);
+        long rest = Math.min(Money.applyPercent(totals[firstHour + remainder] - totals[firstHour], multiplierPercent), dailyCapPaise);
+        return fullDays * fullDay + rest;
+    }
+}
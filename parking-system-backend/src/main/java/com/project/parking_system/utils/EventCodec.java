@@ -0,0 +1,241 @@
+package com.project.parking_system.utils;
+
+import com.project.parking_system.dto.ParkingLotDto;
+import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.dto.kafka.LotUpdateDto;
+import com.project.parking_system.dto.kafka.SessionUpdateDto;
+import com.project.parking_system.dto.kafka.SlotUpdateDto;
+import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.enums.VehicleType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Compact binary encoding of the Kafka events (content type 'application/vnd.parking-event').
+ * Layout: a version byte, a kind byte (1 slot, 2 session, 3 lot), then the DTO's fields in declaration order.
+ * The event type is not in the payload; it travels in the record's 'event-type' header.
+ * Numbers are zig-zag varints stored as value + 1 (0 = null), so small ids and counts take one or two bytes.
+ * Strings are a varint byte length + 1 (0 = null) and UTF-8 bytes; enums are written by name.
+ * Times are microseconds since the epoch of the local date-time (the precision the database keeps),
+ * rupee amounts are paise. notification-service decodes this format; change both together and bump VERSION.
+ */
+
+public final class EventCodec {
+
+    public static final String HEADER_EVENT_TYPE = "event-type";
+    public static final String HEADER_CONTENT_TYPE = "content-type";
+
+    public static final byte VERSION = 1;
+
+    private static final byte KIND_SLOT = 1;
+    private static final byte KIND_SESSION = 2;
+    private static final byte KIND_LOT = 3;
+
+    private EventCodec() {}
+
+    public static byte[] encode(Object update) {
+        if (update instanceof SlotUpdateDto slot) return encode(slot);
+        if (update instanceof SessionUpdateDto session) return encode(session);
+        if (update instanceof LotUpdateDto lot) return encode(lot);
+        throw new IllegalArgumentException("No binary encoding for " + update.getClass().getSimpleName());
+    }
+
+    public static byte[] encode(SlotUpdateDto update) {
+        Writer out = new Writer(16, KIND_SLOT);
+        out.number(update.getLotId());
+        out.number(update.getAvailableSlots());
+        out.number(update.getTotalSlots());
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(SessionUpdateDto update) {
+        Writer out = new Writer(96, KIND_SESSION);
+        out.number(update.getLotId());
+        ParkingSessionDto session = update.getSession();
+        out.number(session.getSessionId());
+        out.string(session.getVehicleNumber());
+        out.string(session.getVehicleType() == null ? null : session.getVehicleType().name());
+        out.string(session.getParkingLotName());
+        out.number(session.getSlotNumber());
+        out.time(session.getEntryTime());
+        out.time(session.getExitTime());
+        out.number(Money.toPaise(session.getTotalAmount(), null));
+        out.string(session.getStatus() == null ? null : session.getStatus().name());
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(LotUpdateDto update) {
+        Writer out = new Writer(96, KIND_LOT);
+        ParkingLotDto lot = update.getLot();
+        out.number(lot.getId());
+        out.string(lot.getName());
+        out.string(lot.getLocation());
+        out.number(lot.getTotalSlots());
+        out.number(lot.getAvailableSlots());
+        out.number(Money.toPaise(lot.getBasePricePerHour(), null));
+        out.time(lot.getCreatedAt());
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a payload written by {@link #encode(Object)} into a SlotUpdateDto, SessionUpdateDto or LotUpdateDto.
+     * Throws IllegalArgumentException for an unknown version or kind, or a truncated payload.
+     */
+    public static Object decode(String eventType, byte[] payload) {
+        Reader in = new Reader(payload);
+        int version = in.readByte();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported event encoding version " + version);
+
+        int kind = in.readByte();
+        return switch (kind) {
+            case KIND_SLOT -> SlotUpdateDto.builder()
+                    .type(eventType)
+                    .lotId(in.number())
+                    .availableSlots(in.integer())
+                    .totalSlots(in.integer())
+                    .build();
+            case KIND_SESSION -> SessionUpdateDto.builder()
+                    .type(eventType)
+                    .lotId(in.number())
+                    .session(ParkingSessionDto.builder()
+                            .sessionId(in.number())
+                            .vehicleNumber(in.string())
+                            .vehicleType(in.enumValue(VehicleType.class))
+                            .parkingLotName(in.string())
+                            .slotNumber(in.integer())
+                            .entryTime(in.time())
+                            .exitTime(in.time())
+                            .totalAmount(Money.toRupees(in.number()))
+                            .status(in.enumValue(SessionStatus.class))
+                            .build())
+                    .build();
+            case KIND_LOT -> LotUpdateDto.builder()
+                    .type(eventType)
+                    .lot(ParkingLotDto.builder()
+                            .id(in.number())
+                            .name(in.string())
+                            .location(in.string())
+                            .totalSlots(in.integer())
+                            .availableSlots(in.integer())
+                            .basePricePerHour(Money.toRupees(in.number()))
+                            .createdAt(in.time())
+                            .build())
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown event kind " + kind);
+        };
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int size;
+
+        private Writer(int capacity, byte kind) {
+            buffer = new byte[capacity];
+            buffer[size++] = VERSION;
+            buffer[size++] = kind;
+        }
+
+        private void number(Number value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            long v = value.longValue();
+            varint(((v << 1) ^ (v >> 63)) + 1);
+        }
+
+        private void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1L);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void time(LocalDateTime value) {
+            number(value == null ? null : value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000);
+        }
+
+        private void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private int readByte() {
+            if (position >= buffer.length) throw new IllegalArgumentException("Truncated event payload");
+            return buffer[position++];
+        }
+
+        private Long number() {
+            long raw = varint();
+            if (raw == 0) return null;
+            long v = raw - 1;
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        private Integer integer() {
+            Long value = number();
+            return value == null ? null : Math.toIntExact(value);
+        }
+
+        private String string() {
+            long raw = varint();
+            if (raw == 0) return null;
+            int length = Math.toIntExact(raw - 1);
+            if (length > buffer.length - position) throw new IllegalArgumentException("Truncated event payload");
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private <E extends Enum<E>> E enumValue(Class<E> type) {
+            String name = string();
+            return name == null ? null : Enum.valueOf(type, name);
+        }
+
+        private LocalDateTime time() {
+            Long micros = number();
+            if (micros == null) return null;
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint in event payload");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.parking_system.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bitmap of free slot positions for a single Parking Lot.
+ * Bit i is set when the slot at position i (slotNumber - 1) is free.
+ * Claims always take the lowest free position, matching the "Fill Slot 1, then 2" rule
+ * of the database allocation, and use compare-and-set so concurrent gates never receive the same position.
+ */
+
+public final class FreeSlotBitmap {
+
+    private final AtomicLongArray words;
+    private final int capacity;
+
+    public FreeSlotBitmap(int capacity) {
+        this.capacity = capacity;
+        this.words = new AtomicLongArray((capacity + 63) >>> 6);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Claims the lowest free position.
+     * @return the claimed position, or -1 if every position is taken.
+     */
+    public int claimLowestFree() {
+        for (int w = 0; w < words.length(); w++) {
+            long word = words.get(w);
+            while (word != 0L) {
+                long lowestBit = Long.lowestOneBit(word);
+                if (words.compareAndSet(w, word, word & ~lowestBit)) {
+                    return (w << 6) + Long.numberOfTrailingZeros(lowestBit);
+                }
+                // Lost the race for this word, re-read and try its next free bit.
+                word = words.get(w);
+            }
+        }
+        return -1;
+    }
+
+    // Marks a position as free again (exit, or rollback of a claim).
+    public void markFree(int position) {
+        checkPosition(position);
+        long bit = 1L << position;
+        int w = position >>> 6;
+        long word;
+        do {
+            word = words.get(w);
+            if ((word & bit) != 0L) return;
+        } while (!words.compareAndSet(w, word, word | bit));
+    }
+
+    // Marks a position as taken without claiming it (e.g. found occupied in the database).
+    public void markUsed(int position) {
+        checkPosition(position);
+        long bit = 1L << position;
+        int w = position >>> 6;
+        long word;
+        do {
+            word = words.get(w);
+            if ((word & bit) == 0L) return;
+        } while (!words.compareAndSet(w, word, word & ~bit));
+    }
+
+    public boolean isFree(int position) {
+        checkPosition(position);
+        return (words.get(position >>> 6) & (1L << position)) != 0L;
+    }
+
+    public int freeCount() {
+        int count = 0;
+        for (int w = 0; w < words.length(); w++) {
+            count += Long.bitCount(words.get(w));
+        }
+        return count;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= capacity) {
+            throw new IndexOutOfBoundsException("Slot position " + position + " outside capacity " + capacity);
+        }
+    }
+}
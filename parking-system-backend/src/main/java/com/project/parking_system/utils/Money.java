@@ -0,0 +1,41 @@
+package com.project.parking_system.utils;
+
+import com.project.parking_system.exception.BusinessException;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions between rupee amounts at the API and the paise (long minor units) used everywhere else.
+ * Prices, bills and revenue are stored and computed in paise, so they never pick up floating point drift;
+ * rupee values only exist in DTOs, as BigDecimal with two decimals, which Jackson writes out exactly.
+ */
+
+public final class Money {
+
+    private Money() {}
+
+    public static long toPaise(BigDecimal rupees) {
+        try {
+            return rupees.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new BusinessException("Amount " + rupees.toPlainString() + " has more than 2 decimal places.");
+        }
+    }
+
+    public static Long toPaise(BigDecimal rupees, Long whenNull) {
+        return rupees == null ? whenNull : Long.valueOf(toPaise(rupees));
+    }
+
+    public static BigDecimal toRupees(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    public static BigDecimal toRupees(Long paise) {
+        return paise == null ? null : toRupees(paise.longValue());
+    }
+
+    // paise * percent / 100, rounded half up to the paisa. Used for the occupancy multiplier (amounts are never negative).
+    public static long applyPercent(long paise, int percent) {
+        return (Math.multiplyExact(paise, percent) + 50) / 100;
+    }
+}
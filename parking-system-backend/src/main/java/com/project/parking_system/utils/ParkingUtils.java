@@ -14,10 +14,31 @@ public class ParkingUtils {
     /**
      * Normalizes a vehicle license plate number. Prevents duplicates caused by formatting differences.
      * Example: "mh-12 ab 1234" becomes "MH12AB1234".
+     * Single pass over the characters; an already clean plate (the usual case) is returned as is, without copying.
      */
     public static String normalizeVehicleNumber(String input) {
         if (input == null) return null;
-        return input.replaceAll("[^A-Za-z0-9]", "").toUpperCase();
+
+        // 1. Find the first character that has to be dropped or upper-cased.
+        int length = input.length();
+        int firstDirty = 0;
+        while (firstDirty < length && isUpperAlphanumeric(input.charAt(firstDirty))) firstDirty++;
+        if (firstDirty == length) return input;
+
+        // 2. Copy the clean prefix, then keep ASCII letters and digits only, upper-cased.
+        char[] plate = new char[length];
+        input.getChars(0, firstDirty, plate, 0);
+        int size = firstDirty;
+        for (int i = firstDirty; i < length; i++) {
+            char c = input.charAt(i);
+            if (isUpperAlphanumeric(c)) plate[size++] = c;
+            else if (c >= 'a' && c <= 'z') plate[size++] = (char) (c - ('a' - 'A'));
+        }
+        return new String(plate, 0, size);
+    }
+
+    private static boolean isUpperAlphanumeric(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
     }
 
     /**
@@ -0,0 +1,168 @@
+package com.project.parking_system.utils;
+
+/**
+ * Packs a normalized Indian plate into one {@code long}, for in-memory indexes and caches.
+ * Standard plates (MH12AB1234): state letters, district, up to three series letters and the number.
+ * BH-series plates (22BH1234AA): registration year, number and one or two letters.
+ * Letters take 5 bits (1..26, 0 = no letter), so "MH12A1234" and "MH12AA1234" get different keys.
+ * Every valid plate gets a non-negative key and decodes back to the same string; anything else is {@link #INVALID}.
+ * Parsing scans the characters once and allocates nothing, so it also backs the plate format validation.
+ */
+
+public final class PlateKeyCodec {
+
+    public static final long INVALID = -1L;
+
+    // Bit 62 tells the two formats apart; bit 63 stays 0 so keys are never negative.
+    private static final long BH_FLAG = 1L << 62;
+
+    private static final int LETTER_BITS = 5;
+    private static final int NUMBER_BITS = 14;   // 0..9999
+    private static final int TWO_DIGIT_BITS = 7; // 0..99
+    private static final int STANDARD_SERIES_LETTERS = 3;
+    private static final int BH_LETTERS = 2;
+
+    private PlateKeyCodec() {}
+
+    public static boolean isValid(CharSequence plate) {
+        return encode(plate) != INVALID;
+    }
+
+    // Returns the packed key of a normalized plate, or INVALID if it is neither format.
+    public static long encode(CharSequence plate) {
+        if (plate == null) return INVALID;
+        int length = plate.length();
+        if (length < 2) return INVALID;
+        if (isLetter(plate.charAt(0))) return encodeStandard(plate, length);
+        if (isDigit(plate.charAt(0))) return encodeBh(plate, length);
+        return INVALID;
+    }
+
+    public static String decode(long key) {
+        if (key < 0) throw new IllegalArgumentException("Not a plate key: " + key);
+        StringBuilder plate = new StringBuilder(11);
+
+        if ((key & BH_FLAG) == 0) {
+            // SS DD [LLL] NNNN
+            appendLetter(plate, (int) (key >>> (NUMBER_BITS + 3 * LETTER_BITS + TWO_DIGIT_BITS + LETTER_BITS)));
+            appendLetter(plate, (int) (key >>> (NUMBER_BITS + 3 * LETTER_BITS + TWO_DIGIT_BITS)));
+            appendTwoDigits(plate, (int) (key >>> (NUMBER_BITS + 3 * LETTER_BITS)));
+            for (int i = STANDARD_SERIES_LETTERS - 1; i >= 0; i--) {
+                appendLetter(plate, (int) (key >>> (NUMBER_BITS + i * LETTER_BITS)));
+            }
+            appendNumber(plate, (int) key);
+        } else {
+            // YY BH NNNN L[L]
+            appendTwoDigits(plate, (int) (key >>> (NUMBER_BITS + BH_LETTERS * LETTER_BITS)));
+            plate.append("BH");
+            appendNumber(plate, (int) key);
+            for (int i = BH_LETTERS - 1; i >= 0; i--) {
+                appendLetter(plate, (int) (key >>> (NUMBER_BITS + i * LETTER_BITS)));
+            }
+        }
+        return plate.toString();
+    }
+
+    // MH12AB1234: 2 letters, 2 digits, 0-3 letters, 4 digits.
+    private static long encodeStandard(CharSequence plate, int length) {
+        int seriesLength = length - 8;
+        if (seriesLength < 0 || seriesLength > STANDARD_SERIES_LETTERS) return INVALID;
+
+        long key = 0;
+        for (int i = 0; i < 2; i++) {
+            char c = plate.charAt(i);
+            if (!isLetter(c)) return INVALID;
+            key = (key << LETTER_BITS) | letterCode(c);
+        }
+
+        int district = twoDigits(plate, 2);
+        if (district < 0) return INVALID;
+        key = (key << TWO_DIGIT_BITS) | district;
+
+        // Series letters are packed from the left; unused positions stay 0.
+        for (int i = 0; i < STANDARD_SERIES_LETTERS; i++) {
+            int code = 0;
+            if (i < seriesLength) {
+                char c = plate.charAt(4 + i);
+                if (!isLetter(c)) return INVALID;
+                code = letterCode(c);
+            }
+            key = (key << LETTER_BITS) | code;
+        }
+
+        int number = fourDigits(plate, 4 + seriesLength);
+        if (number < 0) return INVALID;
+        return (key << NUMBER_BITS) | number;
+    }
+
+    // 22BH1234AA: 2 digits, "BH", 4 digits, 1-2 letters.
+    private static long encodeBh(CharSequence plate, int length) {
+        if (length != 9 && length != 10) return INVALID;
+
+        int year = twoDigits(plate, 0);
+        if (year < 0 || plate.charAt(2) != 'B' || plate.charAt(3) != 'H') return INVALID;
+
+        int number = fourDigits(plate, 4);
+        if (number < 0) return INVALID;
+
+        long letters = 0;
+        for (int i = 0; i < BH_LETTERS; i++) {
+            int code = 0;
+            if (8 + i < length) {
+                char c = plate.charAt(8 + i);
+                if (!isLetter(c)) return INVALID;
+                code = letterCode(c);
+            }
+            letters = (letters << LETTER_BITS) | code;
+        }
+
+        long key = year;
+        key = (key << (BH_LETTERS * LETTER_BITS)) | letters;
+        return BH_FLAG | (key << NUMBER_BITS) | number;
+    }
+
+    private static int twoDigits(CharSequence plate, int from) {
+        char tens = plate.charAt(from), units = plate.charAt(from + 1);
+        if (!isDigit(tens) || !isDigit(units)) return -1;
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    private static int fourDigits(CharSequence plate, int from) {
+        int value = 0;
+        for (int i = from; i < from + 4; i++) {
+            char c = plate.charAt(i);
+            if (!isDigit(c)) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int letterCode(char c) {
+        return c - 'A' + 1;
+    }
+
+    private static void appendLetter(StringBuilder plate, int bits) {
+        int code = bits & ((1 << LETTER_BITS) - 1);
+        if (code != 0) plate.append((char) ('A' + code - 1));
+    }
+
+    private static void appendTwoDigits(StringBuilder plate, int bits) {
+        int value = bits & ((1 << TWO_DIGIT_BITS) - 1);
+        plate.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static void appendNumber(StringBuilder plate, int bits) {
+        int value = bits & ((1 << NUMBER_BITS) - 1);
+        for (int divisor = 1000; divisor > 0; divisor /= 10) {
+            plate.append((char) ('0' + value / divisor % 10));
+        }
+    }
+}
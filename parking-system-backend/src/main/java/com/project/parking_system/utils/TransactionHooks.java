@@ -0,0 +1,44 @@
+package com.project.parking_system.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Shared helpers for work that has to follow the outcome of the surrounding transaction,
+ * such as keeping in-memory state (bitmaps, caches, indexes) in step with what was committed.
+ */
+
+public class TransactionHooks {
+
+    private TransactionHooks() {}
+
+    /**
+     * Runs the action after the surrounding transaction commits (or right away when there is none).
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs the action if the surrounding transaction does not commit. Without a transaction there is nothing to undo.
+     */
+    public static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.parking_system.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+/**
+ * The value must be a normalized standard (MH12AB1234) or BH-series (22BH1234AA) plate.
+ * Checked by PlateKeyCodec instead of a regular expression. Null values are left to @NotBlank.
+ */
+
+@Documented
+@Constraint(validatedBy = VehicleNumberValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VehicleNumber {
+
+    String message() default "Invalid format. Use standard (MH12AB1234) or BH (22BH1234AA) format without spaces.";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
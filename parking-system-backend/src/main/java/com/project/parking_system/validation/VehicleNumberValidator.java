@@ -0,0 +1,19 @@
+package com.project.parking_system.validation;
+
+import com.project.parking_system.utils.PlateKeyCodec;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Backs @VehicleNumber. Accepts normalized standard plates (2 letters, 2 digits, 0-3 series letters, 4 digits, e.g. MH12AB1234)
+ * and BH-series plates (2 digits, "BH", 4 digits, 1-2 letters, e.g. 22BH1234AA), uppercase and without spaces.
+ * Replaces the old @Pattern regex on the request DTOs with a single PlateKeyCodec scan; null is left to @NotBlank.
+ */
+
+public class VehicleNumberValidator implements ConstraintValidator<VehicleNumber, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || PlateKeyCodec.isValid(value);
+    }
+}
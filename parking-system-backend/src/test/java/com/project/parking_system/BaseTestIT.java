@@ -1,5 +1,10 @@
 package com.project.parking_system;
 
+import com.project.parking_system.cache.ActiveSessionIndex;
+import com.project.parking_system.cache.TariffRegistry;
+import com.project.parking_system.cache.VehicleRegistryCache;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.DynamicPropertyRegistrar;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -23,5 +28,24 @@ public class BaseTestIT {
         registry.add("spring.datasource.username", mysqlContainer::getUsername);
         registry.add("spring.datasource.password", mysqlContainer::getPassword);
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        // No broker in tests: events stay in the outbox where tests can inspect them.
+        registry.add("parking.outbox.relay.enabled", () -> "false");
+    }
+
+    @Autowired
+    private VehicleRegistryCache vehicleRegistryCache;
+
+    @Autowired
+    private ActiveSessionIndex activeSessionIndex;
+
+    @Autowired
+    private TariffRegistry tariffRegistry;
+
+    // Tests wipe tables directly, so in-memory state from an earlier test would point at deleted rows.
+    @AfterEach
+    void resetInMemoryState(){
+        vehicleRegistryCache.invalidateAll();
+        activeSessionIndex.load();
+        tariffRegistry.load();
     }
 }
@@ -0,0 +1,109 @@
+package com.project.parking_system.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.parking_system.dto.ParkingLotDto;
+import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.dto.kafka.LotUpdateDto;
+import com.project.parking_system.dto.kafka.SessionUpdateDto;
+import com.project.parking_system.dto.kafka.SlotUpdateDto;
+import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.utils.EventCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka event payloads: JSON (Jackson, as before) against the EventCodec binary encoding.
+ * Measures encode and decode throughput per event kind, and prints each payload's size in bytes at setup.
+ * Run from the IDE (main) after 'mvn test-compile'; add '-prof gc' to the options to compare allocation rates.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventEncodingBenchmark {
+
+    @Param({"slot", "session", "lot"})
+    public String kind;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private Object update;
+    private Class<?> updateClass;
+    private String eventType;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        switch (kind) {
+            case "slot" -> {
+                eventType = "ENTRY";
+                update = SlotUpdateDto.builder().type(eventType).lotId(42L).availableSlots(137).totalSlots(500).build();
+            }
+            case "session" -> {
+                eventType = "SESSION_END";
+                update = SessionUpdateDto.builder().type(eventType).lotId(42L).session(ParkingSessionDto.builder()
+                        .sessionId(1_234_567L)
+                        .vehicleNumber("MH12AB1234")
+                        .vehicleType(VehicleType.CAR)
+                        .parkingLotName("Pune Station East")
+                        .slotNumber(311)
+                        .entryTime(LocalDateTime.of(2025, 3, 1, 8, 15, 30, 123_456_000))
+                        .exitTime(LocalDateTime.of(2025, 3, 1, 11, 2, 5, 654_321_000))
+                        .totalAmount(new BigDecimal("145.50"))
+                        .status(SessionStatus.COMPLETED)
+                        .build()).build();
+            }
+            default -> {
+                eventType = "LOT_UPDATED";
+                update = LotUpdateDto.builder().type(eventType).lot(ParkingLotDto.builder()
+                        .id(42L)
+                        .name("Pune Station East")
+                        .location("Station Road, Pune")
+                        .totalSlots(500)
+                        .availableSlots(137)
+                        .basePricePerHour(new BigDecimal("40.00"))
+                        .createdAt(LocalDateTime.of(2024, 11, 5, 9, 0))
+                        .build()).build();
+            }
+        }
+        updateClass = update.getClass();
+        json = objectMapper.writeValueAsBytes(update);
+        binary = EventCodec.encode(update);
+        System.out.printf("%n%s payload: json %d bytes, binary %d bytes%n", kind, json.length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return objectMapper.writeValueAsBytes(update);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return EventCodec.encode(update);
+    }
+
+    @Benchmark
+    public Object decodeJson() throws Exception {
+        return objectMapper.readValue(json, updateClass);
+    }
+
+    @Benchmark
+    public Object decodeBinary() {
+        return EventCodec.decode(eventType, binary);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventEncodingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
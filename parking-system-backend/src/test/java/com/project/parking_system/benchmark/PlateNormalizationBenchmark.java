@@ -0,0 +1,57 @@
+package com.project.parking_system.benchmark;
+
+import com.project.parking_system.utils.ParkingUtils;
+import com.project.parking_system.utils.PlateKeyCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Plate handling on the entry path: the old regex normalizer and format check against the char scanning ones.
+ * Run from the IDE (main) after 'mvn test-compile'; add '-prof gc' to the options to compare allocation rates.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlateNormalizationBenchmark {
+
+    // The format check EntryRequestDto used before @VehicleNumber.
+    private static final Pattern ENTRY_PATTERN =
+            Pattern.compile("^([A-Z]{2}[0-9]{2}[A-Z]{0,3}[0-9]{4}|[0-9]{2}BH[0-9]{4}[A-Z]{1,2})$");
+
+    @Param({"MH12AB1234", "mh-12 ab 1234", "22BH1234AA"})
+    public String plate;
+
+    @Benchmark
+    public String normalizeRegex() {
+        return plate.replaceAll("[^A-Za-z0-9]", "").toUpperCase();
+    }
+
+    @Benchmark
+    public String normalizeScan() {
+        return ParkingUtils.normalizeVehicleNumber(plate);
+    }
+
+    @Benchmark
+    public void validateRegex(Blackhole blackhole) {
+        blackhole.consume(ENTRY_PATTERN.matcher(ParkingUtils.normalizeVehicleNumber(plate)).matches());
+    }
+
+    @Benchmark
+    public long validateAndPackScan() {
+        return PlateKeyCodec.encode(ParkingUtils.normalizeVehicleNumber(plate));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PlateNormalizationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
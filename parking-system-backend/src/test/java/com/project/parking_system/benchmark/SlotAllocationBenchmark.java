@@ -0,0 +1,139 @@
+package com.project.parking_system.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 'gates' concurrent gates filling a 40 slot lot against MySQL (Testcontainers, so Docker must be running).
+ * Each entry locks a slot, marks it OCCUPIED and holds its transaction open for 'holdMillis' (the rest of the
+ * entry: vehicle lookup, session insert) before committing.
+ * 'pessimistic' is PessimisticSlotAllocator: every available slot of the lot is locked, so gates queue behind each other.
+ * 'skipLocked' is SkipLockedSlotAllocator: one row with FOR UPDATE SKIP LOCKED, so gates take different slots in parallel.
+ * Replaces the wall-clock comparison SlotAllocationIT used to assert. Run from the IDE (main) after 'mvn test-compile'.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SlotAllocationBenchmark {
+
+    private static final int SLOTS = 40;
+
+    private static final String LOCK_ALL_AVAILABLE =
+            "SELECT id FROM parking_slots WHERE parking_lot_id = 1 AND slot_status = 'AVAILABLE' ORDER BY slot_number FOR UPDATE";
+    private static final String LOCK_FIRST_AVAILABLE_SKIP_LOCKED =
+            "SELECT id FROM parking_slots WHERE parking_lot_id = 1 AND slot_status = 'AVAILABLE' ORDER BY slot_number LIMIT 1 FOR UPDATE SKIP LOCKED";
+    private static final String OCCUPY = "UPDATE parking_slots SET slot_status = 'OCCUPIED' WHERE id = ?";
+
+    @Param({"8"})
+    public int gates;
+
+    @Param({"25"})
+    public long holdMillis;
+
+    private MySQLContainer<?> mysql;
+    private final List<Connection> connections = new ArrayList<>();
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws SQLException {
+        mysql = new MySQLContainer<>("mysql:8.0");
+        mysql.start();
+        for (int i = 0; i < gates; i++) {
+            Connection connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+            connections.add(connection);
+        }
+        try (Statement statement = connections.get(0).createStatement()) {
+            statement.execute("CREATE TABLE parking_slots (id BIGINT AUTO_INCREMENT PRIMARY KEY, parking_lot_id BIGINT NOT NULL, " +
+                    "slot_number INT NOT NULL, slot_status VARCHAR(20) NOT NULL, " +
+                    "KEY idx_slots_lot_status_number (parking_lot_id, slot_status, slot_number))");
+            StringBuilder insert = new StringBuilder("INSERT INTO parking_slots (parking_lot_id, slot_number, slot_status) VALUES ");
+            for (int slotNumber = 1; slotNumber <= SLOTS; slotNumber++) {
+                insert.append(slotNumber == 1 ? "" : ", ").append("(1, ").append(slotNumber).append(", 'AVAILABLE')");
+            }
+            statement.execute(insert.toString());
+        }
+        for (Connection connection : connections) connection.setAutoCommit(false);
+        executor = Executors.newFixedThreadPool(gates);
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyLot() throws SQLException {
+        Connection connection = connections.get(0);
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE parking_slots SET slot_status = 'AVAILABLE'");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() throws SQLException {
+        executor.shutdown();
+        for (Connection connection : connections) connection.close();
+        mysql.stop();
+    }
+
+    @Benchmark
+    public int pessimistic() throws Exception {
+        return fillLot(LOCK_ALL_AVAILABLE);
+    }
+
+    @Benchmark
+    public int skipLocked() throws Exception {
+        return fillLot(LOCK_FIRST_AVAILABLE_SKIP_LOCKED);
+    }
+
+    // Each gate enters on its own connection until the lot is full; returns the number of entries.
+    private int fillLot(String lockQuery) throws Exception {
+        List<Future<Integer>> results = new ArrayList<>();
+        for (Connection connection : connections) {
+            results.add(executor.submit(() -> {
+                int entered = 0;
+                while (enter(connection, lockQuery)) entered++;
+                return entered;
+            }));
+        }
+        int entered = 0;
+        for (Future<Integer> result : results) entered += result.get();
+        return entered;
+    }
+
+    private boolean enter(Connection connection, String lockQuery) throws SQLException, InterruptedException {
+        try (Statement lock = connection.createStatement(); ResultSet slots = lock.executeQuery(lockQuery)) {
+            if (!slots.next()) {
+                connection.rollback();
+                return false;
+            }
+            try (PreparedStatement occupy = connection.prepareStatement(OCCUPY)) {
+                occupy.setLong(1, slots.getLong(1));
+                occupy.executeUpdate();
+            }
+        }
+        Thread.sleep(holdMillis);
+        connection.commit();
+        return true;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SlotAllocationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+package com.project.parking_system.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating the slots of a 10,000 slot lot against MySQL (Testcontainers, so Docker must be running).
+ * 'saveAll' replays what Hibernate sends for IDENTITY entities: one INSERT and one round trip per slot.
+ * 'chunkedBatch' is ParkingSlotRepositoryCustomImpl.insertSlotRange: JDBC batches that the driver rewrites into
+ * multi-row INSERTs (rewriteBatchedStatements=true, as in application.properties).
+ * Run from the IDE (main) after 'mvn test-compile'.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SlotProvisioningBenchmark {
+
+    private static final int SLOTS = 10_000;
+
+    private static final String INSERT_SLOT =
+            "INSERT INTO parking_slots (parking_lot_id, slot_number, slot_status) VALUES (?, ?, ?)";
+
+    @Param({"500", "1000", "5000"})
+    public int chunkSize;
+
+    private MySQLContainer<?> mysql;
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws SQLException {
+        mysql = new MySQLContainer<>("mysql:8.0");
+        mysql.start();
+        connection = DriverManager.getConnection(mysql.getJdbcUrl() + "?rewriteBatchedStatements=true",
+                mysql.getUsername(), mysql.getPassword());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE parking_slots (id BIGINT AUTO_INCREMENT PRIMARY KEY, parking_lot_id BIGINT NOT NULL, " +
+                    "slot_number INT NOT NULL, slot_status VARCHAR(20) NOT NULL, " +
+                    "KEY idx_slots_lot_status_number (parking_lot_id, slot_status, slot_number), " +
+                    "KEY idx_slots_lot_number (parking_lot_id, slot_number))");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyTable() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE parking_slots");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() throws SQLException {
+        connection.close();
+        mysql.stop();
+    }
+
+    // One statement per slot, reading back its generated id (IDENTITY).
+    @Benchmark
+    public long saveAll() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SLOT, Statement.RETURN_GENERATED_KEYS)) {
+            for (int slotNumber = 1; slotNumber <= SLOTS; slotNumber++) {
+                bind(statement, slotNumber);
+                statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    if (keys.next()) lastId = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    public int chunkedBatch() throws SQLException {
+        int inserted = 0;
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SLOT)) {
+            for (int slotNumber = 1; slotNumber <= SLOTS; slotNumber++) {
+                bind(statement, slotNumber);
+                statement.addBatch();
+                if (++inserted % chunkSize == 0 || slotNumber == SLOTS) statement.executeBatch();
+            }
+        }
+        connection.commit();
+        return inserted;
+    }
+
+    private static void bind(PreparedStatement statement, int slotNumber) throws SQLException {
+        statement.setLong(1, 1L);
+        statement.setInt(2, slotNumber);
+        statement.setString(3, "AVAILABLE");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SlotProvisioningBenchmark.class.getSimpleName()).build()).run();
+    }
+}
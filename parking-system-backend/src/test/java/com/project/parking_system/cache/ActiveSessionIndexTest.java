@@ -0,0 +1,89 @@
+package com.project.parking_system.cache;
+
+import com.project.parking_system.cache.ActiveSessionIndex.ActiveSession;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ActiveSessionIndexTest {
+
+    @Mock
+    private ParkingSessionRepository parkingSessionRepository;
+
+    @InjectMocks
+    private ActiveSessionIndex activeSessionIndex;
+
+    @Test
+    void secondSessionForSameVehicleIsRejected(){
+        assertTrue(activeSessionIndex.sessionStarted(1L, new ActiveSession(10L, 100L, 5L, LocalDateTime.now(), "MH12AB1234", VehicleType.CAR)));
+        assertFalse(activeSessionIndex.sessionStarted(1L, new ActiveSession(11L, 101L, 5L, LocalDateTime.now(), "MH12AB1234", VehicleType.CAR)));
+
+        assertEquals(10L, activeSessionIndex.find(1L).orElseThrow().sessionId());
+        assertEquals(Set.of(1L), activeSessionIndex.filterActive(List.of(1L, 2L)));
+    }
+
+    @Test
+    void endingAnOlderSessionKeepsTheCurrentOne(){
+        activeSessionIndex.sessionStarted(1L, new ActiveSession(10L, 100L, 5L, LocalDateTime.now(), "MH12AB1234", VehicleType.CAR));
+
+        activeSessionIndex.sessionEnded(1L, 9L);
+        assertTrue(activeSessionIndex.contains(1L));
+
+        activeSessionIndex.sessionEnded(1L, 10L);
+        assertFalse(activeSessionIndex.contains(1L));
+    }
+
+    // A batch entry claims its vehicles first: a single entry of a claimed vehicle loses, and vice versa.
+    @Test
+    void claimAndSingleEntryExcludeEachOther(){
+        assertTrue(activeSessionIndex.claim(1L));
+        assertFalse(activeSessionIndex.sessionStarted(1L, new ActiveSession(10L, 100L, 5L, LocalDateTime.now(), "MH12AB1234", VehicleType.CAR)));
+        assertTrue(activeSessionIndex.find(1L).isEmpty());
+
+        activeSessionIndex.sessionStarted(2L, new ActiveSession(11L, 101L, 5L, LocalDateTime.now(), "MH12AB5678", VehicleType.CAR));
+        assertFalse(activeSessionIndex.claim(2L));
+    }
+
+    @Test
+    void claimBecomesSessionOrIsReleased(){
+        activeSessionIndex.claim(1L);
+        activeSessionIndex.claim(2L);
+
+        activeSessionIndex.claimedSessionStarted(1L, new ActiveSession(10L, 100L, 5L, LocalDateTime.now(), "MH12AB1234", VehicleType.CAR));
+        activeSessionIndex.releaseClaim(1L);
+        activeSessionIndex.releaseClaim(2L);
+
+        assertEquals(10L, activeSessionIndex.find(1L).orElseThrow().sessionId());
+        assertFalse(activeSessionIndex.contains(2L));
+        assertThrows(IllegalStateException.class, () -> activeSessionIndex.claimedSessionStarted(2L,
+                new ActiveSession(11L, 101L, 5L, LocalDateTime.now(), "MH12AB5678", VehicleType.CAR)));
+    }
+
+    @Test
+    void lookupsBySessionAndLotFollowStartAndEnd(){
+        activeSessionIndex.sessionStarted(1L, new ActiveSession(10L, 100L, 5L, LocalDateTime.now(), "MH12AB1234", VehicleType.CAR));
+        activeSessionIndex.sessionStarted(2L, new ActiveSession(11L, 101L, 5L, LocalDateTime.now(), "MH12AB5678", VehicleType.CAR));
+        activeSessionIndex.claim(3L);
+
+        assertEquals(2, activeSessionIndex.findByLot(5L).size());
+        assertEquals("MH12AB5678", activeSessionIndex.findBySessionId(11L).orElseThrow().vehicleNumber());
+
+        activeSessionIndex.sessionEnded(2L, 11L);
+        assertTrue(activeSessionIndex.findBySessionId(11L).isEmpty());
+        assertEquals(List.of(10L), activeSessionIndex.findByLot(5L).stream().map(ActiveSession::sessionId).toList());
+
+        activeSessionIndex.sessionEnded(1L, 10L);
+        assertTrue(activeSessionIndex.findByLot(5L).isEmpty());
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.parking_system.cache;
+
+import com.project.parking_system.entity.Vehicle;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.VehicleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VehicleRegistryCacheTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    private VehicleRegistryCache cache;
+
+    @BeforeEach
+    void setUp(){
+        cache = new VehicleRegistryCache(vehicleRepository, new SimpleMeterRegistry(), 100, Duration.ofHours(1), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void registeredPlateIsReadOnce(){
+        when(vehicleRepository.findByVehicleNumber("MH12AB1234"))
+                .thenReturn(Optional.of(Vehicle.builder().id(7L).vehicleNumber("MH12AB1234").vehicleType(VehicleType.CAR).build()));
+
+        cache.find("MH12AB1234");
+        Vehicle vehicle = cache.find("MH12AB1234").orElseThrow();
+
+        assertEquals(7L, vehicle.getId());
+        assertEquals(VehicleType.CAR, vehicle.getVehicleType());
+        verify(vehicleRepository, times(1)).findByVehicleNumber("MH12AB1234");
+    }
+
+    @Test
+    void unknownPlateIsCachedUntilItIsRegistered(){
+        when(vehicleRepository.findByVehicleNumber("MH12AB1234")).thenReturn(Optional.empty());
+
+        assertTrue(cache.find("MH12AB1234").isEmpty());
+        assertTrue(cache.find("MH12AB1234").isEmpty());
+        verify(vehicleRepository, times(1)).findByVehicleNumber("MH12AB1234");
+
+        // Outside a transaction the new vehicle is cached straight away.
+        cache.registered(Vehicle.builder().id(8L).vehicleNumber("MH12AB1234").vehicleType(VehicleType.BIKE).build());
+
+        assertEquals(VehicleType.BIKE, cache.find("MH12AB1234").orElseThrow().getVehicleType());
+        verify(vehicleRepository, times(1)).findByVehicleNumber("MH12AB1234");
+    }
+}
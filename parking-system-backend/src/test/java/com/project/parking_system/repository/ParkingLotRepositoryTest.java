@@ -2,11 +2,13 @@ package com.project.parking_system.repository;
 
 import com.project.parking_system.BaseTestIT;
 import com.project.parking_system.entity.ParkingLot;
+import com.project.parking_system.repository.projection.LotAvailabilityView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,7 +33,7 @@ public class ParkingLotRepositoryTest extends BaseTestIT {
         ParkingLot currentLot = ParkingLot.builder()
                 .name("Test Lot")
                 .location("Test Location")
-                .basePricePerHour(20.0)
+                .basePricePerHourPaise(2000L)
                 .totalSlots(50)
                 .build();
 
@@ -52,18 +54,36 @@ public class ParkingLotRepositoryTest extends BaseTestIT {
                 .name("Duplicate Name") 
                 .location("Loc A")
                 .totalSlots(10)
-                .basePricePerHour(10.0)
+                .basePricePerHourPaise(1000L)
                 .build();
 
         ParkingLot lot2 = ParkingLot.builder()
                 .name("Duplicate Name") // Same Name
                 .location("Loc B")
                 .totalSlots(20)
-                .basePricePerHour(20.0)
+                .basePricePerHourPaise(2000L)
                 .build();
 
         parkingLotRepository.save(lot1);
 
         assertThrows(org.springframework.dao.DataIntegrityViolationException.class, () -> parkingLotRepository.save(lot2));
     }
+
+    @Test
+    void listingCarriesAvailabilityAndFiltersByIds(){
+        ParkingLot busyLot = parkingLotRepository.save(ParkingLot.builder()
+                .name("Busy Lot").location("Loc A").totalSlots(10).occupiedSlots(7).basePricePerHourPaise(1000L).build());
+        ParkingLot emptyLot = parkingLotRepository.save(ParkingLot.builder()
+                .name("Empty Lot").location("Loc B").totalSlots(20).basePricePerHourPaise(2000L).build());
+
+        List<LotAvailabilityView> all = parkingLotRepository.findAllWithAvailability();
+        assertEquals(2, all.size());
+        assertEquals(3, all.get(0).getAvailableSlots());
+        assertEquals(20, all.get(1).getAvailableSlots());
+
+        List<LotAvailabilityView> subset = parkingLotRepository.findAllWithAvailabilityByIdIn(List.of(emptyLot.getId()));
+        assertEquals(1, subset.size());
+        assertEquals("Empty Lot", subset.get(0).getName());
+        assertNotEquals(busyLot.getId(), subset.get(0).getId());
+    }
 }
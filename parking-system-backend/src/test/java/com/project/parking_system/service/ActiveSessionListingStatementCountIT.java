@@ -0,0 +1,83 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.BaseTestIT;
+import com.project.parking_system.dto.EntryRequestDto;
+import com.project.parking_system.dto.ParkingLotRequestDto;
+import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.repository.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ActiveSessionListingStatementCountIT extends BaseTestIT {
+
+    @Autowired private ParkingOperationService parkingOperationService;
+    @Autowired private ParkingSessionService parkingSessionService;
+    @Autowired private ParkingLotService parkingLotService;
+    @Autowired private ParkingLotRepository parkingLotRepository;
+    @Autowired private ParkingSlotRepository parkingSlotRepository;
+    @Autowired private ParkingSessionRepository parkingSessionRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp(){
+        parkingSessionRepository.deleteAll();
+        parkingSlotRepository.deleteAll();
+        parkingLotRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    // However many sessions are listed, each listing is one statement and loads no entities.
+    @Test
+    void activeListingsRunOneStatement(){
+        Long firstLot = createLot("Listing Lot A");
+        Long secondLot = createLot("Listing Lot B");
+        enter("MH12AB0001", firstLot);
+        enter("MH12AB0002", firstLot);
+        enter("MH12AB0003", firstLot);
+        enter("MH12AB0004", secondLot);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<ParkingSessionDto> lotSessions = parkingSessionService.getAllActiveSessions(firstLot);
+        assertEquals(3, lotSessions.size());
+        assertEquals("Listing Lot A", lotSessions.get(0).getParkingLotName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "entities loaded for the per-lot listing");
+
+        statistics.clear();
+        assertEquals(4, parkingSessionService.getAllActiveSessions(null).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount(), "entities loaded for the global listing");
+    }
+
+    private Long createLot(String name){
+        return parkingLotService.createParkingLot(ParkingLotRequestDto.builder()
+                .name(name)
+                .location("Test Location")
+                .basePricePerHour(BigDecimal.valueOf(10))
+                .totalSlots(5)
+                .build()).getId();
+    }
+
+    private void enter(String vehicleNumber, Long lotId){
+        parkingOperationService.enterVehicle(EntryRequestDto.builder()
+                .vehicleNumber(vehicleNumber).vehicleType(VehicleType.CAR).parkingLotId(lotId).build());
+    }
+}
@@ -0,0 +1,146 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.BaseTestIT;
+import com.project.parking_system.dto.*;
+import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.enums.SlotStatus;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchParkingOperationServiceIT extends BaseTestIT {
+
+    @Autowired private BatchParkingOperationService batchParkingOperationService;
+    @Autowired private ParkingLotService parkingLotService;
+    @Autowired private ParkingLotRepository parkingLotRepository;
+    @Autowired private ParkingSlotRepository parkingSlotRepository;
+    @Autowired private ParkingSessionRepository parkingSessionRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private ParkingOperationService parkingOperationService;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private Long parkingLotId;
+
+    @BeforeEach
+    void setUp(){
+        parkingSessionRepository.deleteAll();
+        parkingSlotRepository.deleteAll();
+        parkingLotRepository.deleteAll();
+        vehicleRepository.deleteAll();
+
+        parkingLotId = parkingLotService.createParkingLot(ParkingLotRequestDto.builder()
+                .name("Batch Lot")
+                .location("Test Location")
+                .basePricePerHour(BigDecimal.valueOf(10))
+                .totalSlots(3)
+                .build()).getId();
+    }
+
+    @Test
+    void batchEntryAndExitReportPerItem(){
+        List<BatchItemResultDto<ParkingTicketDto>> entries = batchParkingOperationService.enterVehicles(List.of(
+                entry("MH12AB1234"),
+                entry("bad plate"),
+                entry("MH12AB1235"),
+                entry("MH12AB1234"),     // same vehicle again
+                entry("MH12AB1236"),
+                entry("MH12AB1237")));   // lot has only 3 slots
+
+        assertEquals(6, entries.size());
+        assertTrue(entries.get(0).isSuccess());
+        assertFalse(entries.get(1).isSuccess());
+        assertTrue(entries.get(2).isSuccess());
+        assertFalse(entries.get(3).isSuccess());
+        assertTrue(entries.get(4).isSuccess());
+        assertEquals("Parking lot is full ", entries.get(5).getError());
+
+        // Slots 1..3 were handed out in request order.
+        assertEquals(1, entries.get(0).getResult().getSlotNumber());
+        assertEquals(3, entries.get(4).getResult().getSlotNumber());
+        assertEquals(0, parkingSlotRepository.countByParkingLotIdAndSlotStatus(parkingLotId, SlotStatus.AVAILABLE));
+        assertEquals(3, parkingLotRepository.findOccupiedSlotsById(parkingLotId).orElseThrow());
+        assertEquals(3, parkingSessionRepository.findBySessionStatus(SessionStatus.ACTIVE).size());
+
+        List<BatchItemResultDto<BillDto>> exits = batchParkingOperationService.exitVehicles(List.of(
+                exit("MH12AB1234"),
+                exit("MH12AB1237"),      // never got in
+                exit("MH12AB1236")));
+
+        assertTrue(exits.get(0).isSuccess());
+        assertEquals("No active session found.", exits.get(1).getError());
+        assertTrue(exits.get(2).isSuccess());
+        assertEquals(new BigDecimal("0.00"), exits.get(0).getResult().getTotalAmount());
+
+        assertEquals(2, parkingSlotRepository.countByParkingLotIdAndSlotStatus(parkingLotId, SlotStatus.AVAILABLE));
+        assertEquals(1, parkingLotRepository.findOccupiedSlotsById(parkingLotId).orElseThrow());
+        assertEquals(SessionStatus.COMPLETED,
+                parkingSessionRepository.findById(exits.get(0).getResult().getSessionId()).orElseThrow().getSessionStatus());
+    }
+
+    // A single exit of MH12AB1234 is still uncommitted while the batch exits it together with a vehicle in
+    // another lot: only MH12AB1234 fails, the other lot commits, and MH12AB1234 is billed once, by the single exit.
+    @Test
+    void concurrentSingleExitFailsOnlyItsLot() throws Exception {
+        Long otherLotId = parkingLotService.createParkingLot(ParkingLotRequestDto.builder()
+                .name("Batch Lot 2")
+                .location("Test Location")
+                .basePricePerHour(BigDecimal.valueOf(10))
+                .totalSlots(3)
+                .build()).getId();
+        batchParkingOperationService.enterVehicles(List.of(entry("MH12AB1234"),
+                EntryRequestDto.builder().vehicleNumber("MH12AB1235").vehicleType(VehicleType.CAR).parkingLotId(otherLotId).build()));
+
+        CountDownLatch exited = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread singleExit = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            parkingOperationService.exitVehicle(exit("MH12AB1234"));
+            exited.countDown();
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        singleExit.start();
+        assertTrue(exited.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<List<BatchItemResultDto<BillDto>>> batch = CompletableFuture.supplyAsync(() ->
+                batchParkingOperationService.exitVehicles(List.of(exit("MH12AB1234"),
+                        ExitRequestDto.builder().vehicleNumber("MH12AB1235").parkingLotId(otherLotId).build())));
+        // Give the batch time to reach the rows the single exit holds, then let the single exit commit.
+        Thread.sleep(500);
+        commit.countDown();
+        singleExit.join(10_000);
+
+        List<BatchItemResultDto<BillDto>> exits = batch.get(10, TimeUnit.SECONDS);
+        assertFalse(exits.get(0).isSuccess());
+        assertTrue(exits.get(1).isSuccess());
+
+        assertEquals(0, parkingLotRepository.findOccupiedSlotsById(parkingLotId).orElseThrow());
+        assertEquals(0, parkingLotRepository.findOccupiedSlotsById(otherLotId).orElseThrow());
+        assertEquals(2, parkingSessionRepository.findBySessionStatus(SessionStatus.COMPLETED).size());
+        assertTrue(parkingSessionRepository.findBySessionStatus(SessionStatus.ACTIVE).isEmpty());
+    }
+
+    private EntryRequestDto entry(String vehicleNumber){
+        return EntryRequestDto.builder().vehicleNumber(vehicleNumber).vehicleType(VehicleType.CAR).parkingLotId(parkingLotId).build();
+    }
+
+    private ExitRequestDto exit(String vehicleNumber){
+        return ExitRequestDto.builder().vehicleNumber(vehicleNumber).parkingLotId(parkingLotId).build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.BaseTestIT;
+import com.project.parking_system.dto.EntryRequestDto;
+import com.project.parking_system.dto.ExitRequestDto;
+import com.project.parking_system.dto.ParkingLotRequestDto;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.repository.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ExitStatementCountIT extends BaseTestIT {
+
+    @Autowired private ParkingOperationService parkingOperationService;
+    @Autowired private ParkingLotService parkingLotService;
+    @Autowired private ParkingLotRepository parkingLotRepository;
+    @Autowired private ParkingSlotRepository parkingSlotRepository;
+    @Autowired private ParkingSessionRepository parkingSessionRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Long parkingLotId;
+
+    @BeforeEach
+    void setUp(){
+        parkingSessionRepository.deleteAll();
+        parkingSlotRepository.deleteAll();
+        parkingLotRepository.deleteAll();
+        vehicleRepository.deleteAll();
+
+        parkingLotId = parkingLotService.createParkingLot(ParkingLotRequestDto.builder()
+                .name("Statement Lot")
+                .location("Test Location")
+                .basePricePerHour(BigDecimal.valueOf(10))
+                .totalSlots(5)
+                .build()).getId();
+    }
+
+    @Test
+    void exitRunsAFixedNumberOfStatements(){
+        parkingOperationService.enterVehicle(EntryRequestDto.builder()
+                .vehicleNumber("MH12AB1234").vehicleType(VehicleType.CAR).parkingLotId(parkingLotId).build());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        parkingOperationService.exitVehicle(ExitRequestDto.builder().vehicleNumber("MH12AB1234").parkingLotId(parkingLotId).build());
+
+        // 1. session + vehicle + slot + lot (exit entity graph)
+        // 2. occupancy counter read for billing
+        // 3. session UPDATE, 4. slot UPDATE, 5. occupancy counter UPDATE
+        // (The outbox insert goes through plain JDBC and is not seen by Hibernate. The slot update event's
+        // availability is read after commit, by the coalescing flush.)
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityFetchCount(), "lazy association loaded during exit");
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.BaseTestIT;
+import com.project.parking_system.dto.*;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.exception.BusinessException;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Chunks of 2, so five sessions take several chunk transactions.
+@TestPropertySource(properties = "parking.lot-deletion.chunk-size=2")
+public class LotDeletionIT extends BaseTestIT {
+
+    @Autowired private ParkingLotService parkingLotService;
+    @Autowired private ParkingOperationService parkingOperationService;
+    @Autowired private ParkingLotRepository parkingLotRepository;
+    @Autowired private ParkingSlotRepository parkingSlotRepository;
+    @Autowired private ParkingSessionRepository parkingSessionRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+
+    private Long parkingLotId;
+
+    @BeforeEach
+    void setUp(){
+        parkingSessionRepository.deleteAll();
+        parkingSlotRepository.deleteAll();
+        parkingLotRepository.deleteAll();
+        vehicleRepository.deleteAll();
+
+        parkingLotId = parkingLotService.createParkingLot(ParkingLotRequestDto.builder()
+                .name("Deletion Lot")
+                .location("Test Location")
+                .basePricePerHour(BigDecimal.valueOf(10))
+                .totalSlots(3)
+                .build()).getId();
+    }
+
+    @Test
+    void deletesLotWithItsHistoryButNotWhileOccupied(){
+        for (int i = 0; i < 5; i++) {
+            String plate = "MH12AB000" + i;
+            parkingOperationService.enterVehicle(EntryRequestDto.builder().vehicleNumber(plate).vehicleType(VehicleType.CAR).parkingLotId(parkingLotId).build());
+            parkingOperationService.exitVehicle(ExitRequestDto.builder().vehicleNumber(plate).parkingLotId(parkingLotId).build());
+        }
+        parkingOperationService.enterVehicle(EntryRequestDto.builder().vehicleNumber("MH12AB0009").vehicleType(VehicleType.CAR).parkingLotId(parkingLotId).build());
+
+        // The guard runs before anything is removed.
+        assertThrows(BusinessException.class, () -> parkingLotService.deleteParkingLot(parkingLotId));
+        assertEquals(6, parkingSessionRepository.count());
+
+        parkingOperationService.exitVehicle(ExitRequestDto.builder().vehicleNumber("MH12AB0009").parkingLotId(parkingLotId).build());
+        parkingLotService.deleteParkingLot(parkingLotId);
+
+        assertFalse(parkingLotRepository.existsById(parkingLotId));
+        assertEquals(0, parkingSessionRepository.count());
+        assertEquals(0, parkingSlotRepository.count());
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.BaseTestIT;
+import com.project.parking_system.dto.EntryRequestDto;
+import com.project.parking_system.dto.ParkingLotRequestDto;
+import com.project.parking_system.entity.OutboxEvent;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.*;
+import com.project.parking_system.scheduler.OutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OutboxRelayLockingIT extends BaseTestIT {
+
+    @Autowired private ParkingOperationService parkingOperationService;
+    @Autowired private ParkingLotService parkingLotService;
+    @Autowired private ParkingEventProducer parkingEventProducer;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ParkingLotRepository parkingLotRepository;
+    @Autowired private ParkingSlotRepository parkingSlotRepository;
+    @Autowired private ParkingSessionRepository parkingSessionRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+
+    private Long parkingLotId;
+
+    @BeforeEach
+    void setUp(){
+        parkingSessionRepository.deleteAll();
+        parkingSlotRepository.deleteAll();
+        parkingLotRepository.deleteAll();
+        vehicleRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+
+        // Leaves a LOT_CREATED event in the outbox for the relay to pick up.
+        parkingLotId = parkingLotService.createParkingLot(ParkingLotRequestDto.builder()
+                .name("Relay Lot")
+                .location("Test Location")
+                .basePricePerHour(BigDecimal.valueOf(10))
+                .totalSlots(5)
+                .build()).getId();
+    }
+
+    // The relay holds its batch transaction while the broker does not answer; an entry still commits its events.
+    @Test
+    @SuppressWarnings("unchecked")
+    void entryCommitsWhileRelayWaitsOnKafka() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CompletableFuture<SendResult<String, byte[]>> brokerAnswer = new CompletableFuture<>();
+        KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            sending.countDown();
+            return brokerAnswer;
+        });
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, kafkaTemplate, transactionManager, new SimpleMeterRegistry(), 500, 60_000);
+
+        Thread relayThread = new Thread(relay::relay);
+        relayThread.start();
+        assertTrue(sending.await(10, TimeUnit.SECONDS));
+
+        // Under REPEATABLE READ this INSERT would wait for the relay's next-key lock (up to innodb_lock_wait_timeout).
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            parkingOperationService.enterVehicle(EntryRequestDto.builder()
+                    .vehicleNumber("MH12AB1234").vehicleType(VehicleType.CAR).parkingLotId(parkingLotId).build());
+            parkingEventProducer.flushSlotUpdates();
+        });
+
+        brokerAnswer.complete(null);
+        relayThread.join(10_000);
+
+        // The relay deleted what it sent (the lot event); the entry's events wait for the next run.
+        List<String> waiting = outboxEventRepository.findAll().stream().map(OutboxEvent::getEventType).toList();
+        assertFalse(waiting.contains("LOT_CREATED"));
+        assertTrue(waiting.containsAll(List.of("SESSION_ENTRY", "ENTRY")));
+    }
+}
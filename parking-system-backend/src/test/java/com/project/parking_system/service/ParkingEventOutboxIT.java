@@ -0,0 +1,74 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.BaseTestIT;
+import com.project.parking_system.dto.EntryRequestDto;
+import com.project.parking_system.dto.ParkingLotRequestDto;
+import com.project.parking_system.dto.kafka.SlotUpdateDto;
+import com.project.parking_system.entity.OutboxEvent;
+import com.project.parking_system.enums.EventEncoding;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.exception.BusinessException;
+import com.project.parking_system.repository.*;
+import com.project.parking_system.utils.EventCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParkingEventOutboxIT extends BaseTestIT {
+
+    @Autowired private ParkingOperationService parkingOperationService;
+    @Autowired private ParkingLotService parkingLotService;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private ParkingEventProducer parkingEventProducer;
+    @Autowired private ParkingLotRepository parkingLotRepository;
+    @Autowired private ParkingSlotRepository parkingSlotRepository;
+    @Autowired private ParkingSessionRepository parkingSessionRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+
+    private Long parkingLotId;
+
+    @BeforeEach
+    void setUp(){
+        parkingSessionRepository.deleteAll();
+        parkingSlotRepository.deleteAll();
+        parkingLotRepository.deleteAll();
+        vehicleRepository.deleteAll();
+
+        parkingLotId = parkingLotService.createParkingLot(ParkingLotRequestDto.builder()
+                .name("Outbox Lot")
+                .location("Test Location")
+                .basePricePerHour(BigDecimal.valueOf(10))
+                .totalSlots(1)
+                .build()).getId();
+        parkingEventProducer.flushSlotUpdates();
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void committedEntryLeavesEventsAndRolledBackEntryLeavesNone(){
+        parkingOperationService.enterVehicle(entry("MH12AB1234"));
+        // The slot update is coalesced and written by the next flush (the scheduled one may already have run).
+        parkingEventProducer.flushSlotUpdates();
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(List.of("SESSION_ENTRY", "ENTRY"), events.stream().map(OutboxEvent::getEventType).toList());
+        assertTrue(events.stream().allMatch(e -> e.getAggregateKey().equals(String.valueOf(parkingLotId))));
+        assertEquals(EventEncoding.BINARY.getContentType(), events.get(1).getContentType());
+        SlotUpdateDto slotUpdate = (SlotUpdateDto) EventCodec.decode("ENTRY", events.get(1).getPayload());
+        assertEquals(0, slotUpdate.getAvailableSlots());
+
+        // The lot is full now: the entry rolls back, and so do its events.
+        assertThrows(BusinessException.class, () -> parkingOperationService.enterVehicle(entry("MH12AB1235")));
+        parkingEventProducer.flushSlotUpdates();
+        assertEquals(2, outboxEventRepository.count());
+    }
+
+    private EntryRequestDto entry(String vehicleNumber){
+        return EntryRequestDto.builder().vehicleNumber(vehicleNumber).vehicleType(VehicleType.CAR).parkingLotId(parkingLotId).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.parking_system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.parking_system.entity.OutboxEvent;
+import com.project.parking_system.enums.EventEncoding;
+import com.project.parking_system.repository.OutboxEventRepository;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.projection.LotAvailabilityView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ParkingEventProducerTest {
+
+    @Mock private OutboxEventRepository outboxEventRepository;
+    @Mock private ParkingLotRepository parkingLotRepository;
+
+    // Many entries/exits of a lot within one window become one update with the latest count.
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalescesSlotUpdatesPerLot(){
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ParkingEventProducer producer = new ParkingEventProducer(new ObjectMapper(), outboxEventRepository, parkingLotRepository, meterRegistry, true, EventEncoding.JSON);
+
+        // No transaction here, so every update is marked at once.
+        producer.sendSlotUpdate(1L, "ENTRY");
+        producer.sendSlotUpdate(1L, "ENTRY");
+        producer.sendSlotUpdate(2L, "ENTRY");
+        producer.sendSlotUpdate(1L, "EXIT");
+        verifyNoInteractions(outboxEventRepository, parkingLotRepository);
+
+        List<LotAvailabilityView> lots = List.of(lot(1L, 7), lot(2L, 3));
+        when(parkingLotRepository.findAllWithAvailabilityByIdIn(Set.of(1L, 2L))).thenReturn(lots);
+        producer.flushSlotUpdates();
+
+        ArgumentCaptor<List<OutboxEvent>> written = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventRepository).insertAllInBatch(written.capture());
+        assertEquals(2, written.getValue().size());
+        OutboxEvent lotOne = written.getValue().stream().filter(e -> e.getAggregateKey().equals("1")).findFirst().orElseThrow();
+        assertEquals("EXIT", lotOne.getEventType());
+        assertTrue(new String(lotOne.getPayload()).contains("\"availableSlots\":7"));
+
+        assertEquals(4, meterRegistry.counter("parking.events.slot-updates.in").count());
+        assertEquals(2, meterRegistry.counter("parking.events.slot-updates.out").count());
+
+        // Nothing marked since: the next window writes nothing.
+        producer.flushSlotUpdates();
+        verify(outboxEventRepository, times(1)).insertAllInBatch(any());
+    }
+
+    // A failed flush writes nothing and loses nothing: the lots are published by the next run.
+    @Test
+    void failedFlushKeepsTheLotsMarked(){
+        ParkingEventProducer producer = new ParkingEventProducer(new ObjectMapper(), outboxEventRepository, parkingLotRepository, new SimpleMeterRegistry(), true, EventEncoding.JSON);
+        producer.sendSlotUpdate(1L, "ENTRY");
+
+        List<LotAvailabilityView> lots = List.of(lot(1L, 7));
+        when(parkingLotRepository.findAllWithAvailabilityByIdIn(Set.of(1L)))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"))
+                .thenReturn(lots);
+        assertThrows(QueryTimeoutException.class, producer::flushSlotUpdates);
+        verifyNoInteractions(outboxEventRepository);
+
+        producer.flushSlotUpdates();
+        verify(outboxEventRepository).insertAllInBatch(argThat(events -> events.size() == 1));
+    }
+
+    private static LotAvailabilityView lot(Long id, int availableSlots){
+        LotAvailabilityView lot = mock(LotAvailabilityView.class);
+        when(lot.getId()).thenReturn(id);
+        when(lot.getAvailableSlots()).thenReturn(availableSlots);
+        when(lot.getTotalSlots()).thenReturn(10);
+        return lot;
+    }
+}
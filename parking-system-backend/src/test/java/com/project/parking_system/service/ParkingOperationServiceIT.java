@@ -19,6 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.testcontainers.shaded.com.trilead.ssh2.Session;
 
 import javax.swing.text.html.Option;
+import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,7 +48,7 @@ public class ParkingOperationServiceIT extends BaseTestIT {
         ParkingLotRequestDto lotRequest = ParkingLotRequestDto.builder()
                 .name("Test Lot")
                 .location("Test Location")
-                .basePricePerHour(10.0)
+                .basePricePerHour(BigDecimal.valueOf(10))
                 .totalSlots(10)
                 .build();
 
@@ -96,7 +97,7 @@ public class ParkingOperationServiceIT extends BaseTestIT {
         assertEquals(SlotStatus.AVAILABLE, exitSlot.get().getSlotStatus());
 
         // Billing
-        assertEquals(0.0, bill.getTotalAmount());
+        assertEquals(new BigDecimal("0.00"), bill.getTotalAmount());
     }
 
     @Test
@@ -105,7 +106,7 @@ public class ParkingOperationServiceIT extends BaseTestIT {
         ParkingLotRequestDto lotRequest = ParkingLotRequestDto.builder()
                 .name("Test Lot")
                 .location("Test Location")
-                .basePricePerHour(10.0)
+                .basePricePerHour(BigDecimal.valueOf(10))
                 .totalSlots(10)
                 .build();
 
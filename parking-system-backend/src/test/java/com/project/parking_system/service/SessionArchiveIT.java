@@ -0,0 +1,97 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.BaseTestIT;
+import com.project.parking_system.config.SessionArchiveSchema;
+import com.project.parking_system.dto.*;
+import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.repository.VehicleRepository;
+import com.project.parking_system.scheduler.SessionArchiveJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionArchiveIT extends BaseTestIT {
+
+    @Autowired private ParkingLotService parkingLotService;
+    @Autowired private ParkingOperationService parkingOperationService;
+    @Autowired private ParkingSessionService parkingSessionService;
+    @Autowired private SessionArchiveJob sessionArchiveJob;
+    @Autowired private ParkingLotRepository parkingLotRepository;
+    @Autowired private ParkingSlotRepository parkingSlotRepository;
+    @Autowired private ParkingSessionRepository parkingSessionRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long parkingLotId;
+
+    @BeforeEach
+    void setUp(){
+        jdbcTemplate.update("DELETE FROM " + SessionArchiveSchema.TABLE);
+        parkingSessionRepository.deleteAll();
+        parkingSlotRepository.deleteAll();
+        parkingLotRepository.deleteAll();
+        vehicleRepository.deleteAll();
+
+        parkingLotId = parkingLotService.createParkingLot(ParkingLotRequestDto.builder()
+                .name("Archive Lot")
+                .location("Test Location")
+                .basePricePerHour(BigDecimal.valueOf(10))
+                .totalSlots(5)
+                .build()).getId();
+    }
+
+    // Old closed sessions leave parking_sessions, active and recent ones stay, and history still shows all of them.
+    @Test
+    void archivesOldClosedSessionsAndKeepsThemInHistory(){
+        Long oldSession = enterAndExit("MH12AB0001");
+        Long recentSession = enterAndExit("MH12AB0002");
+        Long activeSession = parkingOperationService.enterVehicle(entry("MH12AB0003")).getSessionId();
+
+        // Backdate one visit past the retention, into an earlier month.
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(200);
+        jdbcTemplate.update("UPDATE parking_sessions SET entry_time = ?, exit_time = ? WHERE id = ?",
+                longAgo, longAgo.plusHours(2), oldSession);
+
+        sessionArchiveJob.archive();
+
+        assertFalse(parkingSessionRepository.existsById(oldSession));
+        assertTrue(parkingSessionRepository.existsById(recentSession));
+        assertTrue(parkingSessionRepository.existsById(activeSession));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + SessionArchiveSchema.TABLE, Integer.class));
+
+        // Newest first across both tables; the archived row still has its plate and lot.
+        SessionPageDto page = parkingSessionService.getSessionHistory(SessionHistoryFilter.builder().lotId(parkingLotId).build(), null, 10);
+        List<ParkingSessionDto> items = page.getItems();
+        assertEquals(List.of(activeSession, recentSession, oldSession), items.stream().map(ParkingSessionDto::getSessionId).toList());
+        assertEquals("MH12AB0001", items.get(2).getVehicleNumber());
+        assertEquals("Archive Lot", items.get(2).getParkingLotName());
+        assertEquals(SessionStatus.COMPLETED, items.get(2).getStatus());
+
+        // Paging crosses from the live table into the archive.
+        SessionPageDto first = parkingSessionService.getSessionHistory(SessionHistoryFilter.builder().lotId(parkingLotId).build(), null, 2);
+        SessionPageDto second = parkingSessionService.getSessionHistory(SessionHistoryFilter.builder().lotId(parkingLotId).build(), first.getNextCursor(), 2);
+        assertEquals(oldSession, second.getItems().get(0).getSessionId());
+        assertNull(second.getNextCursor());
+    }
+
+    private Long enterAndExit(String vehicleNumber){
+        Long sessionId = parkingOperationService.enterVehicle(entry(vehicleNumber)).getSessionId();
+        parkingOperationService.exitVehicle(ExitRequestDto.builder().vehicleNumber(vehicleNumber).parkingLotId(parkingLotId).build());
+        return sessionId;
+    }
+
+    private EntryRequestDto entry(String vehicleNumber){
+        return EntryRequestDto.builder().vehicleNumber(vehicleNumber).vehicleType(VehicleType.CAR).parkingLotId(parkingLotId).build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.parking_system.service;
+
+import com.project.parking_system.BaseTestIT;
+import com.project.parking_system.dto.ParkingLotDto;
+import com.project.parking_system.dto.ParkingLotRequestDto;
+import com.project.parking_system.entity.ParkingSlot;
+import com.project.parking_system.enums.SlotStatus;
+import com.project.parking_system.exception.BusinessException;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.repository.VehicleRepository;
+import com.project.parking_system.service.impl.PessimisticSlotAllocator;
+import com.project.parking_system.service.impl.SkipLockedSlotAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlotAllocationIT extends BaseTestIT {
+
+    private static final int GATES = 8;
+    private static final int ENTRIES = 40;
+
+    // Simulates the rest of the entry transaction (vehicle lookup, session insert) while the slot lock is held.
+    private static final long HOLD_MILLIS = 25;
+
+    @Autowired private ParkingLotService parkingLotService;
+    @Autowired private ParkingLotRepository parkingLotRepository;
+    @Autowired private ParkingSlotRepository parkingSlotRepository;
+    @Autowired private ParkingSessionRepository parkingSessionRepository;
+    @Autowired private VehicleRepository vehicleRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private Long parkingLotId;
+
+    @BeforeEach
+    void setUp(){
+        parkingSessionRepository.deleteAll();
+        parkingSlotRepository.deleteAll();
+        parkingLotRepository.deleteAll();
+        vehicleRepository.deleteAll();
+
+        ParkingLotDto lot = parkingLotService.createParkingLot(ParkingLotRequestDto.builder()
+                .name("Multi Gate Lot")
+                .location("Test Location")
+                .basePricePerHour(BigDecimal.valueOf(10))
+                .totalSlots(ENTRIES)
+                .build());
+        parkingLotId = lot.getId();
+    }
+
+    // Throughput of the two strategies is compared in SlotAllocationBenchmark, not here.
+    @Test
+    void pessimisticNeverDoubleAllocates() throws Exception {
+        runConcurrentEntries(new PessimisticSlotAllocator(parkingSlotRepository));
+    }
+
+    @Test
+    void skipLockedNeverDoubleAllocates() throws Exception {
+        runConcurrentEntries(new SkipLockedSlotAllocator(parkingSlotRepository));
+    }
+
+    @Test
+    void skipLockedReportsFullLot() throws Exception {
+        runConcurrentEntries(new SkipLockedSlotAllocator(parkingSlotRepository));
+
+        SlotAllocator skipLocked = new SkipLockedSlotAllocator(parkingSlotRepository);
+        assertThrows(BusinessException.class, () -> transactionTemplate.execute(status -> skipLocked.allocate(parkingLotId)));
+    }
+
+    // Fires one entry per slot from several gates at once and asserts every entry got its own slot.
+    private void runConcurrentEntries(SlotAllocator allocator) throws Exception {
+        ExecutorService gates = Executors.newFixedThreadPool(GATES);
+        List<Future<Long>> claims = new ArrayList<>();
+
+        for (int i = 0; i < ENTRIES; i++) {
+            claims.add(gates.submit(() -> transactionTemplate.execute(status -> {
+                ParkingSlot slot = allocator.allocate(parkingLotId);
+                slot.setSlotStatus(SlotStatus.OCCUPIED);
+                parkingSlotRepository.save(slot);
+                sleep();
+                return slot.getId();
+            })));
+        }
+
+        Set<Long> slotIds = new HashSet<>();
+        for (Future<Long> claim : claims) {
+            assertTrue(slotIds.add(claim.get(30, TimeUnit.SECONDS)), "Slot allocated twice");
+        }
+        gates.shutdown();
+
+        assertEquals(ENTRIES, slotIds.size());
+        assertEquals(0, parkingSlotRepository.countByParkingLotIdAndSlotStatus(parkingLotId, SlotStatus.AVAILABLE));
+    }
+
+    private static void sleep(){
+        try {
+            Thread.sleep(HOLD_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.project.parking_system.service.impl;
+
+import com.project.parking_system.dto.*;
+import com.project.parking_system.entity.ParkingLot;
+import com.project.parking_system.entity.ParkingSession;
+import com.project.parking_system.entity.ParkingSlot;
+import com.project.parking_system.entity.Vehicle;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.mapper.ParkingSessionMapper;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.service.*;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchParkingOperationServiceImplTest {
+
+    @Mock private VehicleService vehicleService;
+    @Mock private ParkingSlotService parkingSlotService;
+    @Mock private ParkingSessionService parkingSessionService;
+    @Mock private ParkingLotRepository parkingLotRepository;
+    @Mock private BillingService billingService;
+    @Mock private ParkingEventProducer eventProducer;
+    @Mock private ParkingSessionMapper parkingSessionMapper;
+    @Mock private Validator validator;
+    @Mock private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BatchParkingOperationServiceImpl batchParkingOperationService;
+
+    private final Map<Long, ParkingLot> lots = new HashMap<>();
+    private final Map<String, Vehicle> vehicles = new HashMap<>();
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp(){
+        lots.put(1L, ParkingLot.builder().id(1L).name("Lot 1").totalSlots(10).basePricePerHourPaise(5000L).build());
+        lots.put(2L, ParkingLot.builder().id(2L).name("Lot 2").totalSlots(10).basePricePerHourPaise(5000L).build());
+        vehicles.put("MH12AB0001", Vehicle.builder().id(1L).vehicleNumber("MH12AB0001").vehicleType(VehicleType.CAR).build());
+        vehicles.put("MH12AB0002", Vehicle.builder().id(2L).vehicleNumber("MH12AB0002").vehicleType(VehicleType.CAR).build());
+        vehicles.put("MH12AB0003", Vehicle.builder().id(3L).vehicleNumber("MH12AB0003").vehicleType(VehicleType.CAR).build());
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+    }
+
+    private void stubEntries(){
+        when(validator.validate(any(EntryRequestDto.class))).thenReturn(Collections.emptySet());
+        when(parkingLotRepository.findAllById(anySet())).thenAnswer(invocation ->
+                ((Set<Long>) invocation.getArgument(0)).stream().map(lots::get).toList());
+        // New vehicles are registered in the lot's transaction, so a lot that rolls back leaves none behind.
+        when(vehicleService.findOrCreateVehicles(anyMap())).thenAnswer(invocation -> {
+            assertTrue(inTransaction.get(), "vehicles registered outside the lot transaction");
+            return vehicles;
+        });
+        when(parkingSlotService.occupyAvailableSlots(anyLong(), anyInt())).thenAnswer(invocation -> {
+            ParkingLot lot = lots.get((Long) invocation.getArgument(0));
+            List<ParkingSlot> slots = new ArrayList<>();
+            for (int i = 1; i <= (int) invocation.getArgument(1); i++) {
+                slots.add(ParkingSlot.builder().id(lot.getId() * 100 + i).slotNumber(i).parkingLot(lot).build());
+            }
+            return slots;
+        });
+    }
+
+    // Vehicle 2 is parked by a concurrent entry between the vehicle lookup and the claim: only its item is rejected.
+    @Test
+    void vehicleLosingTheEntryRaceIsRejectedAlone(){
+        stubEntries();
+        when(parkingSessionService.claimActiveSessions(anyCollection())).thenReturn(Set.of(1L, 3L));
+
+        List<BatchItemResultDto<ParkingTicketDto>> results = batchParkingOperationService.enterVehicles(List.of(
+                entry("MH12AB0001", 1L), entry("MH12AB0002", 1L), entry("MH12AB0003", 1L)));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Vehicle with same ID is already under Active Session.", results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+
+        verify(parkingSlotService).occupyAvailableSlots(1L, 2);
+        verify(parkingSessionService).releaseActiveSessionClaims(Set.of(1L, 3L));
+    }
+
+    // A database error in one lot's transaction fails that lot's items; the other lot still commits.
+    @Test
+    void failingLotDoesNotFailTheOtherLots(){
+        stubEntries();
+        when(parkingSessionService.claimActiveSessions(anyCollection())).thenReturn(Set.of(1L, 2L, 3L));
+        doAnswer(invocation -> {
+            List<ParkingSession> sessions = invocation.getArgument(0);
+            if (sessions.get(0).getParkingSlot().getParkingLot().getId().equals(2L)) throw new QueryTimeoutException("Lock wait timeout exceeded");
+            return null;
+        }).when(parkingSessionService).createSessions(anyList());
+
+        List<BatchItemResultDto<ParkingTicketDto>> results = batchParkingOperationService.enterVehicles(List.of(
+                entry("MH12AB0001", 1L), entry("MH12AB0002", 2L), entry("MH12AB0003", 1L)));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Entry could not be recorded. Please retry.", results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+
+        verify(eventProducer).sendSlotUpdate(1L, "ENTRY");
+        verify(eventProducer, never()).sendSlotUpdate(2L, "ENTRY");
+    }
+
+    // A single exit closed vehicle 2's session while the batch was exiting it: the version check fails lot 2 only.
+    @Test
+    void concurrentSingleExitFailsOnlyItsLot(){
+        when(validator.validate(any(ExitRequestDto.class))).thenReturn(Collections.emptySet());
+        when(parkingSessionService.findActiveSessionsByVehicleNumbers(anyCollection())).thenAnswer(invocation ->
+                ((Collection<String>) invocation.getArgument(0)).stream().map(this::activeSession).toList());
+        when(parkingLotRepository.findOccupiedSlotsById(anyLong())).thenReturn(Optional.of(2));
+        when(billingService.calculateBillForOccupancy(any(), any(), anyLong(), anyLong(), anyInt(), anyLong(), any()))
+                .thenReturn(BillingResultDto.builder().totalAmountPaise(5000).appliedMultiplier(1.0).billableHours(1L).build());
+        doAnswer(invocation -> {
+            ParkingSession session = invocation.getArgument(0);
+            if (session.getId() == 2L) throw new ObjectOptimisticLockingFailureException(ParkingSession.class, 2L);
+            return null;
+        }).when(parkingSessionService).endSession(any(), any(), anyLong());
+
+        List<BatchItemResultDto<BillDto>> results = batchParkingOperationService.exitVehicles(List.of(
+                exit("MH12AB0001", 1L), exit("MH12AB0002", 2L), exit("MH12AB0003", 1L)));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("A session was modified by another transaction. Please retry.", results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+
+        verify(parkingSlotService).releaseSlots(argThat(slots -> slots.size() == 2));
+        verify(eventProducer).sendSlotUpdate(1L, "EXIT");
+        verify(eventProducer, never()).sendSlotUpdate(2L, "EXIT");
+    }
+
+    // Vehicle n is parked in slot n of lot 1 (vehicles 1 and 3) or lot 2 (vehicle 2).
+    private ParkingSession activeSession(String vehicleNumber){
+        Vehicle vehicle = vehicles.get(vehicleNumber);
+        ParkingLot lot = lots.get(vehicle.getId() == 2L ? 2L : 1L);
+        ParkingSlot slot = ParkingSlot.builder().id(lot.getId() * 100 + vehicle.getId()).slotNumber(vehicle.getId().intValue()).parkingLot(lot).build();
+        return ParkingSession.builder().id(vehicle.getId()).vehicle(vehicle).parkingSlot(slot).entryTime(LocalDateTime.now().minusHours(1)).build();
+    }
+
+    private static ExitRequestDto exit(String vehicleNumber, Long lotId){
+        return ExitRequestDto.builder().vehicleNumber(vehicleNumber).parkingLotId(lotId).build();
+    }
+
+    private static EntryRequestDto entry(String vehicleNumber, Long lotId){
+        return EntryRequestDto.builder().vehicleNumber(vehicleNumber).vehicleType(VehicleType.CAR).parkingLotId(lotId).build();
+    }
+}
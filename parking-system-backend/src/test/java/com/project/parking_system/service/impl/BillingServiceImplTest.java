@@ -1,7 +1,9 @@
 package com.project.parking_system.service.impl;
 
+import com.project.parking_system.cache.TariffRegistry;
 import com.project.parking_system.dto.BillingResultDto;
-import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.ParkingLotRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -9,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
@@ -18,7 +21,11 @@ import static org.mockito.Mockito.when;
 public class BillingServiceImplTest {
 
     @Mock
-    private ParkingSlotRepository parkingSlotRepository;
+    private ParkingLotRepository parkingLotRepository;
+
+    // No stubbing: find() returns null, i.e. the lot has no tariff of its own and the default rules apply.
+    @Mock
+    private TariffRegistry tariffRegistry;
 
     @InjectMocks
     private BillingServiceImpl billingService;
@@ -30,16 +37,16 @@ public class BillingServiceImplTest {
         LocalDateTime entry = LocalDateTime.now().minusHours(2);
         LocalDateTime exit = LocalDateTime.now();
 
-        Double basePricePerHour = 20.0;
+        long basePricePerHourPaise = 2000;
         Long parkingLotId = 2L;
         Integer totalSlots = 10;
 
-        when(parkingSlotRepository.countByParkingLotIdAndSlotStatus(any(), any()))
-                .thenReturn(0L);
+        when(parkingLotRepository.findOccupiedSlotsById(any()))
+                .thenReturn(Optional.of(0));
 
-        BillingResultDto result = billingService.calculateBill(entry, exit, basePricePerHour, parkingLotId, totalSlots);
+        BillingResultDto result = billingService.calculateBill(entry, exit, basePricePerHourPaise, parkingLotId, totalSlots, VehicleType.CAR);
 
-        assertEquals(40.0, result.getTotalAmount());
+        assertEquals(4000, result.getTotalAmountPaise());
     }
 
     // Test Case 2 - Standard Parking Free Parking
@@ -48,16 +55,16 @@ public class BillingServiceImplTest {
         LocalDateTime entry = LocalDateTime.now().minusMinutes(20);
         LocalDateTime exit = LocalDateTime.now();
 
-        Double basePricePerHour = 50.0;
+        long basePricePerHourPaise = 5000;
         Long parkingLotId = 2L;
         Integer totalSlots = 10;
 
-        when(parkingSlotRepository.countByParkingLotIdAndSlotStatus(any(), any()))
-                .thenReturn(0L);
+        when(parkingLotRepository.findOccupiedSlotsById(any()))
+                .thenReturn(Optional.of(0));
 
-        BillingResultDto result = billingService.calculateBill(entry, exit, basePricePerHour, parkingLotId, totalSlots);
+        BillingResultDto result = billingService.calculateBill(entry, exit, basePricePerHourPaise, parkingLotId, totalSlots, VehicleType.CAR);
 
-        assertEquals(0.0, result.getTotalAmount());
+        assertEquals(0, result.getTotalAmountPaise());
     }
     // Test Case 3 - Surge Pricing and 30 minutes Free Calculation
     @Test
@@ -67,16 +74,16 @@ public class BillingServiceImplTest {
 
         LocalDateTime exit = LocalDateTime.now();
 
-        Double basePricePerHour = 100.0;
+        long basePricePerHourPaise = 10000;
         Long parkingLotId = 2L;
         Integer totalSlots = 10;
 
-        when(parkingSlotRepository.countByParkingLotIdAndSlotStatus(any(), any()))
-                .thenReturn(9L);
+        when(parkingLotRepository.findOccupiedSlotsById(any()))
+                .thenReturn(Optional.of(9));
 
-        BillingResultDto result = billingService.calculateBill(entry, exit, basePricePerHour, parkingLotId, totalSlots);
+        BillingResultDto result = billingService.calculateBill(entry, exit, basePricePerHourPaise, parkingLotId, totalSlots, VehicleType.CAR);
 
         assertEquals(1.5, result.getAppliedMultiplier());
-        assertEquals(600, result.getTotalAmount());  // 4 * 100 * 1.5
+        assertEquals(60000, result.getTotalAmountPaise());  // 4 * 100 * 1.5 rupees, in paise
     }
 }
@@ -0,0 +1,68 @@
+package com.project.parking_system.service.impl;
+
+import com.project.parking_system.entity.ParkingLot;
+import com.project.parking_system.entity.ParkingSlot;
+import com.project.parking_system.enums.SlotStatus;
+import com.project.parking_system.exception.BusinessException;
+import com.project.parking_system.repository.ParkingLotRepository;
+import com.project.parking_system.repository.ParkingSlotRepository;
+import com.project.parking_system.repository.projection.SlotStateView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BitmapSlotAllocatorTest {
+
+    @Mock private ParkingSlotRepository parkingSlotRepository;
+    @Mock private ParkingLotRepository parkingLotRepository;
+
+    @InjectMocks
+    private BitmapSlotAllocator bitmapSlotAllocator;
+
+    private record SlotState(Long getId, Integer getSlotNumber, SlotStatus getSlotStatus) implements SlotStateView {}
+
+    // Slot 2 was taken by another instance after the bitmap was built: the batch skips it, and the slots the
+    // batch claimed are not handed out again to the next single entry.
+    @Test
+    void batchClaimSkipsStaleSlotsAndMarksItsSlotsUsed(){
+        ParkingLot lot = ParkingLot.builder().id(1L).build();
+        Map<Long, ParkingSlot> rows = new HashMap<>();
+        for (int number = 1; number <= 4; number++) {
+            rows.put(10L + number, ParkingSlot.builder().id(10L + number).slotNumber(number).parkingLot(lot).slotStatus(SlotStatus.AVAILABLE).build());
+        }
+        when(parkingSlotRepository.findSlotStatesByParkingLotId(1L)).thenReturn(rows.values().stream()
+                .map(slot -> (SlotStateView) new SlotState(slot.getId(), slot.getSlotNumber(), SlotStatus.AVAILABLE)).toList());
+        rows.get(12L).setSlotStatus(SlotStatus.OCCUPIED);
+        when(parkingSlotRepository.findByIdInAndSlotStatus(anyCollection(), eq(SlotStatus.AVAILABLE))).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream().map(rows::get)
+                        .filter(slot -> slot.getSlotStatus() == SlotStatus.AVAILABLE).toList());
+
+        List<ParkingSlot> slots = bitmapSlotAllocator.allocate(1L, 2);
+        assertEquals(List.of(1, 3), slots.stream().map(ParkingSlot::getSlotNumber).toList());
+
+        when(parkingSlotRepository.updateSlotStatusIfCurrent(14L, SlotStatus.AVAILABLE, SlotStatus.OCCUPIED)).thenReturn(1);
+        when(parkingSlotRepository.findById(14L)).thenReturn(Optional.of(rows.get(14L)));
+        assertEquals(4, bitmapSlotAllocator.allocate(1L).getSlotNumber());
+    }
+
+    // A full bitmap is trusted: rejected entries never re-read the lot's slot rows.
+    @Test
+    void fullLotIsRejectedWithoutReloading(){
+        when(parkingSlotRepository.findSlotStatesByParkingLotId(1L)).thenReturn(List.of(new SlotState(11L, 1, SlotStatus.OCCUPIED)));
+
+        assertThrows(BusinessException.class, () -> bitmapSlotAllocator.allocate(1L));
+        assertThrows(BusinessException.class, () -> bitmapSlotAllocator.allocate(1L));
+        assertTrue(bitmapSlotAllocator.allocate(1L, 3).isEmpty());
+
+        verify(parkingSlotRepository, times(1)).findSlotStatesByParkingLotId(1L);
+    }
+}
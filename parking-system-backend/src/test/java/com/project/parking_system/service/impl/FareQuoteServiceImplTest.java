@@ -0,0 +1,52 @@
+package com.project.parking_system.service.impl;
+
+import com.project.parking_system.cache.ActiveSessionIndex;
+import com.project.parking_system.cache.ActiveSessionIndex.ActiveSession;
+import com.project.parking_system.cache.LotSnapshotCache;
+import com.project.parking_system.cache.LotSnapshotCache.LotSnapshot;
+import com.project.parking_system.cache.TariffRegistry;
+import com.project.parking_system.dto.FareQuoteDto;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.ParkingLotRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FareQuoteServiceImplTest {
+
+    @Mock private ActiveSessionIndex activeSessionIndex;
+    @Mock private LotSnapshotCache lotSnapshotCache;
+    @Mock private ParkingLotRepository parkingLotRepository;
+    @Mock private TariffRegistry tariffRegistry;
+
+    // A lot's quotes come from the index and the occupancy snapshot; the database is never asked.
+    @Test
+    void quotesWholeLotFromMemory(){
+        FareQuoteServiceImpl fareQuoteService = new FareQuoteServiceImpl(activeSessionIndex, lotSnapshotCache,
+                new BillingServiceImpl(parkingLotRepository, tariffRegistry));
+
+        // 9 of 10 slots taken -> 1.5x; 2h 10m parked -> 30 free, 2 billable hours at 20.
+        when(lotSnapshotCache.find(1L)).thenReturn(Optional.of(new LotSnapshot(1L, "Lot", 10, 9, 2000)));
+        when(activeSessionIndex.findByLot(1L)).thenReturn(List.of(
+                new ActiveSession(10L, 100L, 1L, LocalDateTime.now().minusMinutes(130), "MH12AB1234", VehicleType.CAR),
+                new ActiveSession(11L, 101L, 1L, LocalDateTime.now().minusMinutes(5), "MH12AB1235", VehicleType.BIKE)));
+
+        List<FareQuoteDto> quotes = fareQuoteService.quoteLot(1L);
+
+        assertEquals(2, quotes.size());
+        assertEquals(new BigDecimal("60.00"), quotes.get(0).getAmount());
+        assertEquals(1.5, quotes.get(0).getOccupancyMultiplier());
+        assertEquals(new BigDecimal("0.00"), quotes.get(1).getAmount());
+        verifyNoInteractions(parkingLotRepository);
+    }
+}
@@ -8,6 +8,7 @@ import com.project.parking_system.entity.Vehicle;
 import com.project.parking_system.enums.VehicleType;
 import com.project.parking_system.exception.BusinessException;
 import com.project.parking_system.exception.ResourceNotFoundException;
+import com.project.parking_system.mapper.ParkingSessionMapper;
 import com.project.parking_system.repository.ParkingLotRepository;
 import com.project.parking_system.service.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -33,6 +35,8 @@ public class ParkingOperationServiceImplTest {
     @Mock private ParkingSessionService parkingSessionService;
     @Mock private ParkingLotRepository parkingLotRepository;
     @Mock private BillingService billingService;
+    @Mock private ParkingEventProducer eventProducer;
+    @Mock private ParkingSessionMapper parkingSessionMapper;
 
     @InjectMocks
     private ParkingOperationServiceImpl parkingOperationService;
@@ -50,18 +54,18 @@ public class ParkingOperationServiceImplTest {
     void setUp(){
 
         // Entry Request
-        EntryRequestDto entryRequest = EntryRequestDto.builder().vehicleNumber("MH12AB1234").vehicleType(VehicleType.CAR).parkingLotId(1L).build();
+        entryRequest = EntryRequestDto.builder().vehicleNumber("MH12AB1234").vehicleType(VehicleType.CAR).parkingLotId(1L).build();
 
         // Exit Request
-        ExitRequestDto exitRequest = ExitRequestDto.builder().vehicleNumber("MH12AB1234").build();
+        exitRequest = ExitRequestDto.builder().vehicleNumber("MH12AB1234").parkingLotId(1L).build();
 
         billingResult = BillingResultDto.builder()
-                .totalAmount(100.0)
+                .totalAmountPaise(10000)
                 .appliedMultiplier(1.25)
                 .billableHours(2L)
                 .build();
 
-        mockLot = ParkingLot.builder().id(1L).name("Mock Lot").totalSlots(100).basePricePerHour(50.0).build();
+        mockLot = ParkingLot.builder().id(1L).name("Mock Lot").totalSlots(100).basePricePerHourPaise(5000L).build();
         mockVehicle = Vehicle.builder().vehicleNumber("MH12AB1234").vehicleType(VehicleType.CAR).build();
         mockSlot = ParkingSlot.builder().id(25L).slotNumber(1).parkingLot(mockLot).build();
         mockSession = ParkingSession.builder()
@@ -83,8 +87,8 @@ public class ParkingOperationServiceImplTest {
         // 2. When the service tries to find or create the vehicle, return our mockVehicle.
         when(vehicleService.findOrCreateVehicle(any(String.class), any(VehicleType.class))).thenReturn(mockVehicle);
 
-        // 3. When the service checks for an active session, say no (return empty).
-        when(parkingSessionService.findActiveSession(mockVehicle)).thenReturn(Optional.empty());
+        // 3. When the service checks for an active session, say no.
+        when(parkingSessionService.hasActiveSession(mockVehicle)).thenReturn(false);
 
         // 4. When the service asks for an available slot, return our mockSlot.
         when(parkingSlotService.findFirstAvailableSlot(1L)).thenReturn(mockSlot);
@@ -99,6 +103,10 @@ public class ParkingOperationServiceImplTest {
         assertEquals(100L,dto.getSessionId());
         assertEquals("MH12AB1234", dto.getVehicleNumber());
         assertEquals("Mock Lot", dto.getParkingLotName());
+
+        // Verifies the allocated slot is marked as Occupied (which also bumps the lot's occupancy counter).
+        verify(parkingSlotService, times(1)).markSlotAsOccupied(mockSlot.getId());
+        verify(eventProducer, times(1)).sendSlotUpdate(1L, "ENTRY");
     }
 
     @Test
@@ -120,34 +128,32 @@ public class ParkingOperationServiceImplTest {
     @Test
     void shouldAllowExitVehicle(){
 
-        // 1. When the service asks for the vehicle, return our mockVehicle.
-        when(vehicleService.findByVehicleNumber("MH12AB1234")).thenReturn(Optional.of(mockVehicle));
-
-        // 2. When the service asks for an active session, return our mockSession.
-        when(parkingSessionService.findActiveSession(mockVehicle)).thenReturn(Optional.of(mockSession));
+        // 1 & 2. When the service asks for the active session of the plate, return our mockSession.
+        when(parkingSessionService.findActiveSessionForExit("MH12AB1234")).thenReturn(Optional.of(mockSession));
 
         // 3. When the service calls the billing logic, return our predefined billingResult.
-        when(billingService.calculateBill(any(LocalDateTime.class), any(LocalDateTime.class), anyDouble(), anyLong(), anyInt())).thenReturn(billingResult);
+        when(billingService.calculateBill(any(LocalDateTime.class), any(LocalDateTime.class), anyLong(), anyLong(), anyInt(), eq(VehicleType.CAR))).thenReturn(billingResult);
 
         // Now, we execute the actual method we want to test.
         BillDto dto = parkingOperationService.exitVehicle(exitRequest);
 
         assertNotNull(dto);
-        assertEquals(100.0, dto.getTotalAmount());
+        assertEquals(new BigDecimal("100.00"), dto.getTotalAmount());
         assertEquals("MH12AB1234", dto.getVehicleNumber());
 
         // Verifies that after the exit vehicle the slot that was in use is marked as Available.
         verify(parkingSlotService, times(1)).markSlotAsAvailable(mockSlot.getId());
+        verify(eventProducer, times(1)).sendSlotUpdate(1L, "EXIT");
     }
 
     @Test
     void exceptionExitVehicle(){
 
-        // 1. The vehicle lookup succeeds.
-        when(vehicleService.findByVehicleNumber("MH12AB1234")).thenReturn(Optional.of(mockVehicle));
+        // 1. When checking for an active session, we return empty to trigger the error.
+        when(parkingSessionService.findActiveSessionForExit("MH12AB1234")).thenReturn(Optional.empty());
 
-        // 2. But when checking for an active session, we return empty to trigger the error.
-        when(parkingSessionService.findActiveSession(mockVehicle)).thenReturn(Optional.empty());
+        // 2. The vehicle itself is known, so the error is about the session.
+        when(vehicleService.findByVehicleNumber("MH12AB1234")).thenReturn(Optional.of(mockVehicle));
 
         assertThrows(ResourceNotFoundException.class, () -> parkingOperationService.exitVehicle(exitRequest));
     }
@@ -0,0 +1,113 @@
+package com.project.parking_system.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.dto.SessionHistoryFilter;
+import com.project.parking_system.enums.ExportFormat;
+import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.enums.VehicleType;
+import com.project.parking_system.repository.ParkingSessionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+public class SessionExportServiceImplTest {
+
+    @Mock private ParkingSessionRepository parkingSessionRepository;
+
+    private SessionExportServiceImpl service() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new SessionExportServiceImpl(parkingSessionRepository, objectMapper, Integer.MIN_VALUE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRows(ParkingSessionDto... rows) {
+        doAnswer(invocation -> {
+            Consumer<ParkingSessionDto> sink = invocation.getArgument(3);
+            for (ParkingSessionDto row : rows) sink.accept(row);
+            return null;
+        }).when(parkingSessionRepository).streamHistory(any(), eq(41L), eq(Integer.MIN_VALUE), any());
+    }
+
+    // Rows are written as they are streamed; lot names with commas or quotes are quoted, nulls are empty fields.
+    @Test
+    void exportsCsvRowsInStreamOrder() throws Exception {
+        streamRows(
+                session(42L, "North, \"A\" Block", LocalDateTime.of(2025, 1, 1, 9, 0), new BigDecimal("60.00"), SessionStatus.COMPLETED),
+                session(43L, "South", null, null, SessionStatus.ACTIVE));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service().export(SessionHistoryFilter.builder().lotId(1L).build(), 41L, ExportFormat.CSV, out);
+
+        assertEquals("sessionId,vehicleNumber,vehicleType,parkingLotName,slotNumber,entryTime,exitTime,totalAmount,status\n" +
+                "42,MH12AB1234,CAR,\"North, \"\"A\"\" Block\",7,2025-01-01T08:00,2025-01-01T09:00,60.00,COMPLETED\n" +
+                "43,MH12AB1234,CAR,South,7,2025-01-01T08:00,,,ACTIVE\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportsOneJsonObjectPerLine() throws Exception {
+        streamRows(
+                session(42L, "North", LocalDateTime.of(2025, 1, 1, 9, 0), new BigDecimal("60.00"), SessionStatus.COMPLETED),
+                session(43L, "South", null, null, SessionStatus.ACTIVE));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service().export(SessionHistoryFilter.builder().build(), 41L, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"sessionId\":42,\"vehicleNumber\":\"MH12AB1234\",\"vehicleType\":\"CAR\",\"parkingLotName\":\"North\"," +
+                "\"slotNumber\":7,\"entryTime\":\"2025-01-01T08:00:00\",\"exitTime\":\"2025-01-01T09:00:00\",\"totalAmount\":60.00," +
+                "\"status\":\"COMPLETED\"}", lines[0]);
+        assertEquals(43L, new ObjectMapper().readTree(lines[1]).get("sessionId").asLong());
+    }
+
+    // Rows collect in the export's buffer: the stream is flushed when the export ends, not once per row.
+    @Test
+    void ndjsonRowsAreNotFlushedOneByOne() throws Exception {
+        streamRows(
+                session(42L, "North", null, null, SessionStatus.ACTIVE),
+                session(43L, "North", null, null, SessionStatus.ACTIVE),
+                session(44L, "North", null, null, SessionStatus.ACTIVE),
+                session(45L, "North", null, null, SessionStatus.ACTIVE));
+
+        int[] flushes = {0};
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+        service().export(SessionHistoryFilter.builder().build(), 41L, ExportFormat.NDJSON, out);
+
+        assertEquals(4, out.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertTrue(flushes[0] <= 2, "flushed " + flushes[0] + " times");
+    }
+
+    private static ParkingSessionDto session(Long id, String lotName, LocalDateTime exitTime, BigDecimal amount, SessionStatus status) {
+        return ParkingSessionDto.builder()
+                .sessionId(id)
+                .vehicleNumber("MH12AB1234")
+                .vehicleType(VehicleType.CAR)
+                .parkingLotName(lotName)
+                .slotNumber(7)
+                .entryTime(LocalDateTime.of(2025, 1, 1, 8, 0))
+                .exitTime(exitTime)
+                .totalAmount(amount)
+                .status(status)
+                .build();
+    }
+}
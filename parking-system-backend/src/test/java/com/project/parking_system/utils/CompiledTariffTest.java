@@ -0,0 +1,54 @@
+package com.project.parking_system.utils;
+
+import com.project.parking_system.enums.VehicleType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CompiledTariffTest {
+
+    // In paise. Cars: 20/hour, 50/hour from 9 to 18. Bikes: 10/hour all day.
+    private static long[][] rates(){
+        long[] car = new long[24];
+        Arrays.fill(car, 2000);
+        Arrays.fill(car, 9, 18, 5000);
+        long[] bike = new long[24];
+        Arrays.fill(bike, 1000);
+
+        long[][] rates = new long[VehicleType.values().length][];
+        rates[VehicleType.CAR.ordinal()] = car;
+        rates[VehicleType.BIKE.ordinal()] = bike;
+        return rates;
+    }
+
+    // Each started hour is charged at the rate of the hour of day it starts in.
+    @Test
+    void chargesEachHourAtItsBand(){
+        CompiledTariff tariff = CompiledTariff.compile(30, null, rates());
+
+        // Entry 07:30, 30 free -> billing starts 08:00; 3 hours: 08 (20), 09 (50), 10 (50).
+        assertEquals(12000, tariff.amountPaise(VehicleType.CAR, 7 * 60 + 30, 30 + 170, 100));
+        assertEquals(3000, tariff.amountPaise(VehicleType.BIKE, 7 * 60 + 30, 30 + 170, 100));
+        assertEquals(3, tariff.billableHours(30 + 170));
+
+        // Inside the free window nothing is charged; the multiplier applies to the rest.
+        assertEquals(0, tariff.amountPaise(VehicleType.CAR, 0, 30, 150));
+        assertEquals(3000, tariff.amountPaise(VehicleType.CAR, 0, 31, 150));
+    }
+
+    // Stays crossing midnight wrap around the day, and every 24 hours is capped on its own.
+    @Test
+    void wrapsMidnightAndAppliesDailyCap(){
+        CompiledTariff uncapped = CompiledTariff.compile(0, null, rates());
+        // 23:00 -> 02:00 at 20/hour.
+        assertEquals(6000, uncapped.amountPaise(VehicleType.CAR, 23 * 60, 180, 100));
+
+        CompiledTariff capped = CompiledTariff.compile(0, 30000L, rates());
+        // A full day is 15 * 20 + 9 * 50 = 750, capped to 300; two days and 2 more hours at 20.
+        assertEquals(2 * 30000 + 4000, capped.amountPaise(VehicleType.CAR, 0, 50 * 60, 100));
+        // Bikes never reach the cap in a day (240).
+        assertEquals(24000, capped.amountPaise(VehicleType.BIKE, 0, 24 * 60, 100));
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.parking_system.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.parking_system.dto.ParkingLotDto;
+import com.project.parking_system.dto.ParkingSessionDto;
+import com.project.parking_system.dto.kafka.LotUpdateDto;
+import com.project.parking_system.dto.kafka.SessionUpdateDto;
+import com.project.parking_system.dto.kafka.SlotUpdateDto;
+import com.project.parking_system.enums.SessionStatus;
+import com.project.parking_system.enums.VehicleType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventCodecTest {
+
+    // Each DTO decodes back equal, nulls included, and is much smaller than its JSON.
+    @Test
+    void updatesRoundTrip() throws Exception {
+        SlotUpdateDto slot = SlotUpdateDto.builder().type("EXIT").lotId(12L).availableSlots(0).totalSlots(250).build();
+
+        SessionUpdateDto session = SessionUpdateDto.builder()
+                .type("SESSION_END")
+                .lotId(12L)
+                .session(ParkingSessionDto.builder()
+                        .sessionId(987_654L)
+                        .vehicleNumber("MH12AB1234")
+                        .vehicleType(VehicleType.CAR)
+                        .parkingLotName("Pune Station – East")
+                        .slotNumber(117)
+                        .entryTime(LocalDateTime.of(2025, 3, 1, 8, 15, 30, 123_456_000))
+                        .exitTime(LocalDateTime.of(2025, 3, 1, 11, 2, 0))
+                        .totalAmount(new BigDecimal("145.50"))
+                        .status(SessionStatus.COMPLETED)
+                        .build())
+                .build();
+
+        LotUpdateDto lot = LotUpdateDto.builder()
+                .type("LOT_CREATED")
+                .lot(ParkingLotDto.builder().id(12L).name("Station").totalSlots(250).availableSlots(250)
+                        .basePricePerHour(new BigDecimal("40.00")).createdAt(LocalDateTime.of(1969, 12, 31, 23, 59)).build())
+                .build();
+
+        assertRoundTrip("EXIT", slot);
+        assertRoundTrip("SESSION_END", session);
+        assertRoundTrip("LOT_CREATED", lot);
+    }
+
+    @Test
+    void rejectsUnknownVersionsAndTruncatedPayloads(){
+        byte[] payload = EventCodec.encode(SlotUpdateDto.builder().type("ENTRY").lotId(1L).availableSlots(3).totalSlots(5).build());
+
+        byte[] nextVersion = payload.clone();
+        nextVersion[0] = EventCodec.VERSION + 1;
+        assertThrows(IllegalArgumentException.class, () -> EventCodec.decode("ENTRY", nextVersion));
+
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> EventCodec.decode("ENTRY", truncated));
+    }
+
+    private static void assertRoundTrip(String eventType, Object update) throws Exception {
+        byte[] payload = EventCodec.encode(update);
+        assertEquals(EventCodec.VERSION, payload[0]);
+        assertEquals(update, EventCodec.decode(eventType, payload));
+        assertTrue(payload.length * 2 < new ObjectMapper().findAndRegisterModules().writeValueAsBytes(update).length,
+                update.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.parking_system.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FreeSlotBitmapTest {
+
+    // Claims always return the lowest free position, including across word boundaries.
+    @Test
+    void claimsLowestFreePosition(){
+        FreeSlotBitmap bitmap = new FreeSlotBitmap(130);
+        bitmap.markFree(3);
+        bitmap.markFree(70);
+        bitmap.markFree(129);
+
+        assertEquals(3, bitmap.claimLowestFree());
+        assertEquals(70, bitmap.claimLowestFree());
+        assertEquals(129, bitmap.claimLowestFree());
+        assertEquals(-1, bitmap.claimLowestFree());
+    }
+
+    // A released position (exit or rolled back entry) becomes the next claim again.
+    @Test
+    void releasedPositionIsReclaimed(){
+        FreeSlotBitmap bitmap = new FreeSlotBitmap(10);
+        for (int i = 0; i < 10; i++) bitmap.markFree(i);
+
+        assertEquals(0, bitmap.claimLowestFree());
+        assertEquals(1, bitmap.claimLowestFree());
+
+        bitmap.markFree(0);
+        bitmap.markUsed(2);
+
+        assertEquals(0, bitmap.claimLowestFree());
+        assertEquals(3, bitmap.claimLowestFree());
+        assertEquals(6, bitmap.freeCount());
+    }
+
+    // Many gates claiming at once must never receive the same slot.
+    @Test
+    void concurrentClaimsAreUnique() throws InterruptedException {
+        int capacity = 2000;
+        FreeSlotBitmap bitmap = new FreeSlotBitmap(capacity);
+        for (int i = 0; i < capacity; i++) bitmap.markFree(i);
+
+        Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+        ExecutorService gates = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(capacity);
+
+        for (int i = 0; i < capacity; i++) {
+            gates.submit(() -> {
+                assertTrue(claimed.add(bitmap.claimLowestFree()));
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        gates.shutdown();
+
+        assertEquals(capacity, claimed.size());
+        assertEquals(0, bitmap.freeCount());
+        assertEquals(-1, bitmap.claimLowestFree());
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.parking_system.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlateKeyCodecTest {
+
+    // Every accepted plate decodes back to itself and gets its own key.
+    @Test
+    void validPlatesRoundTrip(){
+        List<String> plates = List.of("MH12AB1234", "MH121234", "MH12A1234", "MH12AA1234", "MH12ABC0001",
+                "ZZ999999", "22BH1234A", "22BH1234AA", "00BH0000ZZ");
+
+        Set<Long> keys = new HashSet<>();
+        for (String plate : plates) {
+            long key = PlateKeyCodec.encode(plate);
+            assertTrue(key >= 0, plate);
+            assertEquals(plate, PlateKeyCodec.decode(key));
+            assertTrue(keys.add(key), plate);
+        }
+    }
+
+    // Same rule as the old EntryRequestDto regex.
+    @Test
+    void rejectsWhatTheEntryFormatRejects(){
+        for (String plate : List.of("", "MH12AB123", "MH12ABCD1234", "mh12ab1234", "MH-12AB1234", "M112AB1234",
+                "22BH1234", "22BH1234AAA", "22BX1234AA", "2ABH1234AA")) {
+            assertEquals(PlateKeyCodec.INVALID, PlateKeyCodec.encode(plate), plate);
+        }
+        assertEquals(PlateKeyCodec.INVALID, PlateKeyCodec.encode(null));
+    }
+
+    // Clean plates come back as the same instance; everything else is stripped and upper-cased.
+    @Test
+    void normalizesWithoutCopyingCleanPlates(){
+        String clean = "MH12AB1234";
+        assertSame(clean, ParkingUtils.normalizeVehicleNumber(clean));
+        assertEquals("MH12AB1234", ParkingUtils.normalizeVehicleNumber("mh-12 ab 1234"));
+        assertEquals("22BH1234AA", ParkingUtils.normalizeVehicleNumber(" 22 bh 1234 aa "));
+        assertEquals("", ParkingUtils.normalizeVehicleNumber("--"));
+        assertNull(ParkingUtils.normalizeVehicleNumber(null));
+    }
+}
@@ -74,4 +74,10 @@ export interface ParkingSession{
     exitTime?: string;
     totalAmount?: number;
     status: 'ACTIVE' | 'COMPLETED' | 'TERMINATED';
-}
\ No newline at end of file
+}
+
+// Matches: SessionPageDto (Java)
+export interface SessionPage{
+    items: ParkingSession[];
+    nextCursor?: string;
+}
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
-import { Observable } from 'rxjs';
-import { ParkingLot, ParkingSlot,EntryRequest,ExitRequest,ParkingTicket, Bill, ParkingSession } from '../models/models.interface';
-import { HttpClient } from '@angular/common/http';
+import { EMPTY, Observable, expand, reduce } from 'rxjs';
+import { ParkingLot, ParkingSlot,EntryRequest,ExitRequest,ParkingTicket, Bill, ParkingSession, SessionPage } from '../models/models.interface';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { environment } from '../../environments/environment';
 
 /**
@@ -32,6 +32,12 @@ export class ParkingService {
     return this.http.get<ParkingLot[]>(`${this.baseUrl}/parking-lots`);
   }
 
+  // GET /api/parking-lots?ids=1,2,3
+  // Refreshes only the given parking lots (one request, one query on the backend).
+  getLotsByIds(ids: number[]): Observable<ParkingLot[]> {
+    return this.http.get<ParkingLot[]>(`${this.baseUrl}/parking-lots`, { params: { ids: ids.join(',') } });
+  }
+
   //GET /api/parking-lot/{id}
   // Get Parking Lot by id
   getParkingLotById(lotId: number): Observable<ParkingLot>{
@@ -83,11 +89,18 @@ export class ParkingService {
   }
 
   // GET /api/sessions/history
-  // Fetches all records (Active + Completed).
+  // Fetches all records (Active + Completed), newest first: pages of 500, following nextCursor until the last page.
   getAllSessions(lotId?: number): Observable<ParkingSession[]>{
-    let url = `${this.baseUrl}/sessions/history`;
-    if (lotId) url += `?lotId=${lotId}`;
-    return this.http.get<ParkingSession[]>(url);
+    const page = (cursor?: string) => {
+      let params = new HttpParams().set('size', 500);
+      if (lotId) params = params.set('lotId', lotId);
+      if (cursor) params = params.set('cursor', cursor);
+      return this.http.get<SessionPage>(`${this.baseUrl}/sessions/history`, { params });
+    };
+    return page().pipe(
+      expand(current => current.nextCursor ? page(current.nextCursor) : EMPTY),
+      reduce((sessions, current) => sessions.concat(current.items), [] as ParkingSession[])
+    );
   }
 
   // POST /api/sessions/{id}/terminate